@@ -0,0 +1,19 @@
+package pickleib.enums;
+
+/**
+ * The way app state is reset between scenarios when Appium sessions are reused.
+ */
+public enum AppResetPolicy {
+    /** Derive the policy from the session capabilities: {@code fullReset} means full, {@code noReset} means relaunch, otherwise clear. */
+    auto,
+    /** Leave the app as the previous scenario left it. */
+    none,
+    /** Terminate and activate the app, keeping its data. */
+    relaunch,
+    /** Clear the app data and activate it; platforms without {@code mobile: clearApp} get a new session. */
+    clear,
+    /** Open the configured {@code mobile-reset-deep-link} in the app. */
+    deeplink,
+    /** Quit the session and create a new one, reinstalling the app if the capabilities ask for it. */
+    full
+}
@@ -0,0 +1,13 @@
+package pickleib.enums;
+
+/**
+ * The way drag-and-drop interactions are dispatched on web drivers.
+ */
+public enum DragDropMode {
+    /** Perform the drag with W3C pointer actions. */
+    actions,
+    /** Simulate the HTML5 drag events with a shared {@code DataTransfer} in the page. */
+    html5,
+    /** Simulate HTML5 drag events for {@code draggable} sources, use pointer actions otherwise. */
+    auto
+}
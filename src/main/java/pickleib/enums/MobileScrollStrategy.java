@@ -0,0 +1,11 @@
+package pickleib.enums;
+
+/**
+ * The way mobile scroll searches are performed.
+ */
+public enum MobileScrollStrategy {
+    /** Let the device scroll with UiAutomator2 or XCUITest commands, falling back to swipe gestures elsewhere. */
+    auto,
+    /** Always swipe with W3C pointer actions and look the element up between swipes. */
+    swipe
+}
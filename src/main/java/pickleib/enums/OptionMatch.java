@@ -0,0 +1,13 @@
+package pickleib.enums;
+
+/**
+ * The way dropdown options are matched when selecting them.
+ */
+public enum OptionMatch {
+    /** Match the visible text of the option, ignoring surrounding and repeated whitespace. */
+    text,
+    /** Match the value of the option ({@code data-value} or {@code value} for custom dropdowns). */
+    value,
+    /** Match the zero based position of the option. */
+    index
+}
@@ -0,0 +1,11 @@
+package pickleib.enums;
+
+/**
+ * What is sampled to decide whether a mobile screen has stopped changing.
+ */
+public enum StabilitySource {
+    /** The UI hierarchy; catches layout and content changes, but not pure visual animations. */
+    pageSource,
+    /** A screenshot; catches every visual change, including animations, at a higher transfer cost. */
+    screenshot
+}
@@ -1,32 +1,24 @@
 package pickleib.platform;
 
-import context.ContextStore;
-import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import pickleib.platform.driver.AppiumStartupCache;
 import pickleib.platform.driver.PickleibAppiumDriver;
 import pickleib.platform.utilities.PlatformUtilities;
 import pickleib.web.driver.PickleibWebDriver;
 
-import java.time.Duration;
-
-/** Base class for mobile/desktop screen page objects with automatic Appium field decoration. */
+/**
+ * Base class for mobile/desktop screen page objects with automatic Appium field decoration.
+ * The field decorator is created once per driver and shared by all screen objects, see {@link AppiumStartupCache}.
+ */
 public abstract class PickleibScreenObject extends PlatformUtilities {
     /**
      * PickleibScreenObject for frameworks that use the Pickleib driver
      */
     protected PickleibScreenObject(){
         super(PickleibAppiumDriver.get());
-        PageFactory.initElements(
-                new AppiumFieldDecorator(
-                        PickleibAppiumDriver.get(),
-                        Duration.ofSeconds(
-                                Long.parseLong(ContextStore.get("element-timeout", "15000"))/1000
-                        )
-                ),
-                this
-        );
+        PageFactory.initElements(AppiumStartupCache.fieldDecorator(PickleibAppiumDriver.get()), this);
     }
 
     /**
@@ -36,15 +28,7 @@ public abstract class PickleibScreenObject extends PlatformUtilities {
      */
     protected PickleibScreenObject(RemoteWebDriver driver){
         super(driver);
-        PageFactory.initElements(
-                new AppiumFieldDecorator(
-                        driver,
-                        Duration.ofSeconds(
-                                Long.parseLong(ContextStore.get("element-timeout", "15000"))/1000
-                        )
-                ),
-                this
-        );
+        PageFactory.initElements(AppiumStartupCache.fieldDecorator(driver), this);
     }
 
     /**
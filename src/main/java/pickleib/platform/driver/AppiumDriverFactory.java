@@ -5,12 +5,10 @@ import io.appium.java_client.AppiumDriver;
 import org.json.simple.JSONObject;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import pickleib.driver.DriverFactory;
-import utils.FileUtilities;
 import utils.Printer;
 import java.net.URL;
 
 import static pickleib.platform.driver.ServiceFactory.service;
-import static utils.FileUtilities.isValidFilePath;
 import static utils.StringUtilities.Color.*;
 import static utils.StringUtilities.*;
 
@@ -45,8 +43,24 @@ public class AppiumDriverFactory implements DriverFactory {
      * @see ContextStore
      */
     public static AppiumDriver getDriver(String deviceName, JSONObject capabilitiesJSON, boolean remote){
+        return getDriver(deviceName, AppiumStartupCache.DeviceConfig.of(deviceName, capabilitiesJSON), remote);
+    }
+
+    /**
+     * Initializes an {@link AppiumDriver} from a validated, cached device config.
+     * <p>
+     * The config's capabilities are copied rather than re-parsed, and the local {@code app} path it resolved once
+     * is applied when connecting to a local server.
+     * </p>
+     *
+     * @param deviceName The nickname or identifier for the device being initialized (for logging purposes).
+     * @param config     The device config, see {@link AppiumStartupCache#deviceConfig(String, String)}.
+     * @param remote     {@code true} to connect to a remote grid (e.g., BrowserStack); {@code false} for a local Appium server.
+     * @return A fully initialized {@link AppiumDriver}.
+     */
+    public static AppiumDriver getDriver(String deviceName, AppiumStartupCache.DeviceConfig config, boolean remote){
         AppiumDriverFactory.deviceName = deviceName;
-        DesiredCapabilities capabilities = getConfig(capabilitiesJSON);
+        DesiredCapabilities capabilities = new DesiredCapabilities(config.capabilities());
         String urlString;
         String extension = ContextStore.get("appium-service-uri", "");
         if (remote) {
@@ -60,14 +74,7 @@ public class AppiumDriverFactory implements DriverFactory {
             String port = ContextStore.get("port", "4723");
             urlString = String.format("http://%s:%s%s", address, port, extension);
 
-            if(capabilitiesJSON.get("app") != null) {
-                String appCapability = isValidFilePath(String.valueOf(capabilitiesJSON.get("app"))) ?
-                        FileUtilities.getAbsolutePath(String.valueOf(capabilitiesJSON.get("app"))) :
-                        String.valueOf(capabilitiesJSON.get("app"));
-                capabilities.setCapability("app", appCapability);
-            }
-            // Note: 'service' needs to be defined in the class scope for this to work.
-            // Assuming 'service' is a static AppiumDriverLocalService field in the full implementation.
+            if (config.localApp() != null) capabilities.setCapability("app", config.localApp());
             if (service.get() != null) urlString = service.get().getUrl().toString();
         }
         return getDriver(capabilities, urlString);
@@ -0,0 +1,247 @@
+package pickleib.platform.driver;
+
+import context.ContextStore;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebDriverException;
+import pickleib.enums.AppResetPolicy;
+import pickleib.utilities.helpers.PageSourceSnapshotHelper;
+import utils.Printer;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Keeps idle Appium sessions per device so that scenarios reuse them instead of creating a new session and
+ * reinstalling the app every time.
+ * <p>
+ * With {@code mobile-session-reuse} enabled, {@link PickleibAppiumDriver#terminate()} parks the session of the
+ * finished scenario here, and {@link PickleibAppiumDriver#initialize()} claims a parked session of the same device,
+ * resets the app state according to {@code mobile-app-reset} and only creates a new session when there is none,
+ * the parked one is dead, or the policy asks for a full reset. Parked sessions are quit, and their services
+ * stopped, when the JVM exits.
+ * </p>
+ */
+public final class AppiumSessionPool {
+
+    private static final Map<String, Deque<Session>> idle = new ConcurrentHashMap<>();
+    private static final AtomicLong created = new AtomicLong();
+    private static final AtomicLong reused = new AtomicLong();
+    private static final AtomicLong resets = new AtomicLong();
+    private static final AtomicLong creationMillis = new AtomicLong();
+    private static final Printer log = new Printer(AppiumSessionPool.class);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AppiumSessionPool::quitAll));
+    }
+
+    private AppiumSessionPool() {}
+
+    /**
+     * A parked session.
+     *
+     * @param driver  the driver of the session
+     * @param service the local Appium service the session runs on, or null for remote sessions
+     */
+    public record Session(AppiumDriver driver, AppiumDriverLocalService service) {}
+
+    /**
+     * Session creation and reuse counts of this JVM.
+     *
+     * @param created        sessions created
+     * @param reused         scenarios that reused a parked session
+     * @param resets         app state resets performed on reused sessions
+     * @param creationMillis total time spent creating sessions, in milliseconds
+     */
+    public record SessionMetrics(long created, long reused, long resets, long creationMillis) {
+        /**
+         * @return the average session creation time in milliseconds, or 0 if no session was created
+         */
+        public long averageCreationMillis() {
+            return created == 0 ? 0 : creationMillis / created;
+        }
+    }
+
+    /**
+     * @return true if Appium sessions are kept between scenarios
+     */
+    public static boolean enabled() {
+        return ContextStore.getBoolean("mobile-session-reuse", false);
+    }
+
+    /**
+     * @param device the device name
+     * @return true if a session of the device is parked
+     */
+    public static boolean hasIdle(String device) {
+        if (device == null) return false;
+        Deque<Session> sessions = idle.get(device);
+        return sessions != null && !sessions.isEmpty();
+    }
+
+    /**
+     * Parks the session of a finished scenario.
+     *
+     * @param device  the device name the session was created for
+     * @param session the session to park
+     */
+    public static void park(String device, Session session) {
+        idle.computeIfAbsent(device, key -> new ConcurrentLinkedDeque<>()).push(session);
+        log.info("Parked the session of " + highlighted(BLUE, device) + highlighted(GRAY, " for reuse"));
+    }
+
+    /**
+     * Claims a parked session of the device and resets its app state. Sessions that are dead, or that the policy
+     * wants replaced, are quit and the next parked session is tried.
+     *
+     * @param device the device name
+     * @param policy the app reset policy
+     * @return the claimed session, or null if a new session has to be created
+     */
+    public static Session claim(String device, AppResetPolicy policy) {
+        Deque<Session> sessions = device == null ? null : idle.get(device);
+        if (sessions == null) return null;
+        for (Session session = sessions.poll(); session != null; session = sessions.poll()) {
+            try {
+                if (reset(session.driver(), policy)) {
+                    PageSourceSnapshotHelper.invalidate(session.driver());
+                    reused.incrementAndGet();
+                    log.info("Reusing the session of " + highlighted(BLUE, device) +
+                            highlighted(GRAY, " (" + reused.get() + " reuse(s), " + created.get() + " session(s) created)"));
+                    return session;
+                }
+            }
+            catch (WebDriverException exception) {
+                log.warning("Parked session of " + device + " is no longer usable: " + exception.getMessage());
+            }
+            quit(session);
+        }
+        return null;
+    }
+
+    /**
+     * Creates a session, counting how long it took.
+     *
+     * @param factory creates the driver
+     * @return the new driver
+     */
+    public static AppiumDriver create(Supplier<AppiumDriver> factory) {
+        long start = System.currentTimeMillis();
+        AppiumDriver driver = factory.get();
+        long duration = System.currentTimeMillis() - start;
+        created.incrementAndGet();
+        creationMillis.addAndGet(duration);
+        log.info("Created an Appium session in " + highlighted(BLUE, duration + "ms"));
+        return driver;
+    }
+
+    /**
+     * Resets the app state of a reused session.
+     *
+     * @param driver the driver of the session
+     * @param policy the app reset policy
+     * @return true if the session is ready for the next scenario, false if it has to be replaced by a new session
+     * @throws WebDriverException if the session is dead or the reset failed
+     */
+    static boolean reset(AppiumDriver driver, AppResetPolicy policy) {
+        Capabilities capabilities = driver.getCapabilities();
+        boolean android = capabilities.getPlatformName() != null && capabilities.getPlatformName().is(Platform.ANDROID);
+        if (policy == AppResetPolicy.auto) policy = policyOf(capabilities);
+        String appId = appIdOf(capabilities);
+        if (appId == null && policy != AppResetPolicy.none && policy != AppResetPolicy.full) {
+            log.warning("No app id is known for a " + policy.name() + " reset, replacing the session instead");
+            return false;
+        }
+        Map<String, Object> app = new HashMap<>();
+        if (appId != null) app.put(android ? "appId" : "bundleId", appId);
+        switch (policy) {
+            // A cheap session bound command, so that a dead session is noticed before the scenario starts
+            case none -> driver.executeScript("mobile: getDeviceTime");
+            case relaunch -> {
+                driver.executeScript("mobile: terminateApp", app);
+                driver.executeScript("mobile: activateApp", app);
+            }
+            case clear -> {
+                if (!android) return false;
+                driver.executeScript("mobile: clearApp", app);
+                driver.executeScript("mobile: activateApp", app);
+            }
+            case deeplink -> {
+                String url = ContextStore.get("mobile-reset-deep-link");
+                if (url == null) {
+                    log.warning("mobile-reset-deep-link is not set, relaunching the app instead");
+                    driver.executeScript("mobile: terminateApp", app);
+                    driver.executeScript("mobile: activateApp", app);
+                }
+                else driver.executeScript("mobile: deepLink", Map.of("url", url, android ? "package" : "bundleId", appId));
+            }
+            default -> {
+                return false;
+            }
+        }
+        if (policy != AppResetPolicy.none) resets.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return the session creation and reuse counts of this JVM
+     */
+    public static SessionMetrics metrics() {
+        return new SessionMetrics(created.get(), reused.get(), resets.get(), creationMillis.get());
+    }
+
+    /**
+     * Quits all parked sessions and stops their services.
+     */
+    public static void quitAll() {
+        for (Deque<Session> sessions : idle.values())
+            for (Session session = sessions.poll(); session != null; session = sessions.poll()) quit(session);
+        SessionMetrics metrics = metrics();
+        if (metrics.created() > 0)
+            log.info("Appium sessions: " + highlighted(BLUE, metrics.created() + " created") +
+                    highlighted(GRAY, " (avg " + metrics.averageCreationMillis() + "ms), ") +
+                    highlighted(BLUE, metrics.reused() + " reused")
+            );
+    }
+
+    private static void quit(Session session) {
+        try {
+            PickleibAppiumDriver.quit(session.driver());
+        }
+        catch (WebDriverException exception) {
+            log.warning("Parked session could not be quit: " + exception.getMessage());
+        }
+        finally {
+            if (session.service() != null) session.service().stop();
+        }
+    }
+
+    private static AppResetPolicy policyOf(Capabilities capabilities) {
+        if (Boolean.parseBoolean(String.valueOf(capabilityOf(capabilities, "fullReset")))) return AppResetPolicy.full;
+        if (Boolean.parseBoolean(String.valueOf(capabilityOf(capabilities, "noReset")))) return AppResetPolicy.relaunch;
+        return AppResetPolicy.clear;
+    }
+
+    private static String appIdOf(Capabilities capabilities) {
+        String appId = ContextStore.get("mobile-app-id");
+        if (appId != null) return appId;
+        Object id = capabilityOf(capabilities, "appPackage");
+        if (id == null) id = capabilityOf(capabilities, "bundleId");
+        return id == null ? null : id.toString();
+    }
+
+    private static Object capabilityOf(Capabilities capabilities, String name) {
+        Object value = capabilities.getCapability("appium:" + name);
+        return value != null ? value : capabilities.getCapability(name);
+    }
+}
@@ -0,0 +1,167 @@
+package pickleib.platform.driver;
+
+import context.ContextStore;
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import org.json.simple.JSONObject;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.exceptions.PickleibException;
+import utils.FileUtilities;
+import utils.Printer;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static utils.FileUtilities.isValidFilePath;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Caches the work that used to be repeated on every Appium session and screen object.
+ * <ul>
+ * <li>Device configs ({@code <config>/<device>.json}) are read, validated and converted into capabilities once per
+ * JVM, with local app paths resolved up front.</li>
+ * <li>{@link AppiumFieldDecorator}s are created once per driver and shared by all screen and page objects of that
+ * driver. Decorators hold their driver strongly, so entries are {@link #evict(RemoteWebDriver) evicted} when the
+ * session is quit.</li>
+ * </ul>
+ */
+public final class AppiumStartupCache {
+
+    private static final Map<String, DeviceConfig> deviceConfigs = new ConcurrentHashMap<>();
+    private static final Map<RemoteWebDriver, AppiumFieldDecorator> decorators = Collections.synchronizedMap(new HashMap<>());
+    private static final AtomicLong configLoads = new AtomicLong();
+    private static final AtomicLong configHits = new AtomicLong();
+    private static final AtomicLong configMillis = new AtomicLong();
+    private static final AtomicLong decoratorsCreated = new AtomicLong();
+    private static final AtomicLong decoratorHits = new AtomicLong();
+    private static final Printer log = new Printer(AppiumStartupCache.class);
+
+    private AppiumStartupCache() {}
+
+    /**
+     * A validated device config.
+     *
+     * @param device       the device name
+     * @param capabilities the capabilities of the config, as written
+     * @param localApp     the {@code app} capability resolved to an absolute path for local servers, or null if none is set
+     */
+    public record DeviceConfig(String device, Capabilities capabilities, String localApp) {
+
+        /**
+         * Validates a parsed device config and converts it into capabilities.
+         *
+         * @param device the device name
+         * @param json   the parsed config
+         * @return the device config
+         * @throws PickleibException if the config is missing or has no platform name
+         */
+        public static DeviceConfig of(String device, JSONObject json) {
+            if (json == null) throw new PickleibException("No device config could be read for " + device);
+            Map<String, Object> capabilities = new HashMap<>();
+            for (Object key : json.keySet()) capabilities.put(String.valueOf(key), json.get(key));
+            if (capabilities.get("platformName") == null && capabilities.get("appium:platformName") == null)
+                throw new PickleibException("Device config of " + device + " has no platformName capability");
+            String localApp = null;
+            if (json.get("app") != null) {
+                String app = String.valueOf(json.get("app"));
+                localApp = isValidFilePath(app) ? FileUtilities.getAbsolutePath(app) : app;
+            }
+            return new DeviceConfig(device, new ImmutableCapabilities(capabilities), localApp);
+        }
+    }
+
+    /**
+     * Startup cache counts of this JVM.
+     *
+     * @param configLoads       device configs read from disk
+     * @param configHits        device config lookups served from the cache
+     * @param configMillis      total time spent reading and validating device configs
+     * @param decoratorsCreated field decorators created
+     * @param decoratorHits     field decorator lookups served from the cache
+     */
+    public record StartupMetrics(long configLoads, long configHits, long configMillis, long decoratorsCreated, long decoratorHits) {}
+
+    /**
+     * Returns the config of a device, reading and validating {@code <directory>/<device>.json} on first use.
+     *
+     * @param directory the configurations directory
+     * @param device    the device name
+     * @return the device config
+     * @throws PickleibException if the config is missing or invalid
+     */
+    public static DeviceConfig deviceConfig(String directory, String device) {
+        String path = directory + "/" + device + ".json";
+        DeviceConfig cached = deviceConfigs.get(path);
+        if (cached != null) {
+            configHits.incrementAndGet();
+            return cached;
+        }
+        return deviceConfigs.computeIfAbsent(path, key -> {
+            long start = System.currentTimeMillis();
+            DeviceConfig config = DeviceConfig.of(device, FileUtilities.Json.parseJSONFile(key));
+            long duration = System.currentTimeMillis() - start;
+            configLoads.incrementAndGet();
+            configMillis.addAndGet(duration);
+            log.info("Loaded device config " + highlighted(BLUE, key) + highlighted(GRAY, " in " + duration + "ms"));
+            return config;
+        });
+    }
+
+    /**
+     * Returns the field decorator of a driver, creating it with the configured {@code element-timeout} on first use.
+     *
+     * @param driver the Appium driver
+     * @return the field decorator shared by all screen objects of the driver
+     */
+    public static AppiumFieldDecorator fieldDecorator(RemoteWebDriver driver) {
+        AppiumFieldDecorator decorator = decorators.get(driver);
+        if (decorator != null) {
+            decoratorHits.incrementAndGet();
+            return decorator;
+        }
+        synchronized (decorators) {
+            return decorators.computeIfAbsent(driver, key -> {
+                decoratorsCreated.incrementAndGet();
+                return new AppiumFieldDecorator(
+                        key,
+                        Duration.ofMillis(Long.parseLong(ContextStore.get("element-timeout", "15000")))
+                );
+            });
+        }
+    }
+
+    /**
+     * Drops the field decorator of a driver, once its session is quit.
+     *
+     * @param driver the Appium driver
+     */
+    public static void evict(RemoteWebDriver driver) {
+        decorators.remove(driver);
+    }
+
+    /**
+     * Drops all cached device configs, e.g. after the config files were changed at runtime.
+     */
+    public static void clearDeviceConfigs() {
+        deviceConfigs.clear();
+    }
+
+    /**
+     * @return the startup cache counts of this JVM
+     */
+    public static StartupMetrics metrics() {
+        return new StartupMetrics(
+                configLoads.get(),
+                configHits.get(),
+                configMillis.get(),
+                decoratorsCreated.get(),
+                decoratorHits.get()
+        );
+    }
+}
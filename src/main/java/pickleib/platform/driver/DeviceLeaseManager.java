@@ -0,0 +1,355 @@
+package pickleib.platform.driver;
+
+import context.ContextStore;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.Platform;
+import pickleib.exceptions.PickleibException;
+import utils.Printer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Hands the devices of a local pool to parallel worker threads.
+ * <p>
+ * The pool is the comma separated {@code devices} list, each entry naming a device config in the configurations
+ * directory. Workers are served strictly in arrival order, wait at most {@code device-lease-timeout} milliseconds
+ * for a device, and a device whose sessions fail to start {@code device-max-failures} times in a row is taken out
+ * of the pool. Every device gets its own {@code systemPort}, {@code wdaLocalPort} and {@code mjpegServerPort},
+ * derived from its position in the pool, unless its config sets them, so parallel sessions never collide on the
+ * driver ports of the host.
+ * </p>
+ */
+public class DeviceLeaseManager {
+
+    private static volatile DeviceLeaseManager shared;
+    private static final Printer log = new Printer(DeviceLeaseManager.class);
+
+    private final Map<String, Device> devices = new LinkedHashMap<>();
+    private final Deque<Thread> queue = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PortBases ports;
+    private final long timeout;
+    private final int maxFailures;
+    private final long startedAt = System.currentTimeMillis();
+    private long leases;
+    private long timeouts;
+    private long totalWaitMillis;
+    private long maxWaitMillis;
+
+    /**
+     * Base values of the driver ports; device {@code n} of the pool gets {@code base + n}.
+     *
+     * @param systemPort      UiAutomator2 server port base
+     * @param wdaLocalPort    WebDriverAgent port base
+     * @param mjpegServerPort screen streaming port base
+     */
+    public record PortBases(int systemPort, int wdaLocalPort, int mjpegServerPort) {
+        /**
+         * The default port bases, clear of the UiAutomator2 ({@code 8200}), WebDriverAgent ({@code 8100}) and
+         * screen streaming ({@code 7810}, {@code 9100}) defaults.
+         */
+        public static final PortBases DEFAULT = new PortBases(8300, 8400, 9200);
+    }
+
+    /**
+     * A device handed to a worker.
+     *
+     * @param device          the device name
+     * @param systemPort      the UiAutomator2 server port of the device
+     * @param wdaLocalPort    the WebDriverAgent port of the device
+     * @param mjpegServerPort the screen streaming port of the device
+     * @param acquiredAt      lease time in epoch milliseconds
+     */
+    public record Lease(String device, int systemPort, int wdaLocalPort, int mjpegServerPort, long acquiredAt) {
+
+        /**
+         * Adds the ports of the lease to device capabilities, keeping any port the capabilities already set.
+         * Android sessions get {@code systemPort}, iOS sessions {@code wdaLocalPort}, both get {@code mjpegServerPort}.
+         *
+         * @param capabilities the capabilities of the device config
+         * @return the capabilities with the lease ports
+         */
+        public Capabilities apply(Capabilities capabilities) {
+            Map<String, Object> merged = new HashMap<>(capabilities.asMap());
+            Object platformName = capabilities.getCapability("platformName");
+            if (platformName == null) platformName = capabilities.getCapability("appium:platformName");
+            Platform platform = platformOf(platformName);
+            if (platform == null || platform.is(Platform.ANDROID)) putIfAbsent(merged, "systemPort", systemPort);
+            if (platform == null || platform.is(Platform.IOS)) putIfAbsent(merged, "wdaLocalPort", wdaLocalPort);
+            putIfAbsent(merged, "mjpegServerPort", mjpegServerPort);
+            return new ImmutableCapabilities(merged);
+        }
+
+        private static void putIfAbsent(Map<String, Object> capabilities, String name, int port) {
+            if (capabilities.containsKey(name) || capabilities.containsKey("appium:" + name)) return;
+            capabilities.put("appium:" + name, port);
+        }
+
+        private static Platform platformOf(Object platformName) {
+            if (platformName instanceof Platform platform) return platform;
+            try {
+                return platformName == null ? null : Platform.fromString(platformName.toString());
+            }
+            catch (RuntimeException exception) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Usage of a device of the pool.
+     *
+     * @param device     the device name
+     * @param leases     number of leases
+     * @param busyMillis total leased time
+     * @param failures   consecutive session start failures
+     * @param healthy    false if the device was taken out of the pool
+     */
+    public record DeviceMetrics(String device, long leases, long busyMillis, int failures, boolean healthy) {}
+
+    /**
+     * Usage of the pool.
+     *
+     * @param leases          number of leases handed out
+     * @param timeouts        number of workers that gave up waiting
+     * @param totalWaitMillis total time workers waited for a device
+     * @param maxWaitMillis   longest single wait
+     * @param utilization     share of the pool's lifetime the devices were leased, between 0 and 1
+     * @param devices         usage per device
+     */
+    public record LeaseMetrics(
+            long leases,
+            long timeouts,
+            long totalWaitMillis,
+            long maxWaitMillis,
+            double utilization,
+            List<DeviceMetrics> devices
+    ) {}
+
+    private static class Device {
+        final String name;
+        final int index;
+        Thread holder;
+        long leasedAt;
+        long leases;
+        long busyMillis;
+        int failures;
+        boolean healthy = true;
+
+        Device(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Constructs a DeviceLeaseManager.
+     *
+     * @param devices     the device names of the pool
+     * @param ports       the driver port bases
+     * @param timeout     maximum time in milliseconds a worker waits for a device
+     * @param maxFailures consecutive session start failures after which a device is taken out of the pool
+     */
+    public DeviceLeaseManager(List<String> devices, PortBases ports, long timeout, int maxFailures) {
+        if (devices.isEmpty()) throw new PickleibException("The device pool is empty");
+        for (String device : devices) this.devices.putIfAbsent(device, new Device(device, this.devices.size()));
+        this.ports = ports;
+        this.timeout = timeout;
+        this.maxFailures = Math.max(1, maxFailures);
+    }
+
+    /**
+     * @return true if a {@code devices} pool is configured
+     */
+    public static boolean enabled() {
+        String devices = ContextStore.get("devices");
+        return devices != null && !devices.isBlank();
+    }
+
+    /**
+     * Returns the manager of the configured {@code devices} pool, creating it on first use.
+     *
+     * @return the shared device lease manager
+     */
+    public static DeviceLeaseManager get() {
+        if (shared == null) {
+            synchronized (DeviceLeaseManager.class) {
+                if (shared == null) shared = new DeviceLeaseManager(
+                        Arrays.stream(ContextStore.get("devices", "").split(","))
+                                .map(String::trim)
+                                .filter(device -> !device.isEmpty())
+                                .toList(),
+                        new PortBases(
+                                ContextStore.getInt("device-system-port-base", PortBases.DEFAULT.systemPort()),
+                                ContextStore.getInt("device-wda-port-base", PortBases.DEFAULT.wdaLocalPort()),
+                                ContextStore.getInt("device-mjpeg-port-base", PortBases.DEFAULT.mjpegServerPort())
+                        ),
+                        ContextStore.getInt("device-lease-timeout", 300000),
+                        ContextStore.getInt("device-max-failures", 2)
+                );
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Leases a device to the calling thread, waiting in line behind earlier callers.
+     *
+     * @return the lease
+     * @throws PickleibException if no device became available within the timeout or no healthy device is left
+     */
+    public Lease acquire() {
+        long start = System.currentTimeMillis();
+        Thread worker = Thread.currentThread();
+        lock.lock();
+        try {
+            queue.addLast(worker);
+            try {
+                while (true) {
+                    if (devices.values().stream().noneMatch(device -> device.healthy))
+                        throw new PickleibException("No healthy device is left in the pool " + devices.keySet());
+                    Device free = queue.peekFirst() == worker ? freeDevice() : null;
+                    if (free != null) {
+                        long waited = System.currentTimeMillis() - start;
+                        free.holder = worker;
+                        free.leasedAt = System.currentTimeMillis();
+                        free.leases++;
+                        leases++;
+                        totalWaitMillis += waited;
+                        maxWaitMillis = Math.max(maxWaitMillis, waited);
+                        log.info("Leased " + highlighted(BLUE, free.name) + highlighted(GRAY, " to " + worker.getName() + " after " + waited + "ms"));
+                        return leaseOf(free);
+                    }
+                    long remaining = timeout - (System.currentTimeMillis() - start);
+                    if (remaining <= 0) {
+                        timeouts++;
+                        throw new PickleibException("No device of " + devices.keySet() + " became available within " + timeout + "ms");
+                    }
+                    changed.await(remaining, TimeUnit.MILLISECONDS);
+                }
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new PickleibException(exception);
+            }
+            finally {
+                queue.remove(worker);
+                changed.signalAll();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a leased device to the pool.
+     *
+     * @param lease the lease to end
+     */
+    public void release(Lease lease) {
+        lock.lock();
+        try {
+            Device device = devices.get(lease.device());
+            if (device == null || device.holder == null) return;
+            device.busyMillis += System.currentTimeMillis() - device.leasedAt;
+            device.holder = null;
+            changed.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that a session started on the leased device.
+     *
+     * @param lease the lease of the device
+     */
+    public void succeeded(Lease lease) {
+        lock.lock();
+        try {
+            Device device = devices.get(lease.device());
+            if (device != null) device.failures = 0;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that a session failed to start on the leased device, taking the device out of the pool after
+     * {@code device-max-failures} consecutive failures.
+     *
+     * @param lease the lease of the device
+     */
+    public void failed(Lease lease) {
+        lock.lock();
+        try {
+            Device device = devices.get(lease.device());
+            if (device == null) return;
+            device.failures++;
+            if (device.failures >= maxFailures && device.healthy) {
+                device.healthy = false;
+                log.warning("Device " + device.name + " failed " + device.failures + " time(s) in a row and was taken out of the pool");
+            }
+            changed.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the usage of the pool so far
+     */
+    public LeaseMetrics metrics() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            long busy = 0;
+            List<DeviceMetrics> usage = new ArrayList<>();
+            for (Device device : devices.values()) {
+                long deviceBusy = device.busyMillis + (device.holder != null ? now - device.leasedAt : 0);
+                busy += deviceBusy;
+                usage.add(new DeviceMetrics(device.name, device.leases, deviceBusy, device.failures, device.healthy));
+            }
+            long capacity = Math.max(1, now - startedAt) * devices.size();
+            return new LeaseMetrics(leases, timeouts, totalWaitMillis, maxWaitMillis, Math.min(1.0, (double) busy / capacity), usage);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private Device freeDevice() {
+        for (Device device : devices.values())
+            if (device.healthy && device.holder == null) return device;
+        return null;
+    }
+
+    private Lease leaseOf(Device device) {
+        return new Lease(
+                device.name,
+                ports.systemPort() + device.index,
+                ports.wdaLocalPort() + device.index,
+                ports.mjpegServerPort() + device.index,
+                device.leasedAt
+        );
+    }
+}
@@ -4,8 +4,9 @@ import context.ContextStore;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.AppiumFluentWait;
 import io.appium.java_client.service.local.AppiumDriverLocalService;
-import org.json.simple.JSONObject;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.AppResetPolicy;
+import pickleib.utilities.helpers.ViewportHelper;
 import pickleib.utilities.screenshot.ScreenCaptureUtility;
 import utils.*;
 import java.io.IOException;
@@ -20,6 +21,7 @@ import java.net.ServerSocket;
  * <li>Managing the singleton driver instance.</li>
  * <li>Terminating the session and stopping the service.</li>
  * <li>Capturing screenshots upon termination (useful for test failures).</li>
+ * <li>Reusing sessions between scenarios through {@link AppiumSessionPool} when {@code mobile-session-reuse} is enabled.</li>
  * </ul>
  */
 @SuppressWarnings("unused")
@@ -27,6 +29,9 @@ public abstract class PickleibAppiumDriver {
 
     private static final ThreadLocal<AppiumDriver> driver = new ThreadLocal<>();
     private static final ThreadLocal<AppiumFluentWait<RemoteWebDriver>> wait = new ThreadLocal<>();
+    private static final ThreadLocal<String> device = new ThreadLocal<>();
+    private static final ThreadLocal<DeviceLeaseManager.Lease> lease = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> serviceDeferred = ThreadLocal.withInitial(() -> false);
     private static final Printer log = new Printer(PickleibAppiumDriver.class);
 
     /**
@@ -43,11 +48,17 @@ public abstract class PickleibAppiumDriver {
      * <p>
      * This method retrieves the address and port from the {@link ContextStore}.
      * If the specified port is not available, it automatically finds a free available port
-     * on the system to avoid conflicts.
+     * on the system to avoid conflicts. With {@code mobile-session-reuse} enabled, the service is not started if a
+     * parked session of the target device (the leased one, with a {@code devices} pool) can be reused.
      * </p>
      * * @throws RuntimeException If a free port cannot be found or an I/O error occurs.
      */
     public static void startService(){
+        if (AppiumSessionPool.enabled() && AppiumSessionPool.hasIdle(targetDevice())) {
+            log.info("Deferring appium service initialization, a parked session will be reused");
+            serviceDeferred.set(true);
+            return;
+        }
         log.info("Initializing appium service");
 
         String address = ContextStore.get("address");
@@ -69,37 +80,91 @@ public abstract class PickleibAppiumDriver {
      * <ol>
      * <li>Identifying the target device name from properties or {@link ContextStore}.</li>
      * <li>Locating the JSON configuration file for that device in the specified directory.</li>
-     * <li>Parsing capabilities from the JSON file.</li>
+     * <li>Parsing and validating capabilities from the JSON file, once per JVM (see {@link AppiumStartupCache}).</li>
      * <li>Creating the driver via {@link AppiumDriverFactory}, supporting both local and remote (cloud) executions.</li>
      * </ol>
+     * With a {@code devices} pool configured, the device is leased from {@link DeviceLeaseManager} instead of read
+     * from {@code device}, and gets its own driver ports. With {@code mobile-session-reuse} enabled, a parked session
+     * of the device is claimed and its app state is reset according to {@code mobile-app-reset} instead, and a new
+     * session is only created if none could be reused.
      */
     public static void initialize() {
         log.info("Initializing appium driver");
-        String device = ContextStore.get("device");
-        if (device == null) device = ContextStore.get("device");
+        String device = targetDevice();
+        PickleibAppiumDriver.device.set(device);
+
+        if (AppiumSessionPool.enabled()) {
+            AppiumSessionPool.Session session = AppiumSessionPool.claim(
+                    device,
+                    AppResetPolicy.valueOf(ContextStore.get("mobile-app-reset", "auto"))
+            );
+            boolean startService = serviceDeferred.get();
+            serviceDeferred.remove();
+            if (session != null) {
+                AppiumDriverLocalService started = ServiceFactory.service.get();
+                if (started != null && started != session.service()) {
+                    started.stop();
+                    ServiceFactory.service.remove();
+                }
+                driver.set(session.driver());
+                if (session.service() != null) ServiceFactory.service.set(session.service());
+                return;
+            }
+            if (startService) startService();
+        }
 
         String directory = ContextStore.get("config", "src/test/resources/configurations");
 
-        JSONObject json = FileUtilities.Json.parseJSONFile(directory + "/" + device + ".json");
-        driver.set(AppiumDriverFactory.getDriver(
-                StringUtilities.firstLetterCapped(device),
-                json,
-                ContextStore.getBoolean("use-remote-mobile-driver", false)
-        ));
+        AppiumStartupCache.DeviceConfig cached = AppiumStartupCache.deviceConfig(directory, device);
+        DeviceLeaseManager.Lease lease = PickleibAppiumDriver.lease.get();
+        AppiumStartupCache.DeviceConfig config = lease == null ? cached : new AppiumStartupCache.DeviceConfig(
+                cached.device(),
+                lease.apply(cached.capabilities()),
+                cached.localApp()
+        );
+        try {
+            driver.set(AppiumSessionPool.create(() -> AppiumDriverFactory.getDriver(
+                    StringUtilities.firstLetterCapped(config.device()),
+                    config,
+                    ContextStore.getBoolean("use-remote-mobile-driver", false)
+            )));
+            if (lease != null) DeviceLeaseManager.get().succeeded(lease);
+        }
+        catch (RuntimeException exception) {
+            if (lease != null) {
+                DeviceLeaseManager.get().failed(lease);
+                releaseLease();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the device the current thread runs on, leasing one from {@link DeviceLeaseManager} first if a
+     * {@code devices} pool is configured.
+     *
+     * @return the device name
+     */
+    private static String targetDevice() {
+        if (!DeviceLeaseManager.enabled()) return ContextStore.get("device");
+        if (lease.get() == null) lease.set(DeviceLeaseManager.get().acquire());
+        return lease.get().device();
     }
 
     /**
      * Terminates the current driver session and stops the Appium service.
      * <p>
      * This method safely quits the driver and ensures the service is stopped,
-     * even if an exception occurs during the driver quit process.
+     * even if an exception occurs during the driver quit process. With {@code mobile-session-reuse} enabled,
+     * the session and its service are parked in {@link AppiumSessionPool} instead.
      * </p>
      */
     public static void terminate(){
         log.info("Finalizing driver...");
+        if (park()) return;
         try {
             AppiumDriver current = driver.get();
-            if (current != null) current.quit();
+            if (current != null) quit(current);
         }
         catch (Exception exception){
             exception.printStackTrace();
@@ -111,6 +176,7 @@ public abstract class PickleibAppiumDriver {
                 svc.stop();
                 ServiceFactory.service.remove();
             }
+            releaseLease();
         }
     }
 
@@ -129,7 +195,8 @@ public abstract class PickleibAppiumDriver {
         try {
             AppiumDriver current = driver.get();
             ScreenCaptureUtility.captureScreen(screenshotTag, "png", current);
-            if (current != null) current.quit();
+            if (park()) return;
+            if (current != null) quit(current);
         }
         catch (Exception exception){
             exception.printStackTrace();
@@ -141,6 +208,45 @@ public abstract class PickleibAppiumDriver {
                 svc.stop();
                 ServiceFactory.service.remove();
             }
+            releaseLease();
         }
     }
+
+    /**
+     * Parks the session of the current thread for reuse, if session reuse is enabled.
+     *
+     * @return true if the session was parked, false if it has to be quit
+     */
+    private static boolean park() {
+        AppiumDriver current = driver.get();
+        if (!AppiumSessionPool.enabled() || current == null || current.getSessionId() == null || device.get() == null)
+            return false;
+        AppiumSessionPool.park(device.get(), new AppiumSessionPool.Session(current, ServiceFactory.service.get()));
+        driver.remove();
+        device.remove();
+        ServiceFactory.service.remove();
+        releaseLease();
+        return true;
+    }
+
+    /**
+     * Quits the given session and drops the state cached for it.
+     *
+     * @param session the driver of the session
+     */
+    static void quit(AppiumDriver session) {
+        ViewportHelper.evict(session);
+        AppiumStartupCache.evict(session);
+        session.quit();
+    }
+
+    /**
+     * Returns the device leased by the current thread to the pool, if any.
+     */
+    private static void releaseLease() {
+        DeviceLeaseManager.Lease current = lease.get();
+        if (current == null) return;
+        DeviceLeaseManager.get().release(current);
+        lease.remove();
+    }
 }
@@ -1,8 +1,10 @@
 package pickleib.platform.interactions;
 
 import collections.Bundle;
+import collections.Pair;
 import context.ContextStore;
 import org.jetbrains.annotations.NotNull;
+import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
@@ -10,12 +12,14 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import pickleib.enums.Direction;
 import pickleib.enums.ElementState;
+import pickleib.enums.OptionMatch;
 import pickleib.enums.InteractionType;
 import pickleib.exceptions.PickleibException;
 import pickleib.exceptions.PickleibVerificationException;
 import pickleib.platform.driver.PickleibAppiumDriver;
 import pickleib.platform.utilities.PlatformUtilities;
 import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.FormFieldResult;
 import pickleib.utilities.element.acquisition.ElementAcquisition;
 import pickleib.utilities.interfaces.PolymorphicUtilities;
 
@@ -45,6 +49,14 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
         super(PickleibAppiumDriver.get());
     }
 
+    /**
+     * Waits for the screen to stop changing, even if {@code mobile-ui-stability} is off
+     */
+    public void waitForScreenToSettle() {
+        log.info("Waiting for the screen to settle");
+        uiStabilityHelper.awaitStable();
+    }
+
     /**
      * Scrolls in a given direction
      *
@@ -87,6 +99,7 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
                 highlighted(GRAY, " on ") +
                 highlighted(BLUE, pageName)
         );
+        waitUntilScreenSettled();
         super.clickElement(element, scroll);
     }
 
@@ -103,6 +116,7 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
                 highlighted(GRAY, " on the ") +
                 highlighted(BLUE, pageName)
         );
+        waitUntilScreenSettled();
         super.clickElement(element);
     }
 
@@ -120,6 +134,7 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
                 highlighted(GRAY, " on the ") +
                 highlighted(BLUE, pageName)
         );
+        waitUntilScreenSettled();
         super.clickTowards(element);
     }
 
@@ -137,6 +152,7 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
                 highlighted(GRAY, " presents on the ") +
                 highlighted(BLUE, pageName)
         );
+        waitUntilScreenSettled();
         super.clickIfPresent(element, scroll);
     }
 
@@ -161,6 +177,7 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
                 highlighted(GRAY, " with the text: ") +
                 highlighted(BLUE, inputText)
         );
+        waitUntilScreenSettled();
         super.clearFillInput(inputElement, inputText);
     }
 
@@ -184,6 +201,25 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
         return super.verifyElementState(element, state);
     }
 
+    /**
+     * Verifies the elements matching a locator are in expected state, looking them up without implicit waits
+     *
+     * @param locator     target locator
+     * @param elementName target element name
+     * @param pageName    specified page instance name
+     * @param state       expected state
+     */
+    public void verifyElementState(By locator, String elementName, String pageName, ElementState state) {
+        log.info("Verifying that the state of " +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " is ") +
+                highlighted(BLUE, state.name()) +
+                highlighted(GRAY, " on the ") +
+                highlighted(BLUE, pageName)
+        );
+        super.verifyElementState(locator, state);
+    }
+
     /**
      * Waits until a given element is in expected state
      *
@@ -249,6 +285,7 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
      */
     public void clickByText(String buttonText, boolean scroll) {
         log.info("Clicking button with text " + highlighted(BLUE, buttonText));
+        waitUntilScreenSettled();
         super.clickButtonWithText(buttonText, scroll);
     }
 
@@ -259,6 +296,7 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
      */
     public void clickByText(String text) {
         log.info("Clicking button by text " + highlighted(BLUE, text));
+        waitUntilScreenSettled();
         super.clickButtonWithText(text, false);
     }
 
@@ -526,6 +564,20 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
         log.success("Form was filled on " + pageName);
     }
 
+    /**
+     * Fills input form in batch, then verifies every field and reports all mismatches at once
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @return the fill result of each field, in form order
+     */
+    public List<FormFieldResult> fillAndVerifyForm(List<ElementBundle<String>> bundles, String pageName) {
+        log.info("Filling form on " + highlighted(BLUE, pageName));
+        List<FormFieldResult> results = super.fillAndVerifyInputForm(bundles, pageName);
+        log.success("Form was filled and verified on " + highlighted(BLUE, pageName));
+        return results;
+    }
+
     /**
      * Verifies the text of {element name} on the {page name} to be: {expected text}
      *
@@ -578,6 +630,23 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
         log.info("Element is absent ? " + highlighted(BLUE, String.valueOf(absent)));
     }
 
+    /**
+     * Waits for absence of the elements matching a locator, looking them up without implicit waits
+     *
+     * @param locator     target locator
+     * @param elementName target element name
+     * @param pageName    specified page instance name
+     */
+    public void waitUntilAbsence(By locator, String elementName, String pageName) {
+        log.info("Waiting for absence of " +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " on the ") +
+                highlighted(BLUE, pageName)
+        );
+        boolean absent = super.elementIs(locator, ElementState.absent);
+        log.info("Element is absent ? " + highlighted(BLUE, String.valueOf(absent)));
+    }
+
     /**
      * Waits for element {element name} on the {page name} to be visible
      *
@@ -880,4 +949,34 @@ public class PlatformInteractions extends PlatformUtilities implements Polymorph
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Selects options of the given dropdown {element} with the {element name} on the {page name}
+     *
+     * @param dropdown      the dropdown element
+     * @param elementName   target element name
+     * @param pageName      specified page instance name
+     * @param match         how options are matched
+     * @param values        the texts, values or indexes of the options to select
+     * @param optionLocator unused on platform elements, which are selected through {@link org.openqa.selenium.support.ui.Select}
+     */
+    public void selectOptions(
+            WebElement dropdown,
+            String elementName,
+            String pageName,
+            OptionMatch match,
+            List<String> values,
+            Pair<String, String> optionLocator) {
+        log.info("Selecting options by " +
+                highlighted(BLUE, match.name()) +
+                highlighted(GRAY, " -> ") +
+                highlighted(BLUE, String.join(", ", values)) +
+                highlighted(GRAY, " from ") +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " on ") +
+                highlighted(BLUE, pageName)
+        );
+        List<String> selected = super.selectOptions(dropdown, match, values, optionLocator);
+        log.success("Selected " + String.join(", ", selected) + " from " + elementName + " on " + pageName);
+    }
+}
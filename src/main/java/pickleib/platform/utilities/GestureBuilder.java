@@ -0,0 +1,238 @@
+package pickleib.platform.utilities;
+
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.interactions.Interaction;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.utilities.RetryPolicy;
+import pickleib.utilities.helpers.PageSourceSnapshotHelper;
+import utils.Printer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Accumulates swipes, taps and pauses into a single touch gesture that is sent with one {@code perform} call.
+ * <p>
+ * Appium validates and converts a whole action chain before injecting any event. If the batched call is rejected by
+ * that validation (an invalid argument, an out of bounds move or an unsupported action), the screen is untouched and
+ * the gesture is replayed one segment per command, each performed once; the first segment that fails stops the replay
+ * and its failure is thrown, since retrying it after the previous segments moved the screen would act on other
+ * content. Any other failure of a batch may have happened after some segments were injected, so it is not retried
+ * either. Gestures of a single segment are retried on any failure until the retry timeout, as there is nothing
+ * performed before them that a retry could repeat.
+ * </p>
+ * <pre>{@code
+ * new GestureBuilder(driver)
+ *         .velocity(GestureBuilder.VelocityProfile.FLING)
+ *         .swipe(bottom, top)
+ *         .swipe(bottom, top)
+ *         .pause(300)
+ *         .tap(button)
+ *         .perform();
+ * }</pre>
+ */
+public class GestureBuilder {
+
+    private final RemoteWebDriver driver;
+    private final PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+    private final List<Segment> segments = new ArrayList<>();
+    private VelocityProfile velocity = VelocityProfile.STANDARD;
+    private long retryTimeout = 15000;
+    private final Printer log = new Printer(GestureBuilder.class);
+
+    /**
+     * The timing of a swipe.
+     *
+     * @param pressMillis     time the finger rests before moving
+     * @param pixelsPerSecond finger speed, or 0 to always move for {@code minMoveMillis}
+     * @param minMoveMillis   minimum duration of the move
+     * @param releaseMillis   time the finger rests before lifting, which stops the content from flinging
+     */
+    public record VelocityProfile(long pressMillis, int pixelsPerSecond, long minMoveMillis, long releaseMillis) {
+        /** A quick flick that lets the content keep scrolling with inertia. */
+        public static final VelocityProfile FLING = new VelocityProfile(0, 5000, 100, 0);
+        /** The classic swipe: a short press, a 750ms move and a short rest before lifting. */
+        public static final VelocityProfile STANDARD = new VelocityProfile(250, 0, 750, 250);
+        /** A slow drag that stops where the finger stops, for exact scroll distances. */
+        public static final VelocityProfile PRECISE = new VelocityProfile(100, 1500, 300, 200);
+
+        /**
+         * @param distance move distance in pixels
+         * @return the duration of a move over the distance
+         */
+        public long moveMillis(double distance) {
+            if (pixelsPerSecond <= 0) return minMoveMillis;
+            return Math.max(minMoveMillis, (long) (distance * 1000 / pixelsPerSecond));
+        }
+    }
+
+    /**
+     * A self-contained part of a gesture, from finger down to finger up, or a pause.
+     *
+     * @param description readable description for logs
+     * @param actions     the pointer actions of the segment
+     */
+    private record Segment(String description, List<Interaction> actions) {}
+
+    /**
+     * Constructs a GestureBuilder.
+     *
+     * @param driver the driver to perform the gesture with
+     */
+    public GestureBuilder(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Sets the velocity profile of the swipes added afterwards.
+     *
+     * @param velocity the velocity profile
+     * @return this builder
+     */
+    public GestureBuilder velocity(VelocityProfile velocity) {
+        this.velocity = velocity;
+        return this;
+    }
+
+    /**
+     * Sets how long a gesture of a single segment is retried when it fails.
+     *
+     * @param retryTimeout retry timeout in milliseconds
+     * @return this builder
+     */
+    public GestureBuilder retryTimeout(long retryTimeout) {
+        this.retryTimeout = retryTimeout;
+        return this;
+    }
+
+    /**
+     * Adds a swipe with the current velocity profile.
+     *
+     * @param from point of departure
+     * @param to   point of arrival
+     * @return this builder
+     */
+    public GestureBuilder swipe(Point from, Point to) {
+        return swipe(from, to, velocity);
+    }
+
+    /**
+     * Adds a swipe with the given velocity profile.
+     *
+     * @param from     point of departure
+     * @param to       point of arrival
+     * @param velocity the velocity profile of this swipe
+     * @return this builder
+     */
+    public GestureBuilder swipe(Point from, Point to, VelocityProfile velocity) {
+        List<Interaction> actions = new ArrayList<>();
+        actions.add(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), from.getX(), from.getY()));
+        actions.add(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        if (velocity.pressMillis() > 0) actions.add(new Pause(finger, Duration.ofMillis(velocity.pressMillis())));
+        actions.add(finger.createPointerMove(
+                Duration.ofMillis(velocity.moveMillis(Math.hypot(to.getX() - from.getX(), to.getY() - from.getY()))),
+                PointerInput.Origin.viewport(), to.getX(), to.getY()
+        ));
+        if (velocity.releaseMillis() > 0) actions.add(new Pause(finger, Duration.ofMillis(velocity.releaseMillis())));
+        actions.add(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        segments.add(new Segment("swipe " + from + " -> " + to, actions));
+        return this;
+    }
+
+    /**
+     * Adds a tap.
+     *
+     * @param point the point to tap
+     * @return this builder
+     */
+    public GestureBuilder tap(Point point) {
+        segments.add(new Segment("tap " + point, List.of(
+                finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), point.getX(), point.getY()),
+                finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()),
+                new Pause(finger, Duration.ofMillis(50)),
+                finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg())
+        )));
+        return this;
+    }
+
+    /**
+     * Adds a pause between segments, e.g. to let an animation finish.
+     *
+     * @param millis pause duration in milliseconds
+     * @return this builder
+     */
+    public GestureBuilder pause(long millis) {
+        segments.add(new Segment("pause " + millis + "ms", List.of(new Pause(finger, Duration.ofMillis(millis)))));
+        return this;
+    }
+
+    /**
+     * @return the number of segments added so far
+     */
+    public int size() {
+        return segments.size();
+    }
+
+    /**
+     * @return the whole gesture as a single touch sequence
+     */
+    public Sequence toSequence() {
+        return sequenceOf(segments);
+    }
+
+    /**
+     * Performs the gesture with a single {@code perform} call. If the driver rejects the batch before injecting it,
+     * the segments are replayed one per command, each once. A gesture of a single segment is retried until the retry
+     * timeout instead.
+     *
+     * @throws WebDriverException if the batch fails after validation, in which case it is not replayed, or if a
+     *                            replayed segment fails, in which case the segments after it are not performed
+     */
+    public void perform() {
+        if (segments.isEmpty()) return;
+        PageSourceSnapshotHelper.invalidate(driver);
+        if (segments.size() == 1) {
+            Sequence sequence = toSequence();
+            RetryPolicy.execute(() -> driver.perform(singletonList(sequence)), retryTimeout);
+            return;
+        }
+        try {
+            driver.perform(singletonList(toSequence()));
+            return;
+        }
+        catch (InvalidArgumentException | MoveTargetOutOfBoundsException | UnsupportedCommandException exception) {
+            log.warning("Batched gesture of " + segments.size() + " segment(s) was rejected, replaying it segment by segment: " +
+                    exception.getClass().getSimpleName());
+        }
+        for (Segment segment : segments) {
+            log.info("Performing " + highlighted(BLUE, segment.description()) + highlighted(GRAY, " separately"));
+            try {
+                driver.perform(singletonList(sequenceOf(List.of(segment))));
+            }
+            catch (WebDriverException exception) {
+                log.warning("Replayed segment " + highlighted(BLUE, segment.description()) +
+                        highlighted(GRAY, " failed, the segments after it are not performed"));
+                throw exception;
+            }
+        }
+    }
+
+    private Sequence sequenceOf(List<Segment> segments) {
+        Sequence sequence = new Sequence(finger, 0);
+        for (Segment segment : segments)
+            for (Interaction action : segment.actions()) sequence.addAction(action);
+        return sequence;
+    }
+}
@@ -1,24 +1,30 @@
 package pickleib.platform.utilities;
 
 import org.openqa.selenium.By;
+import io.appium.java_client.remote.SupportsRotation;
 import org.openqa.selenium.Point;
+import org.openqa.selenium.ScreenOrientation;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.interactions.Pause;
-import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.pagefactory.ByAll;
+import pickleib.annotations.ContextValue;
 import pickleib.enums.Direction;
 import pickleib.enums.ElementState;
+import pickleib.enums.MobileScrollStrategy;
+import pickleib.enums.StabilitySource;
+import pickleib.exceptions.PickleibException;
 import pickleib.platform.driver.PickleibAppiumDriver;
 import pickleib.utilities.RetryPolicy;
 import pickleib.utilities.Utilities;
+import pickleib.utilities.helpers.MobileScrollHelper;
+import pickleib.utilities.helpers.UiStabilityHelper;
+import pickleib.utilities.helpers.ViewportHelper;
 import pickleib.utilities.interfaces.functions.LocateElement;
-import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import static java.time.Duration.ofMillis;
 import static java.util.Collections.singletonList;
 import static utils.StringUtilities.highlighted;
 import static utils.StringUtilities.Color.*;
@@ -26,11 +32,55 @@ import static utils.StringUtilities.Color.*;
 /** Base class for platform-specific (mobile/desktop) interaction utilities. */
 public abstract class PlatformUtilities extends Utilities {
 
+    /** How mobile scroll searches are performed. */
+    @ContextValue(value = "mobile-scroll-strategy", defaultValue = "auto")
+    public MobileScrollStrategy mobileScrollStrategy;
+
+    /** Maximum number of swipes of a server side scroll search. */
+    @ContextValue(value = "mobile-scroll-max-swipes", defaultValue = "30")
+    public int mobileScrollMaxSwipes;
+
+    /** Whether clicks and fills wait for the screen to stop changing first. */
+    @ContextValue(value = "mobile-ui-stability", defaultValue = "false")
+    public boolean mobileUiStability;
+
+    /** What is sampled to detect that the screen stopped changing. */
+    @ContextValue(value = "mobile-ui-stability-source", defaultValue = "pageSource")
+    public StabilitySource mobileUiStabilitySource;
+
+    /** Number of consecutive identical samples that mean the screen settled. */
+    @ContextValue(value = "mobile-ui-stability-samples", defaultValue = "3")
+    public int mobileUiStabilitySamples;
+
+    /** Base interval in milliseconds between screen samples. */
+    @ContextValue(value = "mobile-ui-stability-interval", defaultValue = "150")
+    public long mobileUiStabilityInterval;
+
+    /** Maximum time in milliseconds to wait for the screen to settle. */
+    @ContextValue(value = "mobile-ui-stability-timeout", defaultValue = "5000")
+    public long mobileUiStabilityTimeout;
+
+    /** Helper caching the viewport geometry of the session. */
+    protected ViewportHelper viewportHelper;
+    /** Helper performing server side scroll searches. */
+    protected MobileScrollHelper mobileScrollHelper;
+    /** Helper detecting that the screen stopped changing. */
+    protected UiStabilityHelper uiStabilityHelper;
+
     /**
      * MobileUtilities for frameworks that use the Pickleib driver
      */
     public PlatformUtilities() {
         super(PickleibAppiumDriver.get(), (element) -> centerElement(element, PickleibAppiumDriver.get()));
+        this.viewportHelper = new ViewportHelper(driver);
+        this.mobileScrollHelper = new MobileScrollHelper(driver, mobileScrollStrategy, mobileScrollMaxSwipes, viewportHelper);
+        this.uiStabilityHelper = new UiStabilityHelper(
+                driver,
+                mobileUiStabilitySource,
+                mobileUiStabilitySamples,
+                mobileUiStabilityInterval,
+                mobileUiStabilityTimeout
+        );
     }
 
     /**
@@ -40,6 +90,15 @@ public abstract class PlatformUtilities extends Utilities {
      */
     public PlatformUtilities(RemoteWebDriver driver) {
         super(driver, (element) -> centerElement(element, driver));
+        this.viewportHelper = new ViewportHelper(driver);
+        this.mobileScrollHelper = new MobileScrollHelper(driver, mobileScrollStrategy, mobileScrollMaxSwipes, viewportHelper);
+        this.uiStabilityHelper = new UiStabilityHelper(
+                driver,
+                mobileUiStabilitySource,
+                mobileUiStabilitySamples,
+                mobileUiStabilityInterval,
+                mobileUiStabilityTimeout
+        );
     }
 
     /** @return the active RemoteWebDriver instance */
@@ -48,71 +107,30 @@ public abstract class PlatformUtilities extends Utilities {
     }
 
     /**
-     * Centers the specified WebElement within the viewable area of the RemoteWebDriver's window.
-     * If the element is not initially visible, this method scrolls to center it.
+     * Waits for the screen to stop changing if {@code mobile-ui-stability} is enabled: the page source (or screenshot)
+     * has to stay identical for {@code mobile-ui-stability-samples} consecutive samples.
+     * A screen that does not settle within {@code mobile-ui-stability-timeout} is logged, not failed.
      *
-     * @param element The WebElement to be centered.
-     * @param driver  The RemoteWebDriver instance.
-     * @return The centered WebElement.
-     * @throws WebDriverException if WebDriver encounters an exception while attempting to center the element.
-     *                            If the exception occurs within the retry timeout (15 seconds),
-     *                            the method retries the centering operation.
-     *                            If the retry timeout is exceeded, the WebDriverException is thrown.
+     * @return the outcome of the wait, or null if waiting is disabled or the screen could not be sampled
      */
+    public UiStabilityHelper.StabilityReport waitUntilScreenSettled() {
+        if (!mobileUiStability) return null;
+        return uiStabilityHelper.awaitStable();
+    }
+
     /**
-     * Centers the element by iteratively swiping toward it.
-     * First attempts a calculated scroll. If the element is still not in view,
-     * uses RetryPolicy to iteratively swipe until the element is within the viewport.
+     * Centers the element within the safe area of the screen.
+     * <p>
+     * The viewport geometry is cached per session and the full distance is scrolled with one computed gesture,
+     * followed by a correction only if the content did not land where expected.
+     * </p>
      *
      * @param element the element to center
      * @param driver  the driver instance to use
      * @return the centered element
      */
     public static WebElement centerElement(WebElement element, RemoteWebDriver driver) {
-        Point center = new Point(
-                driver.manage().window().getSize().getWidth() / 2,
-                driver.manage().window().getSize().getHeight() / 2
-        );
-
-        int verticalScrollDist = element.getLocation().getY() - driver.manage().window().getSize().getHeight() / 2;
-        int verticalScrollStep = driver.manage().window().getSize().getHeight() / 3;
-
-        int horizontalScrollDist = element.getLocation().getX() - driver.manage().window().getSize().getWidth() / 2;
-        int horizontalScrollStep = driver.manage().window().getSize().getWidth() / 3;
-
-        // Initial calculated scroll
-        for (int i = 0; i <= verticalScrollDist / verticalScrollStep; i++) {
-            if (i == verticalScrollDist / verticalScrollStep) {
-                swipeFromCenter(
-                        new Point(
-                                center.getX() + horizontalScrollDist % horizontalScrollStep,
-                                center.getY() + verticalScrollDist % verticalScrollStep
-                        ),
-                        driver
-                );
-            } else {
-                swipeFromCenter(
-                        new Point(
-                                center.getX() + horizontalScrollStep,
-                                center.getY() + verticalScrollStep
-                        ),
-                        driver
-                );
-            }
-        }
-
-        // Iterative correction: if element is still not centered, retry with smaller swipes
-        RetryPolicy.pollUntil(() -> {
-            int currentDist = element.getLocation().getY() - driver.manage().window().getSize().getHeight() / 2;
-            if (Math.abs(currentDist) < verticalScrollStep / 2) return true;
-            swipeFromCenter(
-                    new Point(center.getX(), center.getY() + currentDist / 2),
-                    driver
-            );
-            return false;
-        }, 5000);
-
-        return element;
+        return new ViewportHelper(driver).center(element);
     }
 
     /**
@@ -130,37 +148,64 @@ public abstract class PlatformUtilities extends Utilities {
         return centerElement(element, driver);
     }
 
+    /**
+     * Rotates the device and drops the cached viewport geometry of the session.
+     *
+     * @param orientation the target screen orientation
+     */
+    public void rotate(ScreenOrientation orientation) {
+        log.info("Rotating the device to " + highlighted(BLUE, orientation.name().toLowerCase()));
+        ((SupportsRotation) driver).rotate(orientation);
+        viewportHelper.invalidate();
+    }
+
     /**
      * Scrolls the view until the specified element is found and visible.
      *
      * This method continuously scrolls in the 'up' direction and attempts to locate the element using
      * the provided LocateElement strategy. The process is repeated until the element is found and
-     * displayed or the time limit is reached.
+     * displayed, the end of the list is reached (as reported by UiAutomator2) or the time limit is reached.
      *
      * @param locator The LocateElement strategy used to find the target WebElement.
      * @return The located WebElement if found and displayed.
      * @throws RuntimeException if the element is not found within the specified timeout.
+     * @throws PickleibException if the end of the list is reached without finding the element.
      *
      * @see LocateElement
      * @see Direction
      */
     public WebElement scrollUntilFound(LocateElement locator) {
         log.info("Scrolling until the element is found.");
+        AtomicBoolean endReached = new AtomicBoolean(false);
         return RetryPolicy.execute(() -> {
             try {
                 WebElement element = locator.locate();
                 if (element.isDisplayed()) return element;
                 else throw new WebDriverException("Element is not displayed (yet)!");
             } catch (NullPointerException e) {
-                scrollInDirection(Direction.up);
+                endReached.set(scrollPage(endReached.get()));
                 throw new WebDriverException("NullPointerException while locating element", e);
             } catch (WebDriverException e) {
-                scrollInDirection(Direction.up);
+                endReached.set(scrollPage(endReached.get()));
                 throw e;
             }
         }, elementTimeout * 5);
     }
 
+    /**
+     * Scrolls one page towards the end of the list, server side when supported, with a swipe otherwise.
+     *
+     * @param endReached whether the previous scroll already reached the end of the list
+     * @return true if this scroll reached the end of the list
+     * @throws PickleibException if the end of the list was reached and its last page was searched
+     */
+    private boolean scrollPage(boolean endReached) {
+        if (endReached) throw new PickleibException("Reached the end of the list without finding the element!");
+        Boolean canScrollMore = mobileScrollHelper.scrollPage();
+        if (canScrollMore == null) scrollInDirection(Direction.up);
+        return Boolean.FALSE.equals(canScrollMore);
+    }
+
     /**
      * Swipes upward until the specified WebElement is found or a timeout is reached.
      *
@@ -183,6 +228,8 @@ public abstract class PlatformUtilities extends Utilities {
                 highlighted(BLUE, elementText) +
                 highlighted(GRAY, " is found.")
         );
+        WebElement element = mobileScrollHelper.scrollToText(elementText);
+        if (element != null) return element;
         return scrollUntilFound(() -> getElementByText(elementText));
     }
 
@@ -227,6 +274,8 @@ public abstract class PlatformUtilities extends Utilities {
      */
     public WebElement scrollInList(String elementText, List<WebElement> elements) {
         log.info("Scrolling the list to element with text: " + highlighted(BLUE, elementText));
+        WebElement found = elements.isEmpty() ? null : mobileScrollHelper.scrollToText(elementText, elements.get(0));
+        if (found != null) return found;
         return RetryPolicy.execute(() -> {
             try {
                 WebElement element = waitAndGetElementByText(elementText);
@@ -247,28 +296,14 @@ public abstract class PlatformUtilities extends Utilities {
      */
     public void scrollInDirection(Direction direction) {
         log.info("Swiping " + highlighted(BLUE, direction.name().toLowerCase()));
-        Point center = new Point(
-                driver.manage().window().getSize().getWidth() / 2,
-                driver.manage().window().getSize().getHeight() / 2
-        );
+        ViewportHelper.Viewport viewport = viewportHelper.viewport();
+        Point center = new Point(viewport.width() / 2, viewport.height() / 2);
 
         Point destination = switch (direction) {
-            case up -> new Point(
-                    center.getX(),
-                    center.getY() - (3 * (driver.manage().window().getSize().getHeight() / 5))
-            );
-            case down -> new Point(
-                    center.getX(),
-                    center.getY() + (3 * (driver.manage().window().getSize().getHeight() / 5))
-            );
-            case right -> new Point(
-                    center.getX() - (3 * (driver.manage().window().getSize().getWidth() / 4)),
-                    center.getY()
-            );
-            case left -> new Point(
-                    center.getX() + (3 * (driver.manage().window().getSize().getWidth() / 4)),
-                    center.getY()
-            );
+            case up -> new Point(center.getX(), center.getY() - (3 * (viewport.height() / 5)));
+            case down -> new Point(center.getX(), center.getY() + (3 * (viewport.height() / 5)));
+            case right -> new Point(center.getX() - (3 * (viewport.width() / 4)), center.getY());
+            case left -> new Point(center.getX() + (3 * (viewport.width() / 4)), center.getY());
         };
         swipe(center, destination);
     }
@@ -285,22 +320,7 @@ public abstract class PlatformUtilities extends Utilities {
      *                            If the retry timeout is exceeded, the WebDriverException is thrown.
      */
     public static void swipe(Point pointOfDeparture, Point pointOfArrival, RemoteWebDriver driver) {
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence sequence = new Sequence(finger, 1);
-        sequence.addAction(finger.createPointerMove(
-                Duration.ofMillis(0),
-                PointerInput.Origin.viewport(), pointOfDeparture.x, pointOfDeparture.y)
-        );
-        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.MIDDLE.asArg()));
-        sequence.addAction(new Pause(finger, ofMillis(250)));
-        sequence.addAction(finger.createPointerMove(
-                Duration.ofMillis(750),
-                PointerInput.Origin.viewport(), pointOfArrival.x, pointOfArrival.y)
-        );
-        sequence.addAction(new Pause(finger, ofMillis(250)));
-        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.MIDDLE.asArg()));
-        performSequence(sequence, System.currentTimeMillis(), driver);
-        sequence.addAction(new Pause(finger, ofMillis(250)));
+        new GestureBuilder(driver).retryTimeout(15000).swipe(pointOfDeparture, pointOfArrival).perform();
     }
 
     /**
@@ -317,6 +337,17 @@ public abstract class PlatformUtilities extends Utilities {
         swipe(pointOfDeparture, pointOfArrival, driver);
     }
 
+    /**
+     * Starts a gesture that batches swipes, taps and pauses into a single {@code perform} call, e.g.
+     * {@code gesture().swipe(a, b).swipe(a, b).tap(c).perform()}. A batch of several segments is not retried, since
+     * some of its segments may already have been performed.
+     *
+     * @return a new gesture builder for the default driver
+     */
+    public GestureBuilder gesture() {
+        return new GestureBuilder(driver);
+    }
+
     /**
      * Performs the specified Sequence on the RemoteWebDriver, with retry logic.
      *
@@ -353,10 +384,8 @@ public abstract class PlatformUtilities extends Utilities {
      * @param driver the driver instance
      */
     public static void swipeFromCenter(Point point, RemoteWebDriver driver) {
-        Point center = new Point(
-                driver.manage().window().getSize().getWidth() / 2,
-                driver.manage().window().getSize().getHeight() / 2
-        );
+        ViewportHelper.Viewport viewport = new ViewportHelper(driver).viewport();
+        Point center = new Point(viewport.width() / 2, viewport.height() / 2);
         swipe(center, point, driver);
     }
 
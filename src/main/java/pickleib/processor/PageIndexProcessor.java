@@ -0,0 +1,155 @@
+package pickleib.processor;
+
+import pickleib.annotations.PageObject;
+import pickleib.annotations.ScreenObject;
+import pickleib.enums.Platform;
+import pickleib.runner.PageIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the {@link PageIndex} of a module at compile time.
+ * <p>
+ * The processor is registered through {@code META-INF/services}, so any module that has Pickleib on its compile
+ * classpath indexes its {@code @PageObject} and {@code @ScreenObject} classes without further setup. Build tools
+ * that configure an explicit annotation processor path need {@code pickleib.processor.PageIndexProcessor} added
+ * to it. The index is written once per compilation and merged with the index of previous compilations, keeping
+ * the entries of classes that still exist and still carry their annotation, so incremental builds that recompile
+ * only some pages keep the rest indexed.
+ * </p>
+ */
+@SupportedAnnotationTypes({"pickleib.annotations.PageObject", "pickleib.annotations.ScreenObject"})
+public class PageIndexProcessor extends AbstractProcessor {
+
+    private final Map<String, PageIndex.Entry> entries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(PageObject.class)) {
+            PageObject page = element.getAnnotation(PageObject.class);
+            index((TypeElement) element, "PageObject", page.name(), page.platform());
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(ScreenObject.class)) {
+            ScreenObject screen = element.getAnnotation(ScreenObject.class);
+            index((TypeElement) element, "ScreenObject", screen.name(), screen.platform());
+        }
+        if (roundEnv.processingOver()) {
+            Map<String, PageIndex.Entry> merged = new LinkedHashMap<>();
+            for (PageIndex.Entry entry : previousEntries())
+                if (!entries.containsKey(entry.className()) && stillIndexed(entry)) merged.put(entry.className(), entry);
+            merged.putAll(entries);
+            if (!merged.isEmpty()) write(merged.values());
+        }
+        return false;
+    }
+
+    private void index(TypeElement type, String annotation, String name, Platform platform) {
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        entries.put(className, new PageIndex.Entry(
+                annotation,
+                className,
+                name.isEmpty() ? type.getSimpleName().toString() : name,
+                platform,
+                fieldsOf(type)
+        ));
+    }
+
+    /**
+     * Collects the instance fields of a class and its superclasses; a field hides same-named fields of superclasses.
+     */
+    private Map<String, String> fieldsOf(TypeElement type) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            if (current.getQualifiedName().contentEquals("java.lang.Object")) break;
+            String declaringClass = processingEnv.getElementUtils().getBinaryName(current).toString();
+            for (Element member : current.getEnclosedElements())
+                if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.STATIC))
+                    fields.putIfAbsent(member.getSimpleName().toString(), declaringClass);
+        }
+        return fields;
+    }
+
+    private static TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) return null;
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    /**
+     * Reads the index written by a previous compilation into the same output directory.
+     *
+     * @return the previous entries, empty if there is no readable index
+     */
+    private List<PageIndex.Entry> previousEntries() {
+        List<PageIndex.Entry> previous = new ArrayList<>();
+        try {
+            FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", PageIndex.RESOURCE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine())
+                    if (!line.isBlank() && !line.startsWith("#")) previous.add(PageIndex.Entry.parse(line));
+            }
+        }
+        catch (IOException | IllegalArgumentException exception) {
+            return List.of();
+        }
+        return previous;
+    }
+
+    /**
+     * @return true if the class of a previous entry still exists and still carries the indexed annotation
+     */
+    private boolean stillIndexed(PageIndex.Entry entry) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(entry.className().replace('$', '.'));
+        if (type == null) return false;
+        return switch (entry.annotation()) {
+            case "PageObject" -> type.getAnnotation(PageObject.class) != null;
+            case "ScreenObject" -> type.getAnnotation(ScreenObject.class) != null;
+            default -> false;
+        };
+    }
+
+    private void write(Collection<PageIndex.Entry> entries) {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", PageIndex.RESOURCE);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (PageIndex.Entry entry : entries) writer.write(entry.format() + "\n");
+            }
+        }
+        catch (IOException exception) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.WARNING,
+                    "Pickleib page index could not be written: " + exception.getMessage()
+            );
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package pickleib.runner;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reads the class level annotations of a class file without loading the class.
+ * <p>
+ * Only the constant pool and the {@code RuntimeVisibleAnnotations} / {@code RuntimeInvisibleAnnotations} attributes
+ * of the class are interpreted; fields and methods are skipped by their declared lengths. A class whose constant pool
+ * mentions none of the wanted annotations is rejected before the rest of the file is read.
+ * </p>
+ */
+final class ClassFileAnnotations {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private ClassFileAnnotations() {}
+
+    /**
+     * The class level annotations of a class file.
+     *
+     * @param className   the binary name of the class
+     * @param annotations the type descriptors of the annotations, e.g. {@code Lpickleib/annotations/PageObject;}
+     */
+    record Header(String className, Set<String> annotations) {}
+
+    /**
+     * @param classFile   the class file content
+     * @param descriptors the annotation type descriptors to look for
+     * @return the header of the class, or null if the class carries none of the annotations
+     * @throws IOException if the class file is truncated or malformed
+     */
+    static Header read(InputStream classFile, Set<String> descriptors) throws IOException {
+        DataInputStream in = new DataInputStream(classFile);
+        if (in.readInt() != MAGIC) throw new IOException("Not a class file");
+        in.skipNBytes(4); // minor and major version
+
+        int poolSize = in.readUnsignedShort();
+        String[] utf8 = new String[poolSize];
+        int[] classNames = new int[poolSize];
+        boolean mentioned = false;
+        for (int index = 1; index < poolSize; index++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> {
+                    utf8[index] = in.readUTF();
+                    mentioned |= descriptors.contains(utf8[index]);
+                }
+                case 7 -> classNames[index] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.skipNBytes(2);
+                case 15 -> in.skipNBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+                case 5, 6 -> {
+                    in.skipNBytes(8);
+                    index++; // longs and doubles take two slots
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        if (!mentioned) return null;
+
+        in.skipNBytes(2); // access flags
+        String className = utf8[classNames[in.readUnsignedShort()]].replace('/', '.');
+        in.skipNBytes(2); // super class
+        in.skipNBytes(2L * in.readUnsignedShort()); // interfaces
+        skipMembers(in); // fields
+        skipMembers(in); // methods
+
+        Set<String> annotations = new LinkedHashSet<>();
+        int attributes = in.readUnsignedShort();
+        for (int attribute = 0; attribute < attributes; attribute++) {
+            String name = utf8[in.readUnsignedShort()];
+            long length = Integer.toUnsignedLong(in.readInt());
+            if (!"RuntimeVisibleAnnotations".equals(name) && !"RuntimeInvisibleAnnotations".equals(name)) {
+                in.skipNBytes(length);
+                continue;
+            }
+            int count = in.readUnsignedShort();
+            for (int annotation = 0; annotation < count; annotation++) {
+                String descriptor = readAnnotation(in, utf8);
+                if (descriptors.contains(descriptor)) annotations.add(descriptor);
+            }
+        }
+        return annotations.isEmpty() ? null : new Header(className, annotations);
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int members = in.readUnsignedShort();
+        for (int member = 0; member < members; member++) {
+            in.skipNBytes(6); // access flags, name and descriptor
+            int attributes = in.readUnsignedShort();
+            for (int attribute = 0; attribute < attributes; attribute++) {
+                in.skipNBytes(2);
+                in.skipNBytes(Integer.toUnsignedLong(in.readInt()));
+            }
+        }
+    }
+
+    private static String readAnnotation(DataInputStream in, String[] utf8) throws IOException {
+        String descriptor = utf8[in.readUnsignedShort()];
+        int pairs = in.readUnsignedShort();
+        for (int pair = 0; pair < pairs; pair++) {
+            in.skipNBytes(2); // element name
+            skipElementValue(in, utf8);
+        }
+        return descriptor;
+    }
+
+    private static void skipElementValue(DataInputStream in, String[] utf8) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> in.skipNBytes(2);
+            case 'e' -> in.skipNBytes(4);
+            case '@' -> readAnnotation(in, utf8);
+            case '[' -> {
+                int values = in.readUnsignedShort();
+                for (int value = 0; value < values; value++) skipElementValue(in, utf8);
+            }
+            default -> throw new IOException("Unknown element value tag " + (char) tag);
+        }
+    }
+}
@@ -1,17 +1,56 @@
 package pickleib.runner;
 
+import context.ContextStore;
 import utils.Printer;
-import java.io.File;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
 
-/** Scans the classpath for classes annotated with a given annotation. */
+/**
+ * Scans the classpath for classes annotated with a given annotation.
+ * <p>
+ * Class files are read as bytecode, so no class is loaded or initialized until it is known to carry one of the
+ * annotations, and matching classes are then loaded without running their static initializers. Packages in
+ * directories and in JARs are scanned in a single parallel pass for all requested annotations. Results are cached in
+ * the temporary directory, keyed by a fingerprint of the scanned class files, so that forked JVMs running against the
+ * same build reuse the first scan; set {@code classpath-scan-cache} to {@code false} to disable the cache.
+ * </p>
+ */
 public class ClasspathScanner {
 
     private static final Printer log = new Printer(ClasspathScanner.class);
+    static final Path CACHE_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "pickleib-scan");
 
     /**
      * @param annotation the annotation to scan for
@@ -20,56 +59,227 @@ public class ClasspathScanner {
      */
     public static List<Class<?>> scanForAnnotatedClasses(
             Class<? extends Annotation> annotation, String... packages) {
-        List<Class<?>> results = new ArrayList<>();
-        if (packages == null || packages.length == 0) return results;
+        return scan(List.of(annotation), packages).get(annotation);
+    }
 
-        for (String pkg : packages) {
-            try {
-                results.addAll(scanPackage(pkg, annotation));
-            } catch (Exception e) {
-                log.warning("Failed to scan package: " + pkg + " — " + e.getMessage());
+    /**
+     * Scans the packages once for all the given annotations.
+     *
+     * @param annotations the annotations to scan for
+     * @param packages    the packages to scan
+     * @return the annotated classes per annotation, in class name order
+     */
+    public static Map<Class<? extends Annotation>, List<Class<?>>> scan(
+            Collection<Class<? extends Annotation>> annotations, String... packages) {
+        Map<Class<? extends Annotation>, List<Class<?>>> results = new LinkedHashMap<>();
+        for (Class<? extends Annotation> annotation : annotations) results.put(annotation, new ArrayList<>());
+        if (packages == null || packages.length == 0 || annotations.isEmpty()) return results;
+
+        long start = System.currentTimeMillis();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Map<String, Class<? extends Annotation>> descriptors = new LinkedHashMap<>();
+        for (Class<? extends Annotation> annotation : annotations)
+            descriptors.put("L" + annotation.getName().replace('.', '/') + ";", annotation);
+
+        List<ClassFile> classFiles = new ArrayList<>();
+        List<JarFile> jars = new ArrayList<>();
+        try {
+            for (String pkg : packages) {
+                try {
+                    collect(pkg, classLoader, classFiles, jars);
+                } catch (Exception e) {
+                    log.warning("Failed to scan package: " + pkg + " — " + e.getMessage());
+                }
+            }
+            Map<String, Set<String>> matches = cached(classFiles, descriptors.keySet());
+            boolean fromCache = matches != null;
+            if (!fromCache) {
+                matches = read(classFiles, descriptors.keySet());
+                store(classFiles, descriptors.keySet(), matches);
+            }
+
+            for (Map.Entry<String, Set<String>> match : matches.entrySet())
+                for (String className : match.getValue())
+                    load(className, classLoader).ifPresent(clazz -> results.get(descriptors.get(match.getKey())).add(clazz));
+            log.info("Scanned " + highlighted(BLUE, String.join(", ", packages)) + highlighted(GRAY,
+                    " (" + classFiles.size() + " class files" + (fromCache ? ", cached" : "") + ") in " +
+                    (System.currentTimeMillis() - start) + "ms"));
+        }
+        finally {
+            for (JarFile jar : jars) {
+                try {
+                    jar.close();
+                } catch (IOException ignored) {}
             }
         }
         return results;
     }
 
-    private static List<Class<?>> scanPackage(String packageName, Class<? extends Annotation> annotation) throws Exception {
-        List<Class<?>> classes = new ArrayList<>();
+    /**
+     * A class file of a scanned package, in a directory or a JAR.
+     *
+     * @param origin       the file path, or the JAR path followed by {@code !/} and the entry name
+     * @param size         the size of the class file
+     * @param lastModified the modification time of the class file
+     * @param opener       opens the content of the class file
+     */
+    private record ClassFile(String origin, long size, long lastModified, Opener opener) {}
+
+    @FunctionalInterface
+    private interface Opener {
+        InputStream open() throws IOException;
+    }
+
+    private static void collect(String packageName, ClassLoader classLoader, List<ClassFile> classFiles, List<JarFile> jars)
+            throws Exception {
         String path = packageName.replace('.', '/');
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         Enumeration<URL> resources = classLoader.getResources(path);
 
         while (resources.hasMoreElements()) {
             URL resource = resources.nextElement();
-            if (resource.getProtocol().equals("file")) {
-                File directory = new File(resource.toURI());
-                if (directory.exists()) {
-                    findClasses(directory, packageName, annotation, classes);
+            switch (resource.getProtocol()) {
+                case "file" -> {
+                    Path directory = Path.of(resource.toURI());
+                    if (!Files.isDirectory(directory)) continue;
+                    try (Stream<Path> files = Files.walk(directory)) {
+                        files.filter(file -> isClassFile(file.getFileName().toString())).forEach(file -> {
+                            try {
+                                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                                classFiles.add(new ClassFile(
+                                        file.toString(),
+                                        attributes.size(),
+                                        attributes.lastModifiedTime().toMillis(),
+                                        () -> Files.newInputStream(file)
+                                ));
+                            }
+                            catch (IOException exception) {
+                                throw new UncheckedIOException(exception);
+                            }
+                        });
+                    }
+                }
+                case "jar" -> {
+                    JarURLConnection connection = (JarURLConnection) resource.openConnection();
+                    connection.setUseCaches(false);
+                    Path jarPath = Path.of(connection.getJarFileURL().toURI());
+                    JarFile jar = new JarFile(jarPath.toFile());
+                    jars.add(jar);
+                    for (JarEntry entry : Collections.list(jar.entries())) {
+                        String name = entry.getName();
+                        if (!name.startsWith(path + "/") || !isClassFile(name.substring(name.lastIndexOf('/') + 1))) continue;
+                        classFiles.add(new ClassFile(
+                                jarPath + "!/" + name,
+                                entry.getSize(),
+                                entry.getTime(),
+                                () -> jar.getInputStream(entry)
+                        ));
+                    }
                 }
+                default -> log.warning("Cannot scan " + resource + ": unsupported protocol " + resource.getProtocol());
             }
         }
-        return classes;
     }
 
-    private static void findClasses(File directory, String packageName,
-            Class<? extends Annotation> annotation, List<Class<?>> results) {
-        File[] files = directory.listFiles();
-        if (files == null) return;
+    private static boolean isClassFile(String fileName) {
+        return fileName.endsWith(".class") && !fileName.equals("module-info.class") && !fileName.equals("package-info.class");
+    }
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                findClasses(file, packageName + "." + file.getName(), annotation, results);
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + "." + file.getName().replace(".class", "");
-                try {
-                    Class<?> clazz = Class.forName(className);
-                    if (clazz.isAnnotationPresent(annotation)) {
-                        results.add(clazz);
+    /**
+     * Reads the annotations of the class files in parallel.
+     *
+     * @return the names of the annotated classes per annotation descriptor
+     */
+    private static Map<String, Set<String>> read(List<ClassFile> classFiles, Set<String> descriptors) {
+        List<ClassFileAnnotations.Header> headers = classFiles.parallelStream()
+                .map(classFile -> {
+                    try (InputStream content = classFile.opener().open()) {
+                        return ClassFileAnnotations.read(content, descriptors);
                     }
-                } catch (ClassNotFoundException | NoClassDefFoundError e) {
-                    log.warning("Could not load class: " + className + " — " + e.getMessage());
-                }
+                    catch (IOException exception) {
+                        log.warning("Could not read class file: " + classFile.origin() + " — " + exception.getMessage());
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        Map<String, Set<String>> matches = new LinkedHashMap<>();
+        for (String descriptor : descriptors) matches.put(descriptor, new TreeSet<>());
+        for (ClassFileAnnotations.Header header : headers)
+            for (String descriptor : header.annotations()) matches.get(descriptor).add(header.className());
+        return matches;
+    }
+
+    private static Optional<Class<?>> load(String className, ClassLoader classLoader) {
+        try {
+            return Optional.of(Class.forName(className, false, classLoader));
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.warning("Could not load class: " + className + " — " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static boolean cacheEnabled() {
+        return ContextStore.getBoolean("classpath-scan-cache", true);
+    }
+
+    /**
+     * @return a key that changes whenever a scanned class file or the requested annotations change
+     */
+    private static String fingerprint(List<ClassFile> classFiles, Set<String> descriptors) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String descriptor : new TreeSet<>(descriptors)) digest.update((descriptor + "\n").getBytes(StandardCharsets.UTF_8));
+            classFiles.stream()
+                    .map(classFile -> classFile.origin() + "|" + classFile.size() + "|" + classFile.lastModified() + "\n")
+                    .sorted()
+                    .forEach(line -> digest.update(line.getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static Map<String, Set<String>> cached(List<ClassFile> classFiles, Set<String> descriptors) {
+        if (!cacheEnabled() || classFiles.isEmpty()) return null;
+        Path cache = CACHE_DIRECTORY.resolve(fingerprint(classFiles, descriptors));
+        if (!Files.isRegularFile(cache)) return null;
+        try {
+            Map<String, Set<String>> matches = new LinkedHashMap<>();
+            for (String descriptor : descriptors) matches.put(descriptor, new TreeSet<>());
+            for (String line : Files.readAllLines(cache, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf('\t');
+                Set<String> classNames = separator < 0 ? null : matches.get(line.substring(0, separator));
+                if (classNames == null) return null;
+                classNames.add(line.substring(separator + 1));
             }
+            return matches;
+        }
+        catch (IOException exception) {
+            log.warning("Could not read classpath scan cache " + cache + " — " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private static void store(List<ClassFile> classFiles, Set<String> descriptors, Map<String, Set<String>> matches) {
+        if (!cacheEnabled() || classFiles.isEmpty()) return;
+        Path cache = CACHE_DIRECTORY.resolve(fingerprint(classFiles, descriptors));
+        try {
+            Files.createDirectories(CACHE_DIRECTORY);
+            Path temporary = Files.createTempFile(CACHE_DIRECTORY, "scan", ".tmp");
+            Files.write(temporary, matches.entrySet().stream()
+                    .flatMap(match -> match.getValue().stream().map(className -> match.getKey() + "\t" + className))
+                    .collect(Collectors.toList()), StandardCharsets.UTF_8);
+            try {
+                Files.move(temporary, cache, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException exception) {
+            log.warning("Could not write classpath scan cache " + cache + " — " + exception.getMessage());
         }
     }
 }
@@ -5,16 +5,35 @@ import context.ContextStore;
 import pickleib.annotations.ContextValue;
 import utils.Printer;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import static utils.StringUtilities.contextCheck;
 
 /**
  * Processes {@link ContextValue} annotations by injecting values from the {@link ContextStore}.
+ * <p>
+ * The annotated fields of a class are collected once into an injection plan, each with a converter chosen for its
+ * type: strings are injected as they are, primitives, their wrappers and enums are parsed directly, and any other
+ * type goes through Jackson. Converted strings, primitives and enums are reused for as long as the context value
+ * they were converted from does not change.
+ * </p>
  */
 public class ContextValueInjector {
 
     private static final Printer log = new Printer(ContextValueInjector.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final ClassValue<List<Injection>> plans = new ClassValue<>() {
+        @Override
+        protected List<Injection> computeValue(Class<?> type) {
+            return planOf(type);
+        }
+    };
+
     /**
      * Injects {@link ContextValue}-annotated fields on the given instance.
      * Scans the instance's class hierarchy (including superclasses) for annotated fields.
@@ -22,25 +41,116 @@ public class ContextValueInjector {
      * @param instance the object whose annotated fields will be injected
      */
     public static void injectFields(Object instance) {
-        Class<?> clazz = instance.getClass();
-        while (clazz != null && clazz != Object.class) {
+        for (Injection injection : plans.get(instance.getClass())) {
+            String value = contextCheck(ContextStore.get(injection.annotation().value(), injection.annotation().defaultValue()));
+            try {
+                injection.field().set(instance, injection.converter().convert(value));
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                log.warning("Failed to inject @ContextValue for field '" + injection.field().getName() + "': " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * An annotated field and the converter of its context value.
+     *
+     * @param field      the accessible field
+     * @param annotation the annotation of the field
+     * @param converter  converts context values into the field type
+     */
+    private record Injection(Field field, ContextValue annotation, Converter converter) {}
+
+    private static List<Injection> planOf(Class<?> type) {
+        List<Injection> plan = new ArrayList<>();
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
             for (Field field : clazz.getDeclaredFields()) {
                 ContextValue annotation = field.getAnnotation(ContextValue.class);
                 if (annotation == null) continue;
-
-                String value = contextCheck(ContextStore.get(annotation.value(), annotation.defaultValue()));
                 try {
                     field.setAccessible(true);
-                    field.set(instance, convertValue(value, field.getType()));
-                } catch (IllegalAccessException | IllegalArgumentException e) {
+                } catch (RuntimeException e) {
                     log.warning("Failed to inject @ContextValue for field '" + field.getName() + "': " + e.getMessage());
+                    continue;
                 }
+                plan.add(new Injection(field, annotation, converterOf(field.getType())));
             }
-            clazz = clazz.getSuperclass();
+        }
+        return List.copyOf(plan);
+    }
+
+    /**
+     * Converts context values into a field type.
+     */
+    private static class Converter {
+        private final Class<?> type;
+        private final Function<String, Object> parser;
+        private final boolean reusable;
+        private volatile Converted last;
+
+        private record Converted(String value, Object result) {}
+
+        /**
+         * @param type     the field type
+         * @param parser   the direct parser of the type, returning null if a value needs Jackson
+         * @param reusable true if converted values are immutable and can be shared between instances
+         */
+        Converter(Class<?> type, Function<String, Object> parser, boolean reusable) {
+            this.type = type;
+            this.parser = parser;
+            this.reusable = reusable;
+        }
+
+        Object convert(String value) {
+            Converted converted = last;
+            if (reusable && converted != null && Objects.equals(converted.value(), value)) return converted.result();
+            Object result = value == null ? null : parser.apply(value);
+            if (result == null) result = objectMapper.convertValue(value, type);
+            if (reusable) last = new Converted(value, result);
+            return result;
         }
     }
 
-    private static <T> T convertValue(String value, Class<T> targetType) {
-        return objectMapper.convertValue(value, targetType);
+    private static Converter converterOf(Class<?> type) {
+        if (type == String.class || type == Object.class || type == CharSequence.class)
+            return new Converter(type, value -> value, true);
+        if (type == int.class || type == Integer.class)
+            return new Converter(type, number(Integer::valueOf), true);
+        if (type == long.class || type == Long.class)
+            return new Converter(type, number(Long::valueOf), true);
+        if (type == double.class || type == Double.class)
+            return new Converter(type, number(Double::valueOf), true);
+        if (type == float.class || type == Float.class)
+            return new Converter(type, number(Float::valueOf), true);
+        if (type == short.class || type == Short.class)
+            return new Converter(type, number(Short::valueOf), true);
+        if (type == byte.class || type == Byte.class)
+            return new Converter(type, number(Byte::valueOf), true);
+        if (type == boolean.class || type == Boolean.class)
+            return new Converter(type, value -> switch (value) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                default -> null;
+            }, true);
+        if (type == char.class || type == Character.class)
+            return new Converter(type, value -> value.length() == 1 ? value.charAt(0) : null, true);
+        if (type.isEnum()) {
+            Map<String, Object> constants = new HashMap<>();
+            for (Object constant : type.getEnumConstants()) constants.put(((Enum<?>) constant).name(), constant);
+            return new Converter(type, constants::get, true);
+        }
+        return new Converter(type, value -> null, false);
+    }
+
+    /**
+     * Parses numbers directly; values the parser rejects, such as blanks, are left to Jackson.
+     */
+    private static Function<String, Object> number(Function<String, Object> parser) {
+        return value -> {
+            try {
+                return parser.apply(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        };
     }
 }
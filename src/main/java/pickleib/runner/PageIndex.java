@@ -0,0 +1,118 @@
+package pickleib.runner;
+
+import pickleib.enums.Platform;
+import utils.Printer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The build-time index of {@code @PageObject} and {@code @ScreenObject} classes.
+ * <p>
+ * {@link pickleib.processor.PageIndexProcessor} writes one line per annotated class into {@value #RESOURCE} of every
+ * compiled module. Each line holds the annotation, the binary class name, the registry name, the platform and the
+ * instance fields with their declaring classes, separated by tabs:
+ * </p>
+ * <pre>
+ * PageObject	pages.LoginPage	LoginPage	web	username:pages.LoginPage,submit:pages.BasePage
+ * </pre>
+ * Reading the index replaces classpath scanning: no directory is walked and no class is initialized.
+ */
+public final class PageIndex {
+
+    /** Location of the index in a compiled module or JAR. */
+    public static final String RESOURCE = "META-INF/pickleib/page-index";
+
+    private static final Printer log = new Printer(PageIndex.class);
+
+    private PageIndex() {}
+
+    /**
+     * An indexed page class.
+     *
+     * @param annotation the simple name of the annotation, {@code PageObject} or {@code ScreenObject}
+     * @param className  the binary name of the class
+     * @param name       the registry name
+     * @param platform   the target platform
+     * @param fields     the instance fields of the class and its superclasses, mapped to their declaring class
+     */
+    public record Entry(String annotation, String className, String name, Platform platform, Map<String, String> fields) {
+
+        /**
+         * @return the entry as an index line
+         */
+        public String format() {
+            return String.join("\t",
+                    annotation,
+                    className,
+                    name,
+                    platform.name(),
+                    fields.entrySet().stream()
+                            .map(field -> field.getKey() + ":" + field.getValue())
+                            .collect(Collectors.joining(","))
+            );
+        }
+
+        /**
+         * @param line an index line
+         * @return the entry of the line
+         * @throws IllegalArgumentException if the line is malformed
+         */
+        public static Entry parse(String line) {
+            String[] columns = line.split("\t", -1);
+            if (columns.length < 4) throw new IllegalArgumentException("Malformed page index line: " + line);
+            Map<String, String> fields = new LinkedHashMap<>();
+            if (columns.length > 4 && !columns[4].isEmpty())
+                for (String field : columns[4].split(",")) {
+                    int separator = field.indexOf(':');
+                    fields.put(field.substring(0, separator), field.substring(separator + 1));
+                }
+            return new Entry(columns[0], columns[1], columns[2], Platform.valueOf(columns[3]), Collections.unmodifiableMap(fields));
+        }
+
+        /**
+         * @param packageName a package name
+         * @return true if the class is in the package or one of its sub packages
+         */
+        public boolean isIn(String packageName) {
+            return className.startsWith(packageName + ".");
+        }
+    }
+
+    /**
+     * Reads the page indexes of all modules and JARs visible to the class loader.
+     *
+     * @param classLoader the class loader to read the indexes with
+     * @return the indexed classes, empty if no module was compiled with the processor
+     */
+    public static List<Entry> load(ClassLoader classLoader) {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(RESOURCE);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine())
+                        if (!line.isBlank() && !line.startsWith("#")) entries.add(Entry.parse(line));
+                }
+                catch (IOException | IllegalArgumentException exception) {
+                    log.warning("Page index " + index + " could not be read: " + exception.getMessage());
+                }
+            }
+        }
+        catch (IOException exception) {
+            log.warning("Page indexes could not be listed: " + exception.getMessage());
+        }
+        return entries;
+    }
+}
@@ -1,21 +1,25 @@
 package pickleib.runner;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.PageFactory;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import io.appium.java_client.pagefactory.DefaultElementByBuilder;
 import pickleib.enums.Platform;
 import pickleib.utilities.element.ElementBundle;
 import pickleib.utilities.element.FormInput;
 import pickleib.utilities.element.acquisition.ElementAcquisition;
+import pickleib.utilities.helpers.PageSourceSnapshotHelper;
 import pickleib.utilities.interfaces.repository.ElementRepository;
 import pickleib.web.driver.PickleibWebDriver;
+import pickleib.platform.driver.AppiumStartupCache;
 import pickleib.platform.driver.PickleibAppiumDriver;
 import utils.Printer;
 
 import java.lang.reflect.Field;
-import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -35,6 +39,9 @@ public class PageObjectRegistry implements ElementRepository {
     // Thread-local cache of instantiated page objects
     private final ThreadLocal<Map<String, Object>> instances = ThreadLocal.withInitial(HashMap::new);
 
+    // Maps page class -> field name (lowercase) -> field, the nearest declaration winning
+    private final Map<Class<?>, Map<String, Field>> fields = new ConcurrentHashMap<>();
+
     record PageObjectMetadata(Class<?> pageClass, String name, Platform platform) {}
 
     /**
@@ -47,6 +54,30 @@ public class PageObjectRegistry implements ElementRepository {
         registry.put(key, new PageObjectMetadata(pageClass, name.isEmpty() ? pageClass.getSimpleName() : name, platform));
     }
 
+    /**
+     * Registers a page object from the build-time {@link PageIndex}, resolving its fields from the indexed
+     * declaring classes instead of walking the class hierarchy.
+     *
+     * @param pageClass the page object class to register
+     * @param entry     the index entry of the class
+     */
+    public void register(Class<?> pageClass, PageIndex.Entry entry) {
+        register(pageClass, entry.name(), entry.platform());
+        Map<String, Field> pageFields = new HashMap<>();
+        try {
+            for (Map.Entry<String, String> field : entry.fields().entrySet()) {
+                Class<?> declaringClass = field.getValue().equals(pageClass.getName()) ?
+                        pageClass :
+                        Class.forName(field.getValue(), false, pageClass.getClassLoader());
+                pageFields.putIfAbsent(field.getKey().toLowerCase(), declaringClass.getDeclaredField(field.getKey()));
+            }
+            fields.put(pageClass, pageFields);
+        }
+        catch (ClassNotFoundException | NoSuchFieldException exception) {
+            log.warning("Page index is stale for " + pageClass.getSimpleName() + ", fields will be looked up reflectively: " + exception.getMessage());
+        }
+    }
+
     /** @param pageName the page name to check
      *  @return true if the page is registered */
     public boolean isRegistered(String pageName) {
@@ -107,12 +138,8 @@ public class PageObjectRegistry implements ElementRepository {
                 if (driver != null) PageFactory.initElements(driver, instance);
             } else {
                 // android, ios, mobile
-                if (PickleibAppiumDriver.get() != null) {
-                    PageFactory.initElements(
-                        new AppiumFieldDecorator(PickleibAppiumDriver.get(), Duration.ofSeconds(15)),
-                        instance
-                    );
-                }
+                if (PickleibAppiumDriver.get() != null)
+                    PageFactory.initElements(AppiumStartupCache.fieldDecorator(PickleibAppiumDriver.get()), instance);
             }
 
             threadInstances.put(key, instance);
@@ -152,16 +179,47 @@ public class PageObjectRegistry implements ElementRepository {
         }
     }
 
-    private Field findField(Class<?> clazz, String fieldName) {
-        // Case-insensitive field search
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.getName().equalsIgnoreCase(fieldName)) return field;
+    /**
+     * Builds the locator of a mobile page object field the same way {@link AppiumFieldDecorator} does, so that it can
+     * be resolved against a page source snapshot.
+     *
+     * @return the locator, or null if snapshots are disabled, the page is a web page or the field cannot be resolved
+     */
+    private By snapshotLocator(Object pageObject, String fieldName, String pageName) {
+        if (!PageSourceSnapshotHelper.enabled() || PickleibAppiumDriver.get() == null) return null;
+        PageObjectMetadata meta = registry.get(firstLetterDeCapped(pageName).toLowerCase());
+        if (meta == null || meta.platform() == Platform.web) return null;
+        Field field = findField(pageObject.getClass(), fieldName);
+        if (field == null) return null;
+        try {
+            Capabilities capabilities = PickleibAppiumDriver.get().getCapabilities();
+            Object automationName = capabilities.getCapability("appium:automationName");
+            if (automationName == null) automationName = capabilities.getCapability("automationName");
+            DefaultElementByBuilder builder = new DefaultElementByBuilder(
+                    capabilities.getPlatformName() == null ? null : capabilities.getPlatformName().name(),
+                    automationName == null ? null : automationName.toString()
+            );
+            builder.setAnnotated(field);
+            return builder.buildBy();
         }
-        // Check superclass too
-        if (clazz.getSuperclass() != null && clazz.getSuperclass() != Object.class) {
-            return findField(clazz.getSuperclass(), fieldName);
+        catch (RuntimeException exception) {
+            log.warning("Locator of '" + fieldName + "' could not be built for snapshot resolution: " + exception.getMessage());
+            return null;
         }
-        return null;
+    }
+
+    private Field findField(Class<?> clazz, String fieldName) {
+        // Case-insensitive field search
+        return fields.computeIfAbsent(clazz, PageObjectRegistry::fieldsOf).get(fieldName.toLowerCase());
+    }
+
+    private static Map<String, Field> fieldsOf(Class<?> clazz) {
+        Map<String, Field> fields = new HashMap<>();
+        // Check superclasses too
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass())
+            for (Field field : current.getDeclaredFields())
+                fields.putIfAbsent(field.getName().toLowerCase(), field);
+        return fields;
     }
 
     // === ElementRepository implementation ===
@@ -169,12 +227,22 @@ public class PageObjectRegistry implements ElementRepository {
     @Override
     public WebElement acquireElementFromPage(String elementName, String pageName) {
         Object page = getOrCreateInstance(pageName);
+        By locator = snapshotLocator(page, elementName, pageName);
+        if (locator != null) {
+            WebElement element = new PageSourceSnapshotHelper(PickleibAppiumDriver.get()).find(locator);
+            if (element != null) return element;
+        }
         return getField(page, elementName);
     }
 
     @Override
     public List<WebElement> acquireElementsFromPage(String elementListName, String pageName) {
         Object page = getOrCreateInstance(pageName);
+        By locator = snapshotLocator(page, elementListName, pageName);
+        if (locator != null) {
+            List<WebElement> elements = new PageSourceSnapshotHelper(PickleibAppiumDriver.get()).findAll(locator);
+            if (elements != null && !elements.isEmpty()) return elements;
+        }
         return getListField(page, elementListName);
     }
 
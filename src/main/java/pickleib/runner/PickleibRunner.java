@@ -9,7 +9,12 @@ import pickleib.utilities.element.acquisition.design.PageObjectJson;
 import utils.FileUtilities;
 import utils.Printer;
 import java.io.File;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JUnit 5 Extension that powers the @Pickleib annotation.
@@ -17,7 +22,8 @@ import java.util.List;
  * When used with {@code @Pickleib} (no parameters), auto-detects the element repository:
  * <ol>
  *   <li>Looks for {@code src/test/resources/page-repository.json} — if found, uses JSON repository</li>
- *   <li>Otherwise scans for {@code @PageObject}/{@code @ScreenObject} classes in the {@code pages} package</li>
+ *   <li>Otherwise registers the {@code @PageObject}/{@code @ScreenObject} classes of the {@code pages} package,
+ *   read from the build-time {@link PageIndex} or scanned if the package is not indexed</li>
  *   <li>If neither is found, logs a warning with setup instructions</li>
  * </ol>
  *
@@ -32,6 +38,7 @@ public class PickleibRunner implements BeforeAllCallback, TestInstancePostProces
 
     private static final Printer log = new Printer(PickleibRunner.class);
     private static final PageObjectRegistry registry = new PageObjectRegistry();
+    private static final Set<String> registeredPackages = ConcurrentHashMap.newKeySet();
     /** Default path for the JSON page repository file. */
     public static final String DEFAULT_PAGE_REPOSITORY = "src/test/resources/page-repository.json";
     /** Default package to scan for {@code @PageObject} / {@code @ScreenObject} classes. */
@@ -59,12 +66,12 @@ public class PickleibRunner implements BeforeAllCallback, TestInstancePostProces
         }
 
         if (packages.length > 0) {
-            scanAndRegister(packages);
+            registerPageObjects(packages);
         }
 
         // Auto-detect: scan page objects first, fall back to JSON
         if (pageRepository.isEmpty() && packages.length == 0) {
-            scanAndRegister(new String[]{DEFAULT_SCAN_PACKAGE});
+            registerPageObjects(DEFAULT_SCAN_PACKAGE);
             if (registry.size() == 0 && new File(DEFAULT_PAGE_REPOSITORY).exists()) {
                 loadJsonRepository(DEFAULT_PAGE_REPOSITORY);
                 jsonLoaded = true;
@@ -88,16 +95,57 @@ public class PickleibRunner implements BeforeAllCallback, TestInstancePostProces
         log.info("Loaded page repository from " + path);
     }
 
-    private void scanAndRegister(String[] packages) {
-        List<Class<?>> pageObjects = ClasspathScanner.scanForAnnotatedClasses(PageObject.class, packages);
-        for (Class<?> clazz : pageObjects) {
+    /**
+     * Registers the {@code @PageObject} and {@code @ScreenObject} classes of the given packages.
+     * <p>
+     * Classes listed in the build-time {@link PageIndex} are registered without scanning or initializing them;
+     * packages that have no indexed classes are scanned at runtime. Each package is registered once per JVM.
+     * </p>
+     *
+     * @param packages the packages to register page objects from
+     */
+    public static void registerPageObjects(String... packages) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<PageIndex.Entry> index = null;
+        List<String> unindexed = new ArrayList<>();
+        for (String pkg : packages) {
+            if (!registeredPackages.add(pkg)) continue;
+            if (index == null) index = PageIndex.load(classLoader);
+            List<PageIndex.Entry> indexed = index.stream().filter(entry -> entry.isIn(pkg)).toList();
+            if (!indexed.isEmpty()) registerIndexed(indexed, classLoader);
+            else unindexed.add(pkg);
+        }
+        if (!unindexed.isEmpty()) registerScanned(unindexed.toArray(String[]::new));
+    }
+
+    private static void registerIndexed(List<PageIndex.Entry> entries, ClassLoader classLoader) {
+        for (PageIndex.Entry entry : entries) {
+            try {
+                Class<?> clazz = Class.forName(entry.className(), false, classLoader);
+                Class<? extends Annotation> annotation = entry.annotation().equals("ScreenObject") ? ScreenObject.class : PageObject.class;
+                if (!clazz.isAnnotationPresent(annotation)) {
+                    log.warning("Skipping indexed class " + entry.className() + ", it is no longer annotated with @" + entry.annotation());
+                    continue;
+                }
+                registry.register(clazz, entry);
+                log.info("Registered @" + entry.annotation() + ": " + clazz.getSimpleName() + " (indexed)");
+            }
+            catch (ClassNotFoundException | LinkageError e) {
+                log.warning("Could not load indexed class: " + entry.className() + " — " + e.getMessage());
+            }
+        }
+    }
+
+    private static void registerScanned(String... packages) {
+        Map<Class<? extends Annotation>, List<Class<?>>> scanned =
+                ClasspathScanner.scan(List.of(PageObject.class, ScreenObject.class), packages);
+        for (Class<?> clazz : scanned.get(PageObject.class)) {
             PageObject po = clazz.getAnnotation(PageObject.class);
             registry.register(clazz, po.name(), po.platform());
             log.info("Registered @PageObject: " + clazz.getSimpleName());
         }
 
-        List<Class<?>> screenObjects = ClasspathScanner.scanForAnnotatedClasses(ScreenObject.class, packages);
-        for (Class<?> clazz : screenObjects) {
+        for (Class<?> clazz : scanned.get(ScreenObject.class)) {
             ScreenObject so = clazz.getAnnotation(ScreenObject.class);
             registry.register(clazz, so.name(), so.platform());
             log.info("Registered @ScreenObject: " + clazz.getSimpleName());
@@ -1,27 +1,29 @@
 package pickleib.steps;
 
+import collections.Pair;
 import com.google.common.collect.ImmutableMap;
 import context.ContextStore;
 import io.cucumber.datatable.DataTable;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.en.*;
 import org.junit.jupiter.api.Assertions;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.remote.RemoteWebDriver;
 import pickleib.driver.DriverFactory;
 import pickleib.enums.Direction;
 import pickleib.enums.ElementState;
 import pickleib.enums.Navigation;
+import pickleib.enums.OptionMatch;
 import pickleib.exceptions.PickleibVerificationException;
 import pickleib.platform.driver.PickleibAppiumDriver;
-import pickleib.annotations.PageObject;
-import pickleib.annotations.ScreenObject;
-import pickleib.runner.ClasspathScanner;
 import pickleib.runner.PageObjectRegistry;
 import pickleib.runner.PickleibRunner;
 import pickleib.utilities.element.ElementBundle;
 import pickleib.utilities.element.FormInput;
 import pickleib.utilities.element.acquisition.design.PageObjectJson;
 import pickleib.utilities.element.interactions.InteractionBase;
+import pickleib.utilities.helpers.BusyIndicatorHelper;
+import pickleib.utilities.helpers.FrameContextHelper;
 import pickleib.utilities.interfaces.PolymorphicUtilities;
 import pickleib.utilities.interfaces.repository.ElementRepository;
 import pickleib.utilities.interfaces.repository.PageRepository;
@@ -81,14 +83,35 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
         PickleibRunner.getRegistry().clearInstances();
     }
 
+    /**
+     * Switches the drivers of the current thread back to the top level document at the end of every step, so that
+     * consecutive operations within a step share the frame but no step inherits it. Sessions of other threads are
+     * left alone.
+     */
+    @AfterStep
+    public void leaveFrames() {
+        for (RemoteWebDriver driver : Arrays.asList(PickleibWebDriver.get(), PickleibAppiumDriver.get())) {
+            if (driver == null) continue;
+            FrameContextHelper frames = new FrameContextHelper(driver);
+            try {
+                frames.exit();
+            }
+            catch (WebDriverException ignored) {}
+            frames.forget();
+        }
+    }
+
     /**
      * Sets the element repository used by all built-in steps.
      * Call this from your project's Hooks or step class to use a custom repository
      * instead of the PickleibRunner's auto-discovered registry.
      *
+     * The busy indicators registered by a replaced repository stop gating interactions.
+     *
      * @param repository the element repository to use
      */
     public static void setElementRepository(ElementRepository repository) {
+        if (elementRepository != repository) BusyIndicatorHelper.unregister(elementRepository);
         elementRepository = repository;
     }
 
@@ -110,24 +133,13 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
 
     /**
      * Auto-detects the element repository if none was explicitly set.
-     * 1. Scans the 'pages' package for @PageObject/@ScreenObject classes
+     * 1. Registers the @PageObject/@ScreenObject classes of the 'pages' package
      * 2. Falls back to page-repository.json at the default path
      */
     private void autoDetectRepository() {
-        // Try scanning for @PageObject/@ScreenObject classes first
+        // Try registering @PageObject/@ScreenObject classes first
         PageObjectRegistry registry = PickleibRunner.getRegistry();
-        List<Class<?>> pageObjects = ClasspathScanner.scanForAnnotatedClasses(PageObject.class, "pages");
-        for (Class<?> clazz : pageObjects) {
-            PageObject po = clazz.getAnnotation(PageObject.class);
-            registry.register(clazz, po.name(), po.platform());
-            log.info("Auto-registered @PageObject: " + clazz.getSimpleName());
-        }
-        List<Class<?>> screenObjects = ClasspathScanner.scanForAnnotatedClasses(ScreenObject.class, "pages");
-        for (Class<?> clazz : screenObjects) {
-            ScreenObject so = clazz.getAnnotation(ScreenObject.class);
-            registry.register(clazz, so.name(), so.platform());
-            log.info("Auto-registered @ScreenObject: " + clazz.getSimpleName());
-        }
+        PickleibRunner.registerPageObjects(PickleibRunner.DEFAULT_SCAN_PACKAGE);
         if (registry.size() > 0) return;
 
         // Fall back to JSON repository
@@ -142,6 +154,15 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
         }
     }
 
+    /**
+     * Switches into the frame of a JSON repository element and returns its locator, for checks that look the
+     * element up without acquiring it first.
+     */
+    private static By locatorInFrame(PageObjectJson repository, String elementName, String pageName) {
+        repository.enterFrameFromPage(elementName, pageName);
+        return repository.locatorFromPage(elementName, pageName);
+    }
+
     // ─── Platform / Context ──────────────────────────────────────────────
 
     /** @param type the default driver type to use for interactions */
@@ -285,6 +306,29 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
         webInteractions.updateCookies(cookieValue, cookieName);
     }
 
+    /**
+     * Saves cookies, local/session storage (and IndexedDB if enabled) of the current origin as a named snapshot.
+     *
+     * @param name     the snapshot name
+     * @param inMemory non-null if the snapshot should be kept in memory instead of on disk
+     */
+    @Given("^Save browser state as ([\\w-]+)( in memory)?$")
+    public void saveBrowserState(String name, String inMemory) {
+        webInteractions.saveBrowserState(name, inMemory != null);
+    }
+
+    /** @param name the name of a snapshot saved by an earlier scenario */
+    @Given("^Restore browser state ([\\w-]+)$")
+    public void restoreBrowserState(String name) {
+        webInteractions.restoreBrowserState(name);
+    }
+
+    /** @param name the snapshot name */
+    @Given("^Delete browser state ([\\w-]+)$")
+    public void deleteBrowserState(String name) {
+        webInteractions.deleteBrowserState(name);
+    }
+
     /** Deletes all browser cookies. */
     @Given("Delete cookies")
     public void deleteCookies() {
@@ -431,6 +475,20 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
         interactions.fillForm(inputBundles, pageName);
     }
 
+    /**
+     * @param pageName   the page object containing the form inputs
+     * @param driverType the driver type to use (mobile or web), or null for auto-detect
+     * @param formInputs the list of form input specifications
+     */
+    @Given("^Fill and verify form input on the (\\w+)(?: using (mobile|web) driver)?$")
+    public void fillAndVerifyForm(String pageName, String driverType, List<FormInput> formInputs) {
+        List<ElementBundle<String>> inputBundles = getElementRepository().acquireElementList(formInputs, pageName);
+        PolymorphicUtilities interactions = driverType != null ?
+                getInteractions(DriverFactory.DriverType.getType(driverType)) :
+                getInteractions(getRandomItemFrom(inputBundles).element());
+        interactions.fillAndVerifyForm(inputBundles, pageName);
+    }
+
     /**
      * @param optionText  the visible text of the option to select
      * @param elementName the name of the select element
@@ -438,11 +496,36 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
      */
     @Given("^Select option (.+?(?:\\s+.+?)*) from (\\w+) on the (\\w+)$")
     public void selectOption(String optionText, String elementName, String pageName) {
-        optionText = contextCheck(optionText);
-        WebElement selectElement = getElementRepository().acquireElementFromPage(elementName, pageName);
-        new Select(selectElement).selectByVisibleText(optionText);
-        log.info("Selected " + highlighted(BLUE, optionText) + highlighted(GRAY, " from ") +
-                highlighted(BLUE, elementName) + highlighted(GRAY, " on ") + highlighted(BLUE, pageName));
+        selectOptions(OptionMatch.text.name(), elementName, pageName, List.of(optionText));
+    }
+
+    /**
+     * Selects an option of a native or custom dropdown by its visible text, value or index.
+     *
+     * @param match       how the option is matched (text, value or index)
+     * @param option      the text, value or index of the option to select
+     * @param elementName the name of the dropdown element
+     * @param pageName    the page object containing the dropdown element
+     */
+    @Given("^Select (text|value|index) (.+?(?:\\s+.+?)*) option from (\\w+) on the (\\w+)$")
+    public void selectOptionBy(String match, String option, String elementName, String pageName) {
+        selectOptions(match, elementName, pageName, List.of(option));
+    }
+
+    /**
+     * Selects several options of a native (multi) select or custom dropdown in a single call.
+     *
+     * @param match       how the options are matched (text, value or index)
+     * @param elementName the name of the dropdown element
+     * @param pageName    the page object containing the dropdown element
+     * @param options     the texts, values or indexes of the options to select
+     */
+    @Given("^Select (text|value|index) options from (\\w+) on the (\\w+)$")
+    public void selectOptions(String match, String elementName, String pageName, List<String> options) {
+        WebElement dropdown = getElementRepository().acquireElementFromPage(elementName, pageName);
+        Pair<String, String> optionLocator = getElementRepository() instanceof PageObjectJson repository ?
+                repository.getOptionLocator(elementName, pageName) : null;
+        getInteractions(dropdown).selectOptions(dropdown, elementName, pageName, OptionMatch.valueOf(match), options, optionLocator);
     }
 
     /**
@@ -568,6 +651,11 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
      */
     @Given("^Verify absence of element (\\w+) on the (\\w+)(?: using (mobile|web) driver)?$")
     public void verifyAbsence(String elementName, String pageName, String driverType) {
+        if (getElementRepository() instanceof PageObjectJson repository) {
+            getInteractions(driverType != null ? DriverFactory.DriverType.getType(driverType) : repository.getDriverTypeForPage(pageName))
+                    .verifyElementState(locatorInFrame(repository, elementName, pageName), elementName, pageName, ElementState.absent);
+            return;
+        }
         WebElement element = getElementRepository().acquireElementFromPage(elementName, pageName);
         PolymorphicUtilities interactions = driverType != null ?
                 getInteractions(DriverFactory.DriverType.getType(driverType)) :
@@ -581,6 +669,11 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
      */
     @Given("^Verify presence of element (\\w+) on the (\\w+)$")
     public void verifyPresence(String elementName, String pageName) {
+        if (getElementRepository() instanceof PageObjectJson repository) {
+            getInteractions(repository.getDriverTypeForPage(pageName))
+                    .verifyElementState(locatorInFrame(repository, elementName, pageName), elementName, pageName, ElementState.displayed);
+            return;
+        }
         WebElement element = getElementRepository().acquireElementFromPage(elementName, pageName);
         getInteractions(element).verifyElementState(element, elementName, pageName, ElementState.displayed);
     }
@@ -777,6 +870,18 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
         PolymorphicUtilities.waitFor(duration);
     }
 
+    /** Waits for in-flight requests and short timers of the current page to finish, regardless of {@code page-settle}. */
+    @Given("^Wait for the page to settle$")
+    public void waitForPageToSettle() {
+        webInteractions.waitForPageToSettle();
+    }
+
+    /** Waits for the mobile screen to stop changing, regardless of {@code mobile-ui-stability}. */
+    @Given("^Wait for the screen to settle$")
+    public void waitForScreenToSettle() {
+        platformInteractions.waitForScreenToSettle();
+    }
+
     /**
      * @param elementName the name of the element to wait for absence of
      * @param pageName    the page object containing the element
@@ -784,6 +889,11 @@ public class BuiltInSteps extends InteractionBase implements PageRepository {
      */
     @Given("^Wait for absence of element (\\w+) on the (\\w+)(?: using (mobile|web) driver)?$")
     public void waitUntilAbsence(String elementName, String pageName, String driverType) {
+        if (getElementRepository() instanceof PageObjectJson repository) {
+            getInteractions(driverType != null ? DriverFactory.DriverType.getType(driverType) : repository.getDriverTypeForPage(pageName))
+                    .waitUntilAbsence(locatorInFrame(repository, elementName, pageName), elementName, pageName);
+            return;
+        }
         WebElement element = getElementRepository().acquireElementFromPage(elementName, pageName);
         PolymorphicUtilities interactions = driverType != null ?
                 getInteractions(DriverFactory.DriverType.getType(driverType)) :
@@ -1,5 +1,6 @@
 package pickleib.utilities;
 
+import collections.Pair;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import context.ContextStore;
 import org.jetbrains.annotations.NotNull;
@@ -8,13 +9,22 @@ import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
+import pickleib.enums.DragDropMode;
 import pickleib.enums.ElementState;
+import pickleib.enums.OptionMatch;
 import pickleib.exceptions.PickleibException;
 import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.ElementSnapshot;
+import pickleib.utilities.element.FormFieldResult;
+import pickleib.utilities.element.interactions.ActionPlan;
+import pickleib.utilities.helpers.ActionPlanHelper;
+import pickleib.utilities.helpers.BusyIndicatorHelper;
 import pickleib.utilities.helpers.ClickHelper;
 import pickleib.utilities.helpers.DragDropHelper;
 import pickleib.utilities.helpers.ElementStateHelper;
 import pickleib.utilities.helpers.InputHelper;
+import pickleib.utilities.helpers.SelectHelper;
+import pickleib.utilities.helpers.XPathHelper;
 import pickleib.annotations.ContextValue;
 import pickleib.runner.ContextValueInjector;
 import pickleib.utilities.interfaces.functions.ScrollFunction;
@@ -22,6 +32,7 @@ import utils.Printer;
 import utils.StringUtilities;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static pickleib.enums.ElementState.absent;
@@ -64,6 +75,36 @@ public abstract class Utilities {
     /** Timeout in milliseconds for driver-level waits. */
     @ContextValue(value = "driver-timeout", defaultValue = "15000")
     public long driverTimeout;
+
+    /** If true, web inputs are filled through the native value setter instead of key events. */
+    @ContextValue(value = "fast-fill", defaultValue = "false")
+    public boolean fastFill;
+
+    /** If true, web bundle interactions are compiled into action plans before execution. */
+    @ContextValue(value = "compile-bundle-interactions", defaultValue = "false")
+    public boolean compileBundleInteractions;
+
+    /** How drag-and-drop interactions are dispatched on web drivers. */
+    @ContextValue(value = "drag-drop-mode", defaultValue = "actions")
+    public DragDropMode dragDropMode;
+
+    /** Maximum time in milliseconds to await a drop or DOM change after a drag. */
+    @ContextValue(value = "drag-drop-timeout", defaultValue = "500")
+    public long dragDropTimeout;
+    /** Comma separated css selectors of global busy indicators (spinners, overlays) awaited before interactions. */
+    @ContextValue(value = "busy-indicators", defaultValue = "")
+    public String busyIndicators;
+
+    /** Maximum time in milliseconds to wait for busy indicators to disappear. */
+    @ContextValue(value = "busy-indicator-timeout", defaultValue = "15000")
+    public long busyIndicatorTimeout;
+
+    /** Minimum text length inserted into web inputs in one command instead of key by key, 0 to always type. */
+    @ContextValue(value = "paste-threshold", defaultValue = "256")
+    public int pasteThreshold;
+
+    /** Gate awaiting global busy indicators before interactions and verifications. */
+    protected BusyIndicatorHelper busyIndicatorHelper;
     /** Helper for click interactions. */
     protected ClickHelper clickHelper;
     /** Helper for input interactions. */
@@ -72,6 +113,12 @@ public abstract class Utilities {
     protected ElementStateHelper elementStateHelper;
     /** Helper for drag-and-drop interactions. */
     protected DragDropHelper dragDropHelper;
+    /** Helper for executing compiled action plans. */
+    protected ActionPlanHelper actionPlanHelper;
+    /** Helper for xPath generation and ancestor lookups. */
+    protected XPathHelper xPathHelper;
+    /** Helper for dropdown option selection. */
+    protected SelectHelper selectHelper;
 
     /**
      * Constructs a Utilities instance with an explicit FluentWait.
@@ -84,10 +131,14 @@ public abstract class Utilities {
         this.driverTimeout = this.driverTimeout / 1000;
         this.driver = driver;
         this.wait = wait;
-        this.clickHelper = new ClickHelper(driver, wait, scroller, elementTimeout);
-        this.inputHelper = new InputHelper(driver, wait, scroller, elementTimeout);
-        this.elementStateHelper = new ElementStateHelper(driver, elementTimeout, driverTimeout);
-        this.dragDropHelper = new DragDropHelper(driver);
+        this.busyIndicatorHelper = new BusyIndicatorHelper(driver, BusyIndicatorHelper.parse(busyIndicators), busyIndicatorTimeout);
+        this.clickHelper = new ClickHelper(driver, wait, scroller, elementTimeout, busyIndicatorHelper);
+        this.inputHelper = new InputHelper(driver, wait, scroller, elementTimeout, fastFill, busyIndicatorHelper, pasteThreshold);
+        this.elementStateHelper = new ElementStateHelper(driver, elementTimeout, driverTimeout, busyIndicatorHelper);
+        this.dragDropHelper = new DragDropHelper(driver, dragDropTimeout, dragDropMode);
+        this.actionPlanHelper = new ActionPlanHelper(driver, wait, elementStateHelper, busyIndicatorHelper, elementTimeout);
+        this.xPathHelper = new XPathHelper(driver);
+        this.selectHelper = new SelectHelper(driver, elementTimeout);
     }
 
     /**
@@ -107,10 +158,14 @@ public abstract class Utilities {
                     .pollingEvery(Duration.ofMillis(500))
                     .withMessage("Waiting for element visibility...")
                     .ignoring(WebDriverException.class);
-        this.clickHelper = new ClickHelper(driver, wait, scroller, elementTimeout);
-        this.inputHelper = new InputHelper(driver, wait, scroller, elementTimeout);
-        this.elementStateHelper = new ElementStateHelper(driver, elementTimeout, driverTimeout);
-        this.dragDropHelper = new DragDropHelper(driver);
+        this.busyIndicatorHelper = new BusyIndicatorHelper(driver, BusyIndicatorHelper.parse(busyIndicators), busyIndicatorTimeout);
+        this.clickHelper = new ClickHelper(driver, wait, scroller, elementTimeout, busyIndicatorHelper);
+        this.inputHelper = new InputHelper(driver, wait, scroller, elementTimeout, fastFill, busyIndicatorHelper, pasteThreshold);
+        this.elementStateHelper = new ElementStateHelper(driver, elementTimeout, driverTimeout, busyIndicatorHelper);
+        this.dragDropHelper = new DragDropHelper(driver, dragDropTimeout, dragDropMode);
+        this.actionPlanHelper = new ActionPlanHelper(driver, wait, elementStateHelper, busyIndicatorHelper, elementTimeout);
+        this.xPathHelper = new XPathHelper(driver);
+        this.selectHelper = new SelectHelper(driver, elementTimeout);
     }
 
     /**
@@ -340,6 +395,22 @@ public abstract class Utilities {
         inputHelper.fillAndVerify(element, inputText, scroll, clear, verify);
     }
 
+    /**
+     * Fills the specified web input through the native value setter in a single script call,
+     * regardless of the global {@code fast-fill} setting.
+     *
+     * @param element   The WebElement representing the input field.
+     * @param inputText The text to be entered into the input field.
+     * @param scroll    If true, scrolls to the element before filling. If false, does not scroll.
+     * @param clear     If true, replaces the current value. If false, appends to it.
+     * @param verify    If true, verifies that the resulting value matches the entered text.
+     *
+     * @throws PickleibException if verification fails (inputText does not match the value of element).
+     */
+    public void nativeFillAndVerify(WebElement element, String inputText, boolean scroll, boolean clear, boolean verify) {
+        inputHelper.nativeFillAndVerify(element, inputText, scroll, clear, verify);
+    }
+
     /**
      * Verifies a given element is in expected state
      *
@@ -362,6 +433,62 @@ public abstract class Utilities {
         return elementStateHelper.elementIs(element, state);
     }
 
+    /**
+     * Waits until the elements matching a locator are in expected state, without implicit waits.
+     *
+     * @param locator target locator
+     * @param state   expected state
+     * @return returns true if the located elements are in the expected state
+     */
+    public Boolean elementIs(By locator, @NotNull ElementState state) {
+        return elementStateHelper.elementIs(locator, state);
+    }
+
+    /**
+     * Verifies the elements matching a locator are in expected state, without implicit waits.
+     *
+     * @param locator target locator
+     * @param state   expected state
+     */
+    public void verifyElementState(By locator, ElementState state) {
+        elementStateHelper.verifyElementState(locator, state);
+    }
+
+    /**
+     * Waits until a given element is in expected state, polling with single call snapshots
+     *
+     * @param element target element
+     * @param state   expected state
+     * @return returns true if an element is in the expected state
+     */
+    public Boolean elementIsBySnapshot(WebElement element, @NotNull ElementState state) {
+        return elementStateHelper.elementIsBySnapshot(element, state);
+    }
+
+    /**
+     * Captures text, value, attributes, computed styles, state flags and rect of an element in a single call
+     *
+     * @param element    target element
+     * @param attributes names of the attributes to capture
+     * @param styles     names of the computed css properties to capture
+     * @return the element snapshot
+     */
+    public ElementSnapshot snapshot(WebElement element, List<String> attributes, List<String> styles) {
+        return elementStateHelper.snapshot(element, attributes, styles);
+    }
+
+    /**
+     * Captures text, value, attributes, computed styles, state flags and rect of all given elements in a single call
+     *
+     * @param elements   target elements
+     * @param attributes names of the attributes to capture
+     * @param styles     names of the computed css properties to capture
+     * @return the element snapshots, in element order
+     */
+    public List<ElementSnapshot> snapshot(List<WebElement> elements, List<String> attributes, List<String> styles) {
+        return elementStateHelper.snapshot(elements, attributes, styles);
+    }
+
     /**
      * Clicks an element acquired by text without scrolling.
      *
@@ -555,27 +682,7 @@ public abstract class Utilities {
      * @return returns the targeted parent element
      */
     public WebElement getParentByClass(WebElement childElement, String current, String parentSelectorClass) {
-
-        if (current == null) {
-            current = "";
-        }
-
-        String childTag = childElement.getTagName();
-
-        if (childElement.getAttribute("class").contains(parentSelectorClass)) return childElement;
-
-        WebElement parentElement = childElement.findElement(By.xpath(".."));
-        List<WebElement> childrenElements = parentElement.findElements(By.xpath("*"));
-
-        int count = 0;
-        for (WebElement childrenElement : childrenElements) {
-            String childrenElementTag = childrenElement.getTagName();
-            if (childTag.equals(childrenElementTag)) count++;
-            if (childElement.equals(childrenElement)) {
-                return getParentByClass(parentElement, "/" + childTag + "[" + count + "]" + current, parentSelectorClass);
-            }
-        }
-        return null;
+        return xPathHelper.getParentByClass(childElement, current, parentSelectorClass);
     }
 
     /**
@@ -586,21 +693,20 @@ public abstract class Utilities {
      * @return returns generated xPath
      */
     public String generateXPath(@NotNull WebElement childElement, String current) {
-        String childTag = childElement.getTagName();
-        if (childTag.equals("html")) {
-            return "/html[1]" + current;
-        }
-        WebElement parentElement = childElement.findElement(By.xpath(".."));
-        List<WebElement> childrenElements = parentElement.findElements(By.xpath("*"));
-        int count = 0;
-        for (WebElement childrenElement : childrenElements) {
-            String childrenElementTag = childrenElement.getTagName();
-            if (childTag.equals(childrenElementTag)) count++;
-            if (childElement.equals(childrenElement)) {
-                return generateXPath(parentElement, "/" + childTag + "[" + count + "]" + current);
-            }
-        }
-        return null;
+        return xPathHelper.generateXPath(childElement, current);
+    }
+
+    /**
+     * Selects options of a native or custom dropdown in a single call.
+     *
+     * @param dropdown      the {@code select} element, or the trigger of a custom dropdown
+     * @param match         how options are matched
+     * @param values        the texts, values or indexes of the options to select
+     * @param optionLocator the selector type and expression of custom dropdown options, or null
+     * @return the texts of the selected options
+     */
+    public List<String> selectOptions(WebElement dropdown, OptionMatch match, List<String> values, Pair<String, String> optionLocator) {
+        return selectHelper.selectOptions(dropdown, match, values, optionLocator);
     }
 
     /**
@@ -685,6 +791,16 @@ public abstract class Utilities {
         elementStateHelper.verifyListedElementText(bundles, pageName);
     }
 
+    /**
+     * Verify the text of elements from the list on the {page name} using a single snapshot of the whole list
+     *
+     * @param bundles  list of element bundles containing elements and their expected texts
+     * @param pageName specified page instance name
+     */
+    public void verifyListedElementTextBySnapshot(List<ElementBundle<String>> bundles, String pageName) {
+        elementStateHelper.verifyListedElementTextBySnapshot(bundles, pageName);
+    }
+
     /**
      * Verify the text of an element from the list on the {page name}
      *
@@ -711,6 +827,49 @@ public abstract class Utilities {
         inputHelper.fillInputForm(bundles, pageName);
     }
 
+    /**
+     * Compiles a list of bundle interactions into an inspectable action plan
+     *
+     * @param bundles the bundles, each with an "Interaction Type" entry in its data
+     * @param scroll  whether the per-step dispatch would scroll to the elements
+     * @return the compiled plan
+     */
+    public ActionPlan compileBundleInteraction(List<ElementBundle<Map<String, String>>> bundles, boolean scroll) {
+        return ActionPlan.compile(bundles, scroll);
+    }
+
+    /**
+     * Executes a compiled action plan on the {page name}
+     *
+     * @param plan     the compiled plan
+     * @param pageName specified page instance name
+     */
+    public void executePlan(ActionPlan plan, String pageName) {
+        actionPlanHelper.executePlan(plan, pageName);
+    }
+
+    /**
+     * Fills the whole form on the {page name} in batch and reports the outcome per field
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @return the fill result of each field, in form order
+     */
+    public List<FormFieldResult> batchFillInputForm(List<ElementBundle<String>> bundles, String pageName) {
+        return inputHelper.batchFillInputForm(bundles, pageName);
+    }
+
+    /**
+     * Fills the whole form on the {page name} in batch and fails listing every field that could not be verified
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @return the fill result of each field, in form order
+     */
+    public List<FormFieldResult> fillAndVerifyInputForm(List<ElementBundle<String>> bundles, String pageName) {
+        return inputHelper.fillAndVerifyInputForm(bundles, pageName);
+    }
+
     /**
      * Verify that element {element name} on the {page name} has {attribute value} value for its {attribute name} attribute
      *
@@ -0,0 +1,130 @@
+package pickleib.utilities.element;
+
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.support.Color;
+import pickleib.enums.ElementState;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A point-in-time capture of the observable state of an element, read in a single driver call.
+ *
+ * @param text       the rendered text of the element
+ * @param value      the current value of the element, or {@code null} if it has none
+ * @param attributes the requested attributes, keyed by attribute name
+ * @param styles     the requested computed styles, keyed by css property name, with colors in {@code rgba(...)} form
+ * @param displayed  true if the element is rendered and visible
+ * @param enabled    true if the element is not disabled
+ * @param selected   true if the element is checked or selected
+ * @param rect       the bounding rectangle of the element relative to the document
+ */
+public record ElementSnapshot(
+        String text,
+        String value,
+        Map<String, String> attributes,
+        Map<String, String> styles,
+        boolean displayed,
+        boolean enabled,
+        boolean selected,
+        Rectangle rect
+) {
+
+    /**
+     * @param attributeName attribute name
+     * @return the captured attribute value, or {@code null} if it was absent or not requested
+     */
+    public String attribute(String attributeName) {
+        return attributes.get(attributeName);
+    }
+
+    /**
+     * @param propertyName css property name
+     * @return the captured computed style value, or {@code null} if it was not requested
+     */
+    public String style(String propertyName) {
+        return styles.get(propertyName);
+    }
+
+    /**
+     * Evaluates whether the captured element satisfies the specified state.
+     *
+     * @param state the state to check against
+     * @return true if the captured element matches the given state, false otherwise
+     */
+    public boolean is(ElementState state) {
+        return switch (state) {
+            case enabled -> enabled;
+            case displayed -> displayed;
+            case selected -> selected;
+            case disabled -> !enabled;
+            case unselected -> !selected;
+            case absent -> !displayed;
+            default -> throw new EnumConstantNotPresentException(ElementState.class, state.name());
+        };
+    }
+
+    /**
+     * Builds a snapshot from the object returned by the snapshot script.
+     *
+     * @param result the script result, a map with text, value, attributes, styles, state flags and rect
+     * @return the snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static ElementSnapshot fromScriptResult(Map<String, Object> result) {
+        Map<String, Object> rect = (Map<String, Object>) result.get("rect");
+        return new ElementSnapshot(
+                (String) result.get("text"),
+                result.get("value") == null ? null : result.get("value").toString(),
+                toStringMap((Map<String, Object>) result.get("attributes")),
+                normalizeColors(toStringMap((Map<String, Object>) result.get("styles"))),
+                Boolean.TRUE.equals(result.get("displayed")),
+                Boolean.TRUE.equals(result.get("enabled")),
+                Boolean.TRUE.equals(result.get("selected")),
+                new Rectangle(
+                        ((Number) rect.get("x")).intValue(),
+                        ((Number) rect.get("y")).intValue(),
+                        ((Number) rect.get("height")).intValue(),
+                        ((Number) rect.get("width")).intValue()
+                )
+        );
+    }
+
+    /**
+     * Builds snapshots from the list returned by the snapshot script.
+     *
+     * @param results the script results, one map per element
+     * @return the snapshots, in element order
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ElementSnapshot> fromScriptResults(List<?> results) {
+        return results.stream().map(result -> fromScriptResult((Map<String, Object>) result)).toList();
+    }
+
+    /**
+     * Converts color styles to the {@code rgba(...)} form {@code getCssValue} returns, so snapshot values compare
+     * equal to the values read through the driver.
+     */
+    private static Map<String, String> normalizeColors(Map<String, String> styles) {
+        Map<String, String> values = new LinkedHashMap<>(styles);
+        values.replaceAll((name, value) -> {
+            if (value == null || !name.toLowerCase().contains("color")) return value;
+            try {
+                return Color.fromString(value).asRgba();
+            }
+            catch (IllegalArgumentException exception) {
+                return value;
+            }
+        });
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> map) {
+        if (map == null) return Collections.emptyMap();
+        Map<String, String> values = new LinkedHashMap<>();
+        map.forEach((key, value) -> values.put(key, value == null ? null : value.toString()));
+        return Collections.unmodifiableMap(values);
+    }
+}
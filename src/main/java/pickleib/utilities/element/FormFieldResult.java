@@ -0,0 +1,20 @@
+package pickleib.utilities.element;
+
+import java.util.Objects;
+
+/**
+ * The outcome of filling a single form field, as reported by a batched form fill.
+ *
+ * @param elementName the element's name in the repository
+ * @param expected    the text that was filled into the field
+ * @param actual      the value read back from the field after the whole form was filled
+ */
+public record FormFieldResult(String elementName, String expected, String actual) {
+
+    /**
+     * @return true if the value read back from the field equals the filled text
+     */
+    public boolean matched() {
+        return Objects.equals(expected, actual);
+    }
+}
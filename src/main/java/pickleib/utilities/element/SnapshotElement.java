@@ -0,0 +1,310 @@
+package pickleib.utilities.element;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.w3c.dom.Element;
+import pickleib.utilities.helpers.PageSourceSnapshotHelper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An element resolved from a page source snapshot by {@link PageSourceSnapshotHelper}.
+ * <p>
+ * Reads such as text, attributes, state and bounds are answered from the current snapshot without a device round
+ * trip. The real element handle is fetched with the first interaction or any call the snapshot cannot answer, and
+ * clicking, typing or clearing drops the snapshot since the screen is expected to change.
+ * </p>
+ */
+public class SnapshotElement extends RemoteWebElement {
+
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+
+    private final PageSourceSnapshotHelper helper;
+    private final By locator;
+    private final int index;
+    private PageSourceSnapshotHelper.Snapshot snapshot;
+    private PageSourceSnapshotHelper.Match match;
+    private WebElement element;
+
+    /**
+     * Constructs a SnapshotElement.
+     *
+     * @param driver   the driver the element belongs to
+     * @param helper   the helper that resolved the element
+     * @param snapshot the snapshot the element was found in
+     * @param locator  the locator the element was found with
+     * @param index    the index of the element among the matches of the locator
+     * @param match    the node of the element in the snapshot, with its path and device handle
+     */
+    public SnapshotElement(
+            RemoteWebDriver driver,
+            PageSourceSnapshotHelper helper,
+            PageSourceSnapshotHelper.Snapshot snapshot,
+            By locator,
+            int index,
+            PageSourceSnapshotHelper.Match match
+    ) {
+        this.helper = helper;
+        this.snapshot = snapshot;
+        this.locator = locator;
+        this.index = index;
+        this.match = match;
+        setParent(driver);
+    }
+
+    /**
+     * @return the absolute path of the element in the page source
+     */
+    public String getPath() {
+        return match.path();
+    }
+
+    /**
+     * @return true if the real element handle has been fetched from the device
+     */
+    public boolean isResolved() {
+        return element != null;
+    }
+
+    /**
+     * Fetches the real element handle from the device, once, after locating the element in the current snapshot.
+     *
+     * @return the real element
+     */
+    public WebElement resolve() {
+        if (element == null) {
+            node();
+            element = helper.fetchHandle(match.handle());
+            if (element instanceof RemoteWebElement remoteElement) setId(remoteElement.getId());
+        }
+        return element;
+    }
+
+    @Override
+    public void click() {
+        resolve().click();
+        helper.invalidate();
+    }
+
+    @Override
+    public void submit() {
+        resolve().submit();
+        helper.invalidate();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        resolve().sendKeys(keysToSend);
+        helper.invalidate();
+    }
+
+    @Override
+    public void clear() {
+        resolve().clear();
+        helper.invalidate();
+    }
+
+    @Override
+    public String getTagName() {
+        return node().getNodeName();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        Element node = node();
+        return node.hasAttribute(name) ? node.getAttribute(name) : resolve().getAttribute(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        Element node = node();
+        return node.hasAttribute(name) ? node.getAttribute(name) : resolve().getDomAttribute(name);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return resolve().getDomProperty(name);
+    }
+
+    @Override
+    public String getAriaRole() {
+        return resolve().getAriaRole();
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return resolve().getAccessibleName();
+    }
+
+    @Override
+    public boolean isSelected() {
+        Boolean selected = flag("selected");
+        if (selected == null || !selected) {
+            Boolean checked = flag("checked");
+            if (checked != null) return checked;
+        }
+        return selected != null ? selected : resolve().isSelected();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        Boolean enabled = flag("enabled");
+        return enabled != null ? enabled : resolve().isEnabled();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        Boolean displayed = flag(android() ? "displayed" : "visible");
+        return displayed != null ? displayed : resolve().isDisplayed();
+    }
+
+    @Override
+    public String getText() {
+        Element node = node();
+        if (android()) return node.hasAttribute("text") ? node.getAttribute("text") : resolve().getText();
+        if (node.hasAttribute("value") && !node.getAttribute("value").isEmpty()) return node.getAttribute("value");
+        if (node.hasAttribute("label")) return node.getAttribute("label");
+        return resolve().getText();
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return resolve().getCssValue(propertyName);
+    }
+
+    @Override
+    public List<WebElement> findElements(By locator) {
+        return resolve().findElements(locator);
+    }
+
+    @Override
+    public WebElement findElement(By locator) {
+        return resolve().findElement(locator);
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return resolve().getShadowRoot();
+    }
+
+    @Override
+    public Point getLocation() {
+        return getRect().getPoint();
+    }
+
+    @Override
+    public Dimension getSize() {
+        return getRect().getDimension();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        Element node = node();
+        if (node.hasAttribute("bounds")) {
+            Matcher bounds = BOUNDS.matcher(node.getAttribute("bounds"));
+            if (bounds.matches()) {
+                int left = Integer.parseInt(bounds.group(1));
+                int top = Integer.parseInt(bounds.group(2));
+                return new Rectangle(
+                        left,
+                        top,
+                        Integer.parseInt(bounds.group(4)) - top,
+                        Integer.parseInt(bounds.group(3)) - left
+                );
+            }
+        }
+        if (node.hasAttribute("x") && node.hasAttribute("y") && node.hasAttribute("width") && node.hasAttribute("height")) {
+            try {
+                return new Rectangle(
+                        Integer.parseInt(node.getAttribute("x")),
+                        Integer.parseInt(node.getAttribute("y")),
+                        Integer.parseInt(node.getAttribute("height")),
+                        Integer.parseInt(node.getAttribute("width"))
+                );
+            }
+            catch (NumberFormatException ignored) {}
+        }
+        return resolve().getRect();
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        if (resolve() instanceof Locatable locatable) return locatable.getCoordinates();
+        return super.getCoordinates();
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> outputType) {
+        return resolve().getScreenshotAs(outputType);
+    }
+
+    @Override
+    public String getId() {
+        resolve();
+        return super.getId();
+    }
+
+    @Override
+    public Map<String, Object> toJson() {
+        resolve();
+        return super.toJson();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof SnapshotElement other)) return false;
+        return match.path().equals(other.match.path()) && snapshot == other.snapshot;
+    }
+
+    @Override
+    public int hashCode() {
+        return match.path().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "[SnapshotElement " + match.path() + "]";
+    }
+
+    /**
+     * Returns the node of the element in the current snapshot, locating it again with its original locator if the
+     * snapshot was renewed, see {@link PageSourceSnapshotHelper#relocate}. Once the real element handle is fetched,
+     * interactions go to that element regardless of later snapshots.
+     *
+     * @throws StaleElementReferenceException if the element can no longer be located in the current snapshot
+     */
+    private Element node() {
+        PageSourceSnapshotHelper.Snapshot current = helper.current();
+        if (current != null && current != snapshot) {
+            PageSourceSnapshotHelper.Match relocated = helper.relocate(current, locator, index, match.node());
+            if (relocated == null) throw new StaleElementReferenceException("Element " + locator + " is no longer on the screen");
+            snapshot = current;
+            match = relocated;
+        }
+        return match.node();
+    }
+
+    private Boolean flag(String attribute) {
+        Element node = node();
+        return node.hasAttribute(attribute) ? Boolean.valueOf(node.getAttribute(attribute)) : null;
+    }
+
+    private boolean android() {
+        return snapshot.platform() != null && snapshot.platform().is(Platform.ANDROID);
+    }
+}
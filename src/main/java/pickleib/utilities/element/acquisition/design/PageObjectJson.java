@@ -19,6 +19,9 @@ import pickleib.exceptions.PickleibException;
 import pickleib.platform.driver.PickleibAppiumDriver;
 import pickleib.utilities.element.ElementBundle;
 import pickleib.utilities.element.FormInput;
+import pickleib.utilities.helpers.BusyIndicatorHelper;
+import pickleib.utilities.helpers.FrameContextHelper;
+import pickleib.utilities.helpers.PageSourceSnapshotHelper;
 import pickleib.utilities.interfaces.repository.ElementRepository;
 import pickleib.web.driver.PickleibWebDriver;
 import java.time.Duration;
@@ -78,6 +81,7 @@ public class PageObjectJson implements ElementRepository {
         this.webDriver = webDriver;
         this.platformDriver = platformDriver;
         this.objectRepository = objectRepository;
+        registerBusyIndicators(this, objectRepository);
 
         webWait = new FluentWait<>(webDriver)
                 .withTimeout(Duration.ofSeconds(elementTimeout))
@@ -303,8 +307,13 @@ public class PageObjectJson implements ElementRepository {
         JsonObject elementJson = getElementJson(elementName, pageJson);
 
         RemoteWebDriver driver = getDriverForPage(pageJson);
+        enterFrameOf(elementJson, driver);
 
         ByAll byAll = getElementByAll(elementJson, driver, selectorTypes);
+        if (isAppiumDriver(driver) && PageSourceSnapshotHelper.enabled()) {
+            WebElement element = new PageSourceSnapshotHelper(driver).find(byAll);
+            if (element != null) return element;
+        }
         getWaitForPage(pageJson).until(ExpectedConditions.presenceOfElementLocated(byAll));
         return driver.findElement(byAll);
     }
@@ -328,8 +337,13 @@ public class PageObjectJson implements ElementRepository {
         JsonObject elementJson = getElementJson(elementName, pageJson);
 
         RemoteWebDriver driver = getDriverForPage(pageJson);
+        enterFrameOf(elementJson, driver);
 
         ByAll byAll = getElementByAll(elementJson, driver, selectorTypes);
+        if (isAppiumDriver(driver) && PageSourceSnapshotHelper.enabled()) {
+            List<WebElement> elements = new PageSourceSnapshotHelper(driver).findAll(byAll);
+            if (elements != null && !elements.isEmpty()) return elements;
+        }
         getWaitForPage(pageJson).until(ExpectedConditions.presenceOfAllElementsLocatedBy(byAll));
         return driver.findElements(byAll);
     }
@@ -530,6 +544,55 @@ public class PageObjectJson implements ElementRepository {
         return selector.toString();
     }
 
+    /**
+     * Registers the css selectors of the optional top level {@code "busyIndicators"} array, e.g.
+     * {@code "busyIndicators": [".spinner", ".loading-overlay"]}, as busy indicators of the given repository.
+     *
+     * @param repository       The repository the selectors belong to.
+     * @param objectRepository The parsed JSON object repository.
+     */
+    private static void registerBusyIndicators(PageObjectJson repository, JsonObject objectRepository) {
+        if (objectRepository == null || !objectRepository.has("busyIndicators")) return;
+        if (!objectRepository.get("busyIndicators").isJsonArray())
+            throw new PickleibException("\"busyIndicators\" must be a json array of css selectors in the page object repository!");
+        List<String> selectors = new ArrayList<>();
+        for (JsonElement selector : objectRepository.getAsJsonArray("busyIndicators"))
+            selectors.add(selector.getAsString());
+        BusyIndicatorHelper.register(repository, selectors);
+    }
+
+    /**
+     * Switches the driver into the frame of an element, as defined by its optional {@code "frame"} path, e.g.
+     * {@code "frame": "iframe#payment"} or {@code "frame": ["iframe#checkout", "iframe[name='card']"]} for nested
+     * frames. Elements without a frame path are looked up in the top level document. Frames the driver is already in
+     * are kept, so consecutive lookups in the same frame do not switch.
+     *
+     * @param elementJson The JSON object of the element.
+     * @param driver      The driver of the element's page.
+     */
+    private static void enterFrameOf(JsonObject elementJson, RemoteWebDriver driver) {
+        if (driver == null || isAppiumDriver(driver)) return;
+        new FrameContextHelper(driver).enter(framePathOf(elementJson));
+    }
+
+    /**
+     * Parses the optional {@code "frame"} path of an element, see {@link #enterFrameOf(JsonObject, RemoteWebDriver)}.
+     *
+     * @param elementJson The JSON object of the element.
+     * @return The frame locators from the outermost frame inwards, empty for elements of the top level document.
+     */
+    private static List<By> framePathOf(JsonObject elementJson) {
+        List<String> selectors = new ArrayList<>();
+        JsonElement frame = elementJson.get("frame");
+        if (frame != null && frame.isJsonArray())
+            for (JsonElement selector : frame.getAsJsonArray()) selectors.add(selector.getAsString());
+        else if (frame != null && frame.isJsonPrimitive())
+            selectors.add(frame.getAsString());
+        else if (frame != null && !frame.isJsonNull())
+            throw new PickleibException("\"frame\" must be a selector or a json array of selectors in " + elementJson.get("elementName") + "!");
+        return FrameContextHelper.parse(selectors);
+    }
+
     /**
      * Locates the specific JSON object definition for an element within a page JSON.
      *
@@ -559,6 +622,62 @@ public class PageObjectJson implements ElementRepository {
                 .getAsJsonObject();
     }
 
+    /**
+     * Builds the locator of an element without looking it up, e.g. to check its absence without waiting.
+     * The driver is not switched into the frame of the element, see {@link #enterFrameFromPage(String, String)}.
+     *
+     * @param elementName The name of the element within the page JSON.
+     * @param pageName    The name of the page in the JSON.
+     * @return The {@link ByAll} locator of the element for the driver of the page's platform.
+     */
+    public By locatorFromPage(String elementName, String pageName){
+        JsonObject pageJson = getPageJson(pageName, objectRepository);
+        return getElementByAll(getElementJson(elementName, pageJson), getDriverForPage(pageJson));
+    }
+
+    /**
+     * Switches the driver of the page into the frame of an element, as defined by its optional {@code "frame"} path,
+     * so that the element can be looked up by its {@link #locatorFromPage(String, String) locator}.
+     *
+     * @param elementName The name of the element within the page JSON.
+     * @param pageName    The name of the page in the JSON.
+     */
+    public void enterFrameFromPage(String elementName, String pageName){
+        JsonObject pageJson = getPageJson(pageName, objectRepository);
+        enterFrameOf(getElementJson(elementName, pageJson), getDriverForPage(pageJson));
+    }
+
+    /**
+     * Returns the driver type of a page, as defined by its "platform" key.
+     *
+     * @param pageName The name of the page in the JSON.
+     * @return The driver type of the page.
+     */
+    public DriverFactory.DriverType getDriverTypeForPage(String pageName){
+        return DriverFactory.DriverType.getType(
+                getPageJson(pageName, objectRepository).get("platform").getAsJsonPrimitive().getAsString()
+        );
+    }
+
+    /**
+     * Reads the optional {@code "options"} locator of a custom dropdown element, such as
+     * {@code "options": {"css": "ul.country-menu li"}} or {@code "options": {"xpath": "//li[@role='option']"}}.
+     *
+     * @param elementName The name of the dropdown element.
+     * @param pageName    The name of the page in the JSON.
+     * @return The selector type ({@code css} or {@code xpath}) and expression, or null if the element defines no options.
+     */
+    public Pair<String, String> getOptionLocator(String elementName, String pageName){
+        JsonObject elementJson = getElementJson(elementName, getPageJson(pageName, objectRepository));
+        if (!elementJson.has("options") || !elementJson.get("options").isJsonObject()) return null;
+
+        JsonObject options = elementJson.getAsJsonObject("options");
+        for (String selectorType : List.of("css", "xpath"))
+            if (options.has(selectorType))
+                return new Pair<>(selectorType, options.get(selectorType).getAsString());
+        throw new PickleibException(String.format("\"options\" of %s must define a \"css\" or \"xpath\" selector!", elementName));
+    }
+
     /**
      * Retrieves a JSON object representing a page from the main object repository.
      *
@@ -0,0 +1,165 @@
+package pickleib.utilities.element.interactions;
+
+import pickleib.enums.InteractionType;
+import pickleib.utilities.element.ElementBundle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * A compiled form of a bundle interaction list, grouping the steps into as few driver commands as possible.
+ * <p>
+ * Consecutive fill steps are coalesced into a single W3C Actions sequence, consecutive center steps are merged into a
+ * single script, and consecutive verify steps are read from one snapshot. A click is a segment of its own, since it
+ * may open panels or start requests the elements of the following steps have to wait for. Every segment keeps its
+ * place in the plan, so a verify step still observes the page as it was after the steps before it and before the
+ * ones after it.
+ * The plan can be inspected through {@link #segments()} and {@link #describe()} before it is executed.
+ * </p>
+ */
+public class ActionPlan {
+
+    /**
+     * The way a segment of the plan is dispatched to the driver.
+     */
+    public enum SegmentType {
+        /** Consecutive fill steps, or a single click step, performed as one W3C Actions sequence. */
+        actions,
+        /** Center steps executed as one script. */
+        script,
+        /** Verify steps read from one element snapshot. */
+        snapshot
+    }
+
+    /**
+     * A group of steps dispatched together.
+     *
+     * @param type    how the segment is dispatched
+     * @param bundles the steps of the segment, in execution order
+     */
+    public record Segment(SegmentType type, List<ElementBundle<Map<String, String>>> bundles) {}
+
+    private final List<Segment> segments;
+    private final boolean scroll;
+    private final int stepCount;
+
+    private ActionPlan(List<Segment> segments, boolean scroll, int stepCount) {
+        this.segments = Collections.unmodifiableList(segments);
+        this.scroll = scroll;
+        this.stepCount = stepCount;
+    }
+
+    /**
+     * Compiles a list of bundles into an action plan.
+     *
+     * @param bundles the bundles, each with an "Interaction Type" entry in its data
+     * @param scroll  whether the per-step dispatch would scroll to the elements
+     * @return the compiled plan
+     * @throws EnumConstantNotPresentException if an unsupported interaction type is encountered in the bundle.
+     */
+    public static ActionPlan compile(List<ElementBundle<Map<String, String>>> bundles, boolean scroll) {
+        List<Segment> segments = new ArrayList<>();
+        for (ElementBundle<Map<String, String>> bundle : bundles) {
+            InteractionType interactionType = interactionTypeOf(bundle);
+            SegmentType segmentType = switch (interactionType) {
+                case click, fill -> SegmentType.actions;
+                case center -> SegmentType.script;
+                case verify -> SegmentType.snapshot;
+                default -> throw new EnumConstantNotPresentException(InteractionType.class, interactionType.name());
+            };
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            boolean coalesce = last != null && last.type() == segmentType && (segmentType != SegmentType.actions ||
+                    interactionType == InteractionType.fill && interactionTypeOf(last.bundles().get(0)) == InteractionType.fill);
+            if (coalesce) last.bundles().add(bundle);
+            else segments.add(new Segment(segmentType, new ArrayList<>(List.of(bundle))));
+        }
+        return new ActionPlan(segments, scroll, bundles.size());
+    }
+
+    /**
+     * @param bundle target bundle
+     * @return the interaction type declared in the "Interaction Type" entry of the bundle data
+     */
+    public static InteractionType interactionTypeOf(ElementBundle<Map<String, String>> bundle) {
+        return InteractionType.valueOf(bundle.data().get("Interaction Type"));
+    }
+
+    /**
+     * @return the segments of the plan, in execution order
+     */
+    public List<Segment> segments() {
+        return segments;
+    }
+
+    /**
+     * @return the number of bundle steps the plan was compiled from
+     */
+    public int stepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Estimates the driver commands the per-step dispatch issues for the same bundles: a click waits for
+     * clickability (2), scrolls (1) and clicks (1); a fill waits for visibility (1), scrolls (1), reads and clears
+     * the value (2) and types (1); a center runs one script and a verify reads the attribute at least once.
+     *
+     * @return the estimated number of driver commands without compilation
+     */
+    public int estimatedCommandsWithoutPlan() {
+        int commands = 0;
+        for (Segment segment : segments)
+            for (ElementBundle<Map<String, String>> bundle : segment.bundles())
+                commands += switch (interactionTypeOf(bundle)) {
+                    case click -> scroll ? 4 : 3;
+                    case fill -> scroll ? 5 : 4;
+                    case center, verify -> 1;
+                };
+        return commands;
+    }
+
+    /**
+     * Counts the driver commands the plan issues: an actions segment waits for each of its elements, performs the
+     * sequence and, if it fills, verifies the values from one snapshot; script and snapshot segments issue one command
+     * each (verify polling may repeat the snapshot).
+     *
+     * @return the number of driver commands the plan issues
+     */
+    public int plannedCommands() {
+        int commands = 0;
+        for (Segment segment : segments)
+            commands += switch (segment.type()) {
+                case actions -> segment.bundles().size() + 1 +
+                        (interactionTypeOf(segment.bundles().get(0)) == InteractionType.fill ? 1 : 0);
+                case script, snapshot -> 1;
+            };
+        return commands;
+    }
+
+    /**
+     * @return the estimated number of driver commands saved by executing the plan
+     */
+    public int commandsSaved() {
+        return estimatedCommandsWithoutPlan() - plannedCommands();
+    }
+
+    /**
+     * @return a human-readable listing of the plan segments and the command savings
+     */
+    public String describe() {
+        StringJoiner description = new StringJoiner("\n");
+        description.add("Action plan: " + stepCount + " steps in " + segments.size() + " segments, " +
+                plannedCommands() + " commands instead of ~" + estimatedCommandsWithoutPlan() +
+                " (" + commandsSaved() + " saved)");
+        for (int index = 0; index < segments.size(); index++) {
+            Segment segment = segments.get(index);
+            StringJoiner steps = new StringJoiner(", ");
+            for (ElementBundle<Map<String, String>> bundle : segment.bundles())
+                steps.add(interactionTypeOf(bundle).name() + " " + bundle.elementName());
+            description.add("  " + (index + 1) + ". " + segment.type().name() + ": " + steps);
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,197 @@
+package pickleib.utilities.helpers;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+import pickleib.exceptions.PickleibVerificationException;
+import pickleib.utilities.RetryPolicy;
+import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.ElementSnapshot;
+import pickleib.utilities.element.interactions.ActionPlan;
+import utils.Printer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+import static pickleib.enums.InteractionType.click;
+import static pickleib.utilities.element.interactions.ActionPlan.interactionTypeOf;
+import static utils.StringUtilities.*;
+import static utils.StringUtilities.Color.*;
+
+/**
+ * Executes compiled {@link ActionPlan}s on web drivers.
+ * Extracted from {@link pickleib.utilities.Utilities} to keep the base class focused.
+ */
+public class ActionPlanHelper {
+
+    private final RemoteWebDriver driver;
+    private final FluentWait<RemoteWebDriver> wait;
+    private final ElementStateHelper elementStateHelper;
+    private final BusyIndicatorHelper busyIndicators;
+    private final long elementTimeout;
+    private final Printer log = new Printer(ActionPlanHelper.class);
+
+    /**
+     * Scrolls each given element to the vertical center of the viewport, in order.
+     */
+    private static final String CENTER_SCRIPT =
+            "var viewPortHeight = Math.max(document.documentElement.clientHeight, window.innerHeight || 0);" +
+            "arguments[0].forEach(function (element) {" +
+            "    window.scrollBy(0, element.getBoundingClientRect().top - (viewPortHeight / 2));" +
+            "});";
+
+    /**
+     * Constructs an ActionPlanHelper with the required WebDriver dependencies.
+     *
+     * @param driver             the RemoteWebDriver instance
+     * @param elementStateHelper the helper used to capture element snapshots for verifications
+     * @param elementTimeout     maximum time in milliseconds to poll snapshot verifications
+     */
+    public ActionPlanHelper(RemoteWebDriver driver, ElementStateHelper elementStateHelper, long elementTimeout) {
+        this(
+                driver,
+                new FluentWait<>(driver)
+                        .withTimeout(Duration.ofMillis(elementTimeout))
+                        .pollingEvery(Duration.ofMillis(500))
+                        .ignoring(WebDriverException.class),
+                elementStateHelper,
+                new BusyIndicatorHelper(driver, List.of(), elementTimeout),
+                elementTimeout
+        );
+    }
+
+    /**
+     * Constructs an ActionPlanHelper that waits for elements and busy indicators before performing actions.
+     *
+     * @param driver             the RemoteWebDriver instance
+     * @param wait               the FluentWait instance used for element waits
+     * @param elementStateHelper the helper used to capture element snapshots for verifications
+     * @param busyIndicators     the busy indicator gate
+     * @param elementTimeout     maximum time in milliseconds to retry actions and poll snapshot verifications
+     */
+    public ActionPlanHelper(
+            RemoteWebDriver driver,
+            FluentWait<RemoteWebDriver> wait,
+            ElementStateHelper elementStateHelper,
+            BusyIndicatorHelper busyIndicators,
+            long elementTimeout) {
+        this.driver = driver;
+        this.wait = wait;
+        this.elementStateHelper = elementStateHelper;
+        this.busyIndicators = busyIndicators;
+        this.elementTimeout = elementTimeout;
+    }
+
+    /**
+     * Executes the segments of the given plan in order.
+     *
+     * @param plan     the compiled plan
+     * @param pageName specified page instance name
+     * @throws PickleibVerificationException if any snapshot verification fails, listing every failing element
+     */
+    public void executePlan(ActionPlan plan, String pageName) {
+        log.info("Executing action plan on " + highlighted(BLUE, pageName) + highlighted(GRAY, "\n" + plan.describe()));
+        for (ActionPlan.Segment segment : plan.segments()) {
+            switch (segment.type()) {
+                case actions -> performActions(segment.bundles(), pageName);
+                case script -> driver.executeScript(CENTER_SCRIPT, segment.bundles().stream().map(ElementBundle::element).toList());
+                case snapshot -> verifyBySnapshot(segment.bundles(), pageName);
+            }
+        }
+        log.success("Action plan was executed on " + pageName + ", saving ~" + plan.commandsSaved() + " commands.");
+    }
+
+    /**
+     * Performs click and fill steps as a single W3C Actions sequence, with the guarantees of the per-step dispatch:
+     * busy indicators are awaited, clicked elements are waited for to be clickable and filled ones to be visible, the
+     * sequence is retried on transient failures, and filled values are verified from one snapshot afterwards.
+     * Each element is scrolled into view with a wheel action, as pointer moves require in-viewport targets. Fills
+     * focus the element with a click, select and delete the existing value, then type the input text, so a retried
+     * sequence leaves the same values.
+     *
+     * @param bundles  click and fill steps
+     * @param pageName specified page instance name
+     * @throws PickleibVerificationException if any filled value does not match its input, listing every failing element
+     */
+    private void performActions(List<ElementBundle<Map<String, String>>> bundles, String pageName) {
+        busyIndicators.awaitIdle();
+        Actions actions = new Actions(driver);
+        Keys selectAllModifier = isMac() ? Keys.COMMAND : Keys.CONTROL;
+        List<ElementBundle<Map<String, String>>> fills = new ArrayList<>();
+        for (ElementBundle<Map<String, String>> bundle : bundles) {
+            WebElement element = bundle.element();
+            if (interactionTypeOf(bundle) == click) {
+                wait.until(ExpectedConditions.elementToBeClickable(element));
+                actions.scrollToElement(element).moveToElement(element).click();
+                log.info("Clicking " + highlighted(BLUE, bundle.elementName()) + highlighted(GRAY, " on ") + highlighted(BLUE, pageName));
+                continue;
+            }
+            wait.until(ExpectedConditions.visibilityOf(element));
+            String inputText = contextCheck(bundle.data().get("Input"));
+            log.info("Filling " +
+                    highlighted(BLUE, bundle.elementName()) +
+                    highlighted(GRAY, " on the ") +
+                    highlighted(BLUE, pageName) +
+                    highlighted(GRAY, " with the text: ") +
+                    highlighted(BLUE, inputText)
+            );
+            actions.scrollToElement(element).moveToElement(element).click()
+                    .keyDown(selectAllModifier).sendKeys("a").keyUp(selectAllModifier)
+                    .sendKeys(Keys.BACK_SPACE)
+                    .sendKeys(inputText);
+            fills.add(new ElementBundle<>(element, bundle.elementName(), bundle.platform(), Map.of(
+                    "Attribute Name", "value",
+                    "Attribute Value", bundle.data().get("Input")
+            )));
+        }
+        RetryPolicy.execute(() -> actions.perform(), elementTimeout);
+        if (!fills.isEmpty()) verifyBySnapshot(fills, pageName);
+    }
+
+    /**
+     * Verifies the attribute value of every given element from snapshots of the whole group, polling until all of
+     * them match or the element timeout elapses. Attributes are read the way {@link WebElement#getAttribute(String)}
+     * reads them, preferring the live property of the element over its markup attribute.
+     *
+     * @param bundles  verify steps
+     * @param pageName specified page instance name
+     * @throws PickleibVerificationException if any attribute does not match, listing every failing element
+     */
+    private void verifyBySnapshot(List<ElementBundle<Map<String, String>>> bundles, String pageName) {
+        List<WebElement> elements = bundles.stream().map(ElementBundle::element).toList();
+        List<String> attributeNames = bundles.stream().map(bundle -> bundle.data().get("Attribute Name")).distinct().toList();
+        StringJoiner[] mismatches = {new StringJoiner(", ")};
+        boolean verified = RetryPolicy.pollUntil(() -> {
+            List<ElementSnapshot> snapshots = elementStateHelper.snapshot(elements, attributeNames, List.of());
+            mismatches[0] = new StringJoiner(", ");
+            for (int index = 0; index < bundles.size(); index++) {
+                ElementBundle<Map<String, String>> bundle = bundles.get(index);
+                String attributeName = bundle.data().get("Attribute Name");
+                String expectedValue = contextCheck(bundle.data().get("Attribute Value"));
+                String actualValue = snapshots.get(index).attribute(attributeName);
+                if (!Objects.equals(expectedValue, actualValue))
+                    mismatches[0].add(bundle.elementName() + " " + attributeName +
+                            " (expected '" + expectedValue + "' but got '" + actualValue + "')");
+            }
+            return mismatches[0].length() == 0;
+        }, elementTimeout);
+        if (!verified)
+            throw new PickleibVerificationException("Attributes could not be verified on " + pageName + ": " + mismatches[0]);
+        log.success("Attributes of " + bundles.size() + " elements were verified on " + pageName);
+    }
+
+    private boolean isMac() {
+        Capabilities capabilities = driver.getCapabilities();
+        return capabilities != null && capabilities.getPlatformName() != null && capabilities.getPlatformName().is(Platform.MAC);
+    }
+}
@@ -0,0 +1,359 @@
+package pickleib.utilities.helpers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.exceptions.PickleibException;
+import utils.Printer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Captures and restores the authenticated state of a browser session: cookies, local and session storage and,
+ * optionally, IndexedDB databases of the current origin.
+ * <p>
+ * Snapshots are named and kept either in memory (shared by every session of the JVM) or as JSON files in the
+ * snapshot directory (shared by parallel workers). Files are written atomically and every snapshot expires after the
+ * configured time to live, so a stale login is never restored.
+ * </p>
+ */
+public class BrowserStateHelper {
+
+    private static final Map<String, BrowserState> memory = new ConcurrentHashMap<>();
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private final RemoteWebDriver driver;
+    private final long ttl;
+    private final Path directory;
+    private final boolean includeIndexedDb;
+    private final Printer log = new Printer(BrowserStateHelper.class);
+
+    /**
+     * Resolves with the url, origin, local storage and session storage of the page and, if requested and supported,
+     * the stores, indexes and records of every IndexedDB database of the origin.
+     */
+    private static final String CAPTURE_SCRIPT =
+            "var includeIndexedDb = arguments[0], callback = arguments[arguments.length - 1];" +
+            "function dump(storage) {" +
+            "    var values = {};" +
+            "    for (var i = 0; i < storage.length; i++) values[storage.key(i)] = storage.getItem(storage.key(i));" +
+            "    return values;" +
+            "}" +
+            "var state = { url: location.href, origin: location.origin," +
+            "    localStorage: dump(localStorage), sessionStorage: dump(sessionStorage), indexedDb: [] };" +
+            "if (!includeIndexedDb || !window.indexedDB || !indexedDB.databases) return callback(state);" +
+            "function dumpDatabase(info) { return new Promise(function (resolve, reject) {" +
+            "    var request = indexedDB.open(info.name);" +
+            "    request.onerror = function () { reject(request.error); };" +
+            "    request.onsuccess = function () {" +
+            "        var db = request.result, names = Array.from(db.objectStoreNames), stores = [];" +
+            "        var result = { name: db.name, version: db.version, stores: stores };" +
+            "        if (names.length === 0) { db.close(); return resolve(result); }" +
+            "        var transaction = db.transaction(names, 'readonly');" +
+            "        names.forEach(function (name) {" +
+            "            var store = transaction.objectStore(name);" +
+            "            var dumped = { name: name, keyPath: store.keyPath, autoIncrement: store.autoIncrement, records: []," +
+            "                indexes: Array.from(store.indexNames).map(function (indexName) {" +
+            "                    var index = store.index(indexName);" +
+            "                    return { name: indexName, keyPath: index.keyPath, unique: index.unique, multiEntry: index.multiEntry };" +
+            "                }) };" +
+            "            stores.push(dumped);" +
+            "            store.openCursor().onsuccess = function (event) {" +
+            "                var cursor = event.target.result;" +
+            "                if (cursor) { dumped.records.push({ key: cursor.primaryKey, value: cursor.value }); cursor.continue(); }" +
+            "            };" +
+            "        });" +
+            "        transaction.oncomplete = function () { db.close(); resolve(result); };" +
+            "        transaction.onerror = function () { db.close(); reject(transaction.error); };" +
+            "    };" +
+            "}); }" +
+            "indexedDB.databases()" +
+            "    .then(function (infos) { return Promise.all(infos.map(dumpDatabase)); })" +
+            "    .then(function (databases) { state.indexedDb = databases; callback(state); }," +
+            "          function (error) { state.error = String(error); callback(state); });";
+
+    /**
+     * Replaces local and session storage with the given snapshot and recreates its IndexedDB databases.
+     * Resolves with {@code null}, or with the error message if a database could not be restored.
+     */
+    private static final String RESTORE_SCRIPT =
+            "var state = arguments[0], callback = arguments[arguments.length - 1];" +
+            "function load(storage, values) {" +
+            "    storage.clear();" +
+            "    Object.keys(values || {}).forEach(function (key) { storage.setItem(key, values[key]); });" +
+            "}" +
+            "load(localStorage, state.localStorage);" +
+            "load(sessionStorage, state.sessionStorage);" +
+            "var databases = state.indexedDb || [];" +
+            "if (databases.length === 0 || !window.indexedDB) return callback(null);" +
+            "function restoreDatabase(db) { return new Promise(function (resolve, reject) {" +
+            "    var deletion = indexedDB.deleteDatabase(db.name);" +
+            "    deletion.onerror = function () { reject(deletion.error); };" +
+            "    deletion.onsuccess = function () {" +
+            "        var request = indexedDB.open(db.name, db.version);" +
+            "        request.onerror = function () { reject(request.error); };" +
+            "        request.onupgradeneeded = function () {" +
+            "            db.stores.forEach(function (dumped) {" +
+            "                var store = request.result.createObjectStore(dumped.name," +
+            "                    { keyPath: dumped.keyPath, autoIncrement: dumped.autoIncrement });" +
+            "                (dumped.indexes || []).forEach(function (index) {" +
+            "                    store.createIndex(index.name, index.keyPath, { unique: index.unique, multiEntry: index.multiEntry });" +
+            "                });" +
+            "            });" +
+            "        };" +
+            "        request.onsuccess = function () {" +
+            "            var database = request.result, names = db.stores.map(function (dumped) { return dumped.name; });" +
+            "            if (names.length === 0) { database.close(); return resolve(); }" +
+            "            var transaction = database.transaction(names, 'readwrite');" +
+            "            db.stores.forEach(function (dumped) {" +
+            "                var store = transaction.objectStore(dumped.name);" +
+            "                (dumped.records || []).forEach(function (record) {" +
+            "                    if (dumped.keyPath != null) store.put(record.value); else store.put(record.value, record.key);" +
+            "                });" +
+            "            });" +
+            "            transaction.oncomplete = function () { database.close(); resolve(); };" +
+            "            transaction.onerror = function () { database.close(); reject(transaction.error); };" +
+            "        };" +
+            "    };" +
+            "}); }" +
+            "Promise.all(databases.map(restoreDatabase))" +
+            "    .then(function () { callback(null); }, function (error) { callback(String(error)); });";
+
+    /**
+     * A named snapshot of the browser state of an origin.
+     *
+     * @param name           the snapshot name
+     * @param url            the url the snapshot was captured on
+     * @param origin         the origin the storage belongs to
+     * @param capturedAt     capture time in epoch milliseconds
+     * @param cookies        the cookies visible to the driver, including http-only cookies
+     * @param localStorage   local storage entries
+     * @param sessionStorage session storage entries
+     * @param indexedDb      IndexedDB databases with their stores and records, empty unless captured
+     */
+    public record BrowserState(
+            String name,
+            String url,
+            String origin,
+            long capturedAt,
+            List<Map<String, Object>> cookies,
+            Map<String, String> localStorage,
+            Map<String, String> sessionStorage,
+            List<Object> indexedDb
+    ) {
+        /**
+         * @param ttl time to live in milliseconds, non-positive values never expire
+         * @return true if the snapshot is older than the given time to live
+         */
+        public boolean expired(long ttl) {
+            return ttl > 0 && System.currentTimeMillis() - capturedAt > ttl;
+        }
+    }
+
+    /**
+     * Constructs a BrowserStateHelper.
+     *
+     * @param driver           the RemoteWebDriver instance
+     * @param ttl              time to live of snapshots in milliseconds, non-positive values never expire
+     * @param directory        directory of the snapshot files
+     * @param includeIndexedDb whether IndexedDB databases are captured
+     */
+    public BrowserStateHelper(RemoteWebDriver driver, long ttl, String directory, boolean includeIndexedDb) {
+        this.driver = driver;
+        this.ttl = ttl;
+        this.directory = Path.of(directory);
+        this.includeIndexedDb = includeIndexedDb;
+    }
+
+    /**
+     * Captures the state of the current origin with one cookie read and one script, and stores it under the given name.
+     *
+     * @param name     the snapshot name
+     * @param inMemory if true the snapshot is kept in memory, otherwise it is written to the snapshot directory
+     * @return the captured snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public BrowserState capture(String name, boolean inMemory) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) cookies.add(cookieToMap(cookie));
+
+        Map<String, Object> page = (Map<String, Object>) driver.executeAsyncScript(CAPTURE_SCRIPT, includeIndexedDb);
+        if (page.get("error") != null)
+            log.warning("IndexedDB could not be captured: " + page.get("error"));
+
+        BrowserState state = new BrowserState(
+                name,
+                (String) page.get("url"),
+                (String) page.get("origin"),
+                System.currentTimeMillis(),
+                cookies,
+                (Map<String, String>) page.get("localStorage"),
+                (Map<String, String>) page.get("sessionStorage"),
+                (List<Object>) page.get("indexedDb")
+        );
+        if (inMemory) memory.put(name, state);
+        else write(state);
+        log.info("Captured " + highlighted(BLUE, String.valueOf(cookies.size())) + highlighted(GRAY, " cookies, ") +
+                highlighted(BLUE, String.valueOf(state.localStorage().size() + state.sessionStorage().size())) +
+                highlighted(GRAY, " storage entries and ") +
+                highlighted(BLUE, String.valueOf(state.indexedDb().size())) +
+                highlighted(GRAY, " databases of ") + highlighted(BLUE, state.origin())
+        );
+        return state;
+    }
+
+    /**
+     * Looks up an unexpired snapshot, in memory first and then in the snapshot directory.
+     *
+     * @param name the snapshot name
+     * @return the snapshot, or empty if it does not exist or has expired
+     */
+    public Optional<BrowserState> find(String name) {
+        BrowserState state = memory.get(name);
+        if (state == null) state = read(name);
+        if (state == null) return Optional.empty();
+        if (state.expired(ttl)) {
+            log.warning("Browser state " + name + " expired " + (System.currentTimeMillis() - state.capturedAt() - ttl) + "ms ago!");
+            memory.remove(name, state);
+            return Optional.empty();
+        }
+        return Optional.of(state);
+    }
+
+    /**
+     * Restores a snapshot into the current session. Navigates to the snapshot url if the browser is on another
+     * origin, sets all cookies, restores storage in a single script and reloads the page so the application picks up
+     * the restored state.
+     *
+     * @param name the snapshot name
+     * @return true if the snapshot was restored, false if it does not exist or has expired
+     */
+    public boolean restore(String name) {
+        Optional<BrowserState> snapshot = find(name);
+        if (snapshot.isEmpty()) return false;
+        BrowserState state = snapshot.get();
+
+        if (!state.origin().equals(originOf(driver.getCurrentUrl()))) driver.get(state.url());
+        setCookies(state.cookies());
+        Object error = driver.executeAsyncScript(RESTORE_SCRIPT, gson.fromJson(gson.toJson(state), Map.class));
+        if (error != null) throw new PickleibException("IndexedDB of browser state " + name + " could not be restored: " + error);
+        driver.navigate().refresh();
+        return true;
+    }
+
+    /**
+     * Removes a snapshot from memory and from the snapshot directory.
+     *
+     * @param name the snapshot name
+     */
+    public void invalidate(String name) {
+        memory.remove(name);
+        try {
+            Files.deleteIfExists(fileOf(name));
+        }
+        catch (IOException exception) {
+            throw new PickleibException("Browser state " + name + " could not be deleted: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Sets the given cookies with a single CDP command on Chromium drivers, or one WebDriver command per cookie otherwise.
+     * Expired cookies are skipped.
+     *
+     * @param cookies the cookies of a snapshot
+     */
+    private void setCookies(List<Map<String, Object>> cookies) {
+        long now = System.currentTimeMillis() / 1000;
+        List<Map<String, Object>> live = cookies.stream()
+                .filter(cookie -> !(cookie.get("expiry") instanceof Number expiry) || expiry.longValue() > now)
+                .toList();
+        if (driver instanceof HasCdp cdp) {
+            List<Map<String, Object>> parameters = new ArrayList<>();
+            for (Map<String, Object> cookie : live) {
+                Map<String, Object> parameter = new HashMap<>(cookie);
+                Object expiry = parameter.remove("expiry");
+                if (expiry instanceof Number seconds) parameter.put("expires", seconds.longValue());
+                parameters.add(parameter);
+            }
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", parameters));
+            return;
+        }
+        for (Map<String, Object> cookie : live) driver.manage().addCookie(mapToCookie(cookie));
+    }
+
+    private static Map<String, Object> cookieToMap(Cookie cookie) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("domain", cookie.getDomain());
+        map.put("path", cookie.getPath());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getSameSite() != null) map.put("sameSite", cookie.getSameSite());
+        if (cookie.getExpiry() != null) map.put("expiry", cookie.getExpiry().getTime() / 1000);
+        return map;
+    }
+
+    private static Cookie mapToCookie(Map<String, Object> map) {
+        Cookie.Builder builder = new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+                .domain((String) map.get("domain"))
+                .path((String) map.get("path"))
+                .isSecure(Boolean.TRUE.equals(map.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")));
+        if (map.get("sameSite") != null) builder.sameSite((String) map.get("sameSite"));
+        if (map.get("expiry") instanceof Number expiry) builder.expiresOn(new Date(expiry.longValue() * 1000));
+        return builder.build();
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) return url;
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        }
+        catch (IllegalArgumentException exception) {
+            return url;
+        }
+    }
+
+    private Path fileOf(String name) {
+        return directory.resolve(name + ".json");
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and moves it in place, so parallel workers never read a partial file.
+     */
+    private void write(BrowserState state) {
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, state.name(), ".tmp");
+            Files.writeString(temporary, gson.toJson(state));
+            Files.move(temporary, fileOf(state.name()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            throw new PickleibException("Browser state " + state.name() + " could not be saved: " + exception.getMessage());
+        }
+    }
+
+    private BrowserState read(String name) {
+        Path file = fileOf(name);
+        if (!Files.exists(file)) return null;
+        try {
+            return gson.fromJson(Files.readString(file), BrowserState.class);
+        }
+        catch (IOException exception) {
+            throw new PickleibException("Browser state " + name + " could not be read: " + exception.getMessage());
+        }
+    }
+}
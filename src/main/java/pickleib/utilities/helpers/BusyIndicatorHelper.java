@@ -0,0 +1,169 @@
+package pickleib.utilities.helpers;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.Printer;
+
+import java.util.*;
+
+import static pickleib.utilities.DriverInspector.isAppiumDriver;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Gates interactions and verifications on global busy indicators such as loading spinners and overlays.
+ * <p>
+ * Indicators are css selectors configured through the {@code busy-indicators} property or the top level
+ * {@code "busyIndicators"} array of {@code page-repository.json}. Repository indicators are registered per repository
+ * instance and dropped when the repository is unregistered or discarded. Before acting, all of them are probed with a single
+ * script; while any is visible the script waits on DOM mutations and transition/animation ends instead of polling.
+ * Without configured indicators, or on Appium drivers, the gate costs nothing.
+ * </p>
+ */
+public class BusyIndicatorHelper {
+
+    /**
+     * Selectors registered by page repositories, keyed weakly by the repository that declared them.
+     */
+    private static final Map<Object, List<String>> registeredSelectors = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final RemoteWebDriver driver;
+    private final List<String> selectors;
+    private final long timeout;
+    private final Printer log = new Printer(BusyIndicatorHelper.class);
+
+    /**
+     * Resolves immediately if no indicator is visible, otherwise once none is visible or the timeout elapses.
+     * Indicators containing, or contained by, the target element are ignored so that the indicators themselves can be
+     * verified. Resolves with the selectors still busy and the time waited.
+     */
+    private static final String AWAIT_IDLE_SCRIPT =
+            "var selectors = arguments[0], target = arguments[1], timeout = arguments[2];" +
+            "var callback = arguments[arguments.length - 1], start = Date.now();" +
+            "function visible(node) {" +
+            "    if (target && (node === target || node.contains(target) || target.contains(node))) return false;" +
+            "    if (node.getClientRects().length === 0) return false;" +
+            "    var style = getComputedStyle(node);" +
+            "    return style.visibility !== 'hidden' && style.opacity !== '0';" +
+            "}" +
+            "function busy() {" +
+            "    return selectors.filter(function (selector) {" +
+            "        try { return Array.prototype.some.call(document.querySelectorAll(selector), visible); }" +
+            "        catch (error) { return false; }" +
+            "    });" +
+            "}" +
+            "var active = busy();" +
+            "if (active.length === 0) return callback({ busy: active, waited: 0 });" +
+            "var scheduled = false, timer;" +
+            "function check() { scheduled = false; if (busy().length === 0) finish(); }" +
+            "function schedule() { if (!scheduled) { scheduled = true; setTimeout(check, 0); } }" +
+            "var observer = new MutationObserver(schedule);" +
+            "function finish() {" +
+            "    observer.disconnect();" +
+            "    clearTimeout(timer);" +
+            "    ['transitionend', 'animationend'].forEach(function (type) { document.removeEventListener(type, schedule, true); });" +
+            "    callback({ busy: busy(), waited: Date.now() - start });" +
+            "}" +
+            "observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true });" +
+            "['transitionend', 'animationend'].forEach(function (type) { document.addEventListener(type, schedule, true); });" +
+            "timer = setTimeout(finish, timeout);";
+
+    /**
+     * Constructs a BusyIndicatorHelper.
+     *
+     * @param driver    the RemoteWebDriver instance
+     * @param selectors css selectors of busy indicators, in addition to the ones registered from the page repository
+     * @param timeout   maximum time in milliseconds to wait for busy indicators to disappear
+     */
+    public BusyIndicatorHelper(RemoteWebDriver driver, List<String> selectors, long timeout) {
+        this.driver = driver;
+        this.selectors = selectors;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Registers the busy indicator selectors of a page repository, e.g. from {@code page-repository.json}, replacing
+     * the ones it registered before. They gate every interaction until the repository is unregistered or discarded.
+     *
+     * @param source    the repository declaring the selectors
+     * @param selectors css selectors of busy indicators
+     */
+    public static void register(Object source, Collection<String> selectors) {
+        registeredSelectors.put(source, List.copyOf(selectors));
+    }
+
+    /**
+     * Drops the busy indicator selectors registered by a page repository, e.g. when it is replaced.
+     *
+     * @param source the repository that registered the selectors
+     */
+    public static void unregister(Object source) {
+        if (source != null) registeredSelectors.remove(source);
+    }
+
+    /**
+     * Parses a comma separated list of css selectors.
+     *
+     * @param selectors comma separated selectors, may be empty
+     * @return the trimmed, non-empty selectors
+     */
+    public static List<String> parse(String selectors) {
+        if (selectors == null || selectors.isBlank()) return List.of();
+        return Arrays.stream(selectors.split(",")).map(String::trim).filter(selector -> !selector.isEmpty()).toList();
+    }
+
+    /**
+     * @return the configured and registered busy indicator selectors
+     */
+    public List<String> selectors() {
+        Set<String> all = new LinkedHashSet<>(selectors);
+        synchronized (registeredSelectors) {
+            registeredSelectors.values().forEach(all::addAll);
+        }
+        return new ArrayList<>(all);
+    }
+
+    /**
+     * Waits until no busy indicator is visible. Never fails: if indicators remain after the timeout, or the page
+     * cannot be probed, the caller proceeds and reports its own outcome.
+     */
+    public void awaitIdle() {
+        awaitIdle(null);
+    }
+
+    /**
+     * Waits until no busy indicator is visible, ignoring indicators related to the given element. If the element
+     * cannot be located yet, indicators are awaited without it.
+     *
+     * @param target the element about to be acted on or verified, or null
+     */
+    @SuppressWarnings("unchecked")
+    public void awaitIdle(WebElement target) {
+        if (driver == null || isAppiumDriver(driver)) return;
+        List<String> active = selectors();
+        if (active.isEmpty()) return;
+        try {
+            Map<String, Object> result;
+            try {
+                result = (Map<String, Object>) driver.executeAsyncScript(AWAIT_IDLE_SCRIPT, active, target, timeout);
+            }
+            catch (NoSuchElementException | StaleElementReferenceException exception) {
+                // The target cannot be sent to the page, e.g. a lazy proxy of an element rendered once the indicators are gone
+                result = (Map<String, Object>) driver.executeAsyncScript(AWAIT_IDLE_SCRIPT, active, null, timeout);
+            }
+            if (result == null) return;
+            List<Object> busy = (List<Object>) result.get("busy");
+            long waited = ((Number) result.get("waited")).longValue();
+            if (!busy.isEmpty())
+                log.warning("Busy indicators " + busy + " are still visible after " + waited + "ms!");
+            else if (waited > 0)
+                log.info("Waited " + highlighted(BLUE, waited + "ms") + highlighted(GRAY, " for busy indicators to disappear"));
+        }
+        catch (WebDriverException exception) {
+            log.warning("Busy indicators could not be probed: " + exception.getMessage());
+        }
+    }
+}
@@ -10,6 +10,8 @@ import pickleib.utilities.RetryPolicy;
 import pickleib.utilities.interfaces.functions.ScrollFunction;
 import utils.Printer;
 
+import java.util.List;
+
 /**
  * Encapsulates all click-related interactions with WebElements.
  * Uses {@link RetryPolicy} for automatic retries on transient WebDriver failures.
@@ -20,6 +22,7 @@ public class ClickHelper {
     private final FluentWait<RemoteWebDriver> wait;
     private final ScrollFunction scroller;
     private final long elementTimeout;
+    private final BusyIndicatorHelper busyIndicators;
     private final Printer log = new Printer(ClickHelper.class);
 
     /**
@@ -31,10 +34,29 @@ public class ClickHelper {
      * @param elementTimeout maximum time in milliseconds to wait for element interactions
      */
     public ClickHelper(RemoteWebDriver driver, FluentWait<RemoteWebDriver> wait, ScrollFunction scroller, long elementTimeout) {
+        this(driver, wait, scroller, elementTimeout, new BusyIndicatorHelper(driver, List.of(), elementTimeout));
+    }
+
+    /**
+     * Constructs a ClickHelper that waits for busy indicators to disappear before clicking.
+     *
+     * @param driver         the RemoteWebDriver instance
+     * @param wait           the FluentWait instance used for element waits
+     * @param scroller       the scroll function used to scroll to elements
+     * @param elementTimeout maximum time in milliseconds to wait for element interactions
+     * @param busyIndicators the busy indicator gate
+     */
+    public ClickHelper(
+            RemoteWebDriver driver,
+            FluentWait<RemoteWebDriver> wait,
+            ScrollFunction scroller,
+            long elementTimeout,
+            BusyIndicatorHelper busyIndicators) {
         this.driver = driver;
         this.wait = wait;
         this.scroller = scroller;
         this.elementTimeout = elementTimeout;
+        this.busyIndicators = busyIndicators;
     }
 
     /**
@@ -53,6 +75,7 @@ public class ClickHelper {
      * @param scroll  if true, scrolls to the element before clicking
      */
     public void clickElement(WebElement element, boolean scroll) {
+        busyIndicators.awaitIdle(element);
         RetryPolicy.execute(() -> {
             wait.until(ExpectedConditions.elementToBeClickable(element));
             if (scroll) scroller.scroll(element).click();
@@ -126,6 +149,7 @@ public class ClickHelper {
      * @param element the element to click towards
      */
     public void clickTowards(WebElement element) {
+        busyIndicators.awaitIdle(element);
         wait.until(ExpectedConditions.visibilityOf(element));
         Actions builder = new Actions(driver);
         builder.moveToElement(element, 0, 0).click().build().perform();
@@ -139,6 +163,7 @@ public class ClickHelper {
      * @param yOffset  vertical offset in pixels from the element's center
      */
     public void clickAtAnOffset(WebElement element, int xOffset, int yOffset) {
+        busyIndicators.awaitIdle(element);
         Actions builder = new Actions(driver);
         builder.moveToElement(element, xOffset, yOffset).click().build().perform();
     }
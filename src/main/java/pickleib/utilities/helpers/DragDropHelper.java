@@ -1,25 +1,122 @@
 package pickleib.utilities.helpers;
 
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.DragDropMode;
 import pickleib.utilities.Utilities;
+import utils.Printer;
+
+import static pickleib.utilities.DriverInspector.isAppiumDriver;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
 
 /**
  * Encapsulates drag-and-drop interactions with WebElements.
  * Provides methods for dragging to a target element or to a coordinate offset.
+ * <p>
+ * On web drivers, completion is detected in the page instead of sleeping: a listener armed before the drag resolves
+ * on the first {@code drop} or {@code dragend} event, or on the first DOM mutation of the drop area after the pointer
+ * is released. Each drag reports the time spent acting versus waiting.
+ * </p>
  */
 public class DragDropHelper {
 
     private final RemoteWebDriver driver;
+    private final long dropTimeout;
+    private final DragDropMode mode;
+    private final Printer log = new Printer(DragDropHelper.class);
 
     /**
-     * Constructs a DragDropHelper with the given WebDriver instance.
+     * Arms the completion listener on the drop area (the target element, or the parent of the dragged element for
+     * offset drags) and returns whether the dragged element is an HTML5 {@code draggable}.
+     */
+    private static final String ARM_SCRIPT =
+            "var source = arguments[0], area = arguments[1] || source.parentNode || document.body;" +
+            "var state = window.__pickleibDragDrop = { done: null, released: false, waiters: [] };" +
+            "var observer = new MutationObserver(function () { if (state.released) finish('mutation'); });" +
+            "function finish(signal) {" +
+            "    if (state.done) return;" +
+            "    state.done = signal;" +
+            "    observer.disconnect();" +
+            "    state.waiters.forEach(function (waiter) { waiter(signal); });" +
+            "}" +
+            "['mouseup', 'pointerup'].forEach(function (type) {" +
+            "    document.addEventListener(type, function () { state.released = true; }, { capture: true, once: true });" +
+            "});" +
+            "['drop', 'dragend'].forEach(function (type) {" +
+            "    document.addEventListener(type, function () { finish(type); }, { capture: true, once: true });" +
+            "});" +
+            "observer.observe(area, { childList: true, subtree: true, attributes: true, characterData: true });" +
+            "return source.draggable === true;";
+
+    /**
+     * Resolves with the completion signal of the armed listener, or with {@code null} after the given timeout.
+     */
+    private static final String AWAIT_SCRIPT =
+            "var timeout = arguments[0], callback = arguments[arguments.length - 1];" +
+            "var state = window.__pickleibDragDrop;" +
+            "if (!state) return callback('navigation');" +
+            "if (state.done) return callback(state.done);" +
+            "var timer = setTimeout(function () { callback(null); }, timeout);" +
+            "state.waiters.push(function (signal) { clearTimeout(timer); callback(signal); });";
+
+    /**
+     * Simulates an HTML5 drag from the source onto the target (or onto the element at the given offset from the
+     * source center) by dispatching {@code dragstart}, {@code dragenter}, {@code dragover}, {@code drop} and
+     * {@code dragend} with a shared {@code DataTransfer}. Returns the completion signal.
+     */
+    private static final String HTML5_DRAG_SCRIPT =
+            "var source = arguments[0], target = arguments[1];" +
+            "var box = source.getBoundingClientRect();" +
+            "var x = box.left + box.width / 2 + arguments[2], y = box.top + box.height / 2 + arguments[3];" +
+            "if (!target) target = document.elementFromPoint(x, y) || document.body;" +
+            "if (arguments[1]) { var targetBox = target.getBoundingClientRect();" +
+            "    x = targetBox.left + targetBox.width / 2; y = targetBox.top + targetBox.height / 2; }" +
+            "var dataTransfer = new DataTransfer();" +
+            "function fire(element, type) {" +
+            "    var event = new DragEvent(type, { bubbles: true, cancelable: true, composed: true," +
+            "        clientX: x, clientY: y, dataTransfer: dataTransfer });" +
+            "    return element.dispatchEvent(event);" +
+            "}" +
+            "fire(source, 'dragstart');" +
+            "fire(target, 'dragenter');" +
+            "var accepted = !fire(target, 'dragover');" +
+            "if (accepted) fire(target, 'drop');" +
+            "fire(source, 'dragend');" +
+            "return accepted ? 'drop' : 'dragend';";
+
+    /**
+     * Timing of a single drag-and-drop interaction.
+     *
+     * @param mode          how the drag was dispatched
+     * @param signal        the completion signal ({@code drop}, {@code dragend}, {@code mutation}), or {@code null} if none arrived
+     * @param actingMillis  time spent performing the drag
+     * @param waitingMillis time spent arming and awaiting completion
+     */
+    public record DragDropReport(DragDropMode mode, String signal, long actingMillis, long waitingMillis) {}
+
+    /**
+     * Constructs a DragDropHelper with the given WebDriver instance, using pointer actions and a 500 millisecond drop timeout.
      *
      * @param driver the RemoteWebDriver instance
      */
     public DragDropHelper(RemoteWebDriver driver) {
+        this(driver, 500, DragDropMode.actions);
+    }
+
+    /**
+     * Constructs a DragDropHelper with the given WebDriver instance and drag configuration.
+     *
+     * @param driver      the RemoteWebDriver instance
+     * @param dropTimeout maximum time in milliseconds to await a completion signal after the drag
+     * @param mode        how drags are dispatched on web drivers
+     */
+    public DragDropHelper(RemoteWebDriver driver, long dropTimeout, DragDropMode mode) {
         this.driver = driver;
+        this.dropTimeout = dropTimeout;
+        this.mode = mode;
     }
 
     /**
@@ -27,16 +124,17 @@ public class DragDropHelper {
      *
      * @param element             the element to drag
      * @param destinationElement  the target element to drop onto
+     * @return the timing report of the drag
      */
-    public void dragDropToAction(WebElement element, WebElement destinationElement) {
-        Actions action = new Actions(driver);
-        action.moveToElement(element)
+    public DragDropReport dragDropToAction(WebElement element, WebElement destinationElement) {
+        return drag(element, destinationElement, 0, 0, () -> new Actions(driver)
+                .moveToElement(element)
                 .clickAndHold(element)
                 .moveToElement(destinationElement)
                 .release()
                 .build()
-                .perform();
-        Utilities.waitFor(0.5);
+                .perform()
+        );
     }
 
     /**
@@ -45,15 +143,16 @@ public class DragDropHelper {
      * @param element  the element to drag
      * @param xOffset  horizontal offset in pixels
      * @param yOffset  vertical offset in pixels
+     * @return the timing report of the drag
      */
-    public void dragDropByAction(WebElement element, int xOffset, int yOffset) {
-        Actions action = new Actions(driver);
-        action.moveToElement(element)
+    public DragDropReport dragDropByAction(WebElement element, int xOffset, int yOffset) {
+        return drag(element, null, xOffset, yOffset, () -> new Actions(driver)
+                .moveToElement(element)
                 .clickAndHold(element)
                 .dragAndDropBy(element, xOffset, yOffset)
                 .build()
-                .perform();
-        Utilities.waitFor(0.5);
+                .perform()
+        );
     }
 
     /**
@@ -62,15 +161,85 @@ public class DragDropHelper {
      * @param element  the element to drag
      * @param xOffset  horizontal offset in pixels from the element's center
      * @param yOffset  vertical offset in pixels from the element's center
+     * @return the timing report of the drag
      */
-    public void dragDropAction(WebElement element, int xOffset, int yOffset) {
-        Actions action = new Actions(driver);
-        action.moveToElement(element)
+    public DragDropReport dragDropAction(WebElement element, int xOffset, int yOffset) {
+        return drag(element, null, xOffset, yOffset, () -> new Actions(driver)
+                .moveToElement(element)
                 .clickAndHold(element)
                 .moveToElement(element, xOffset, yOffset)
                 .release()
                 .build()
-                .perform();
-        Utilities.waitFor(0.5);
+                .perform()
+        );
+    }
+
+    /**
+     * Performs a drag and awaits its completion in the page.
+     * <p>
+     * Native Appium contexts cannot observe page events, so their drags keep a short settle delay after the gesture.
+     * </p>
+     *
+     * @param element            the element to drag
+     * @param destinationElement the target element, or {@code null} for offset drags
+     * @param xOffset            horizontal offset in pixels from the element's center, for offset drags
+     * @param yOffset            vertical offset in pixels from the element's center, for offset drags
+     * @param pointerDrag        the W3C Actions drag
+     * @return the timing report of the drag
+     */
+    private DragDropReport drag(WebElement element, WebElement destinationElement, int xOffset, int yOffset, Runnable pointerDrag) {
+        if (isAppiumDriver(driver)) {
+            long start = System.currentTimeMillis();
+            pointerDrag.run();
+            long acting = System.currentTimeMillis() - start;
+            Utilities.waitFor(0.5);
+            return report(new DragDropReport(DragDropMode.actions, null, acting, System.currentTimeMillis() - start - acting));
+        }
+
+        long waiting = 0;
+        boolean draggable = false;
+        if (mode != DragDropMode.html5) {
+            long armStart = System.currentTimeMillis();
+            draggable = Boolean.TRUE.equals(driver.executeScript(ARM_SCRIPT, element, destinationElement));
+            waiting = System.currentTimeMillis() - armStart;
+        }
+
+        if (mode == DragDropMode.html5 || (mode == DragDropMode.auto && draggable)) {
+            long start = System.currentTimeMillis();
+            Object signal = driver.executeScript(HTML5_DRAG_SCRIPT, element, destinationElement, xOffset, yOffset);
+            return report(new DragDropReport(DragDropMode.html5, (String) signal, System.currentTimeMillis() - start, waiting));
+        }
+
+        long start = System.currentTimeMillis();
+        pointerDrag.run();
+        long acting = System.currentTimeMillis() - start;
+
+        long awaitStart = System.currentTimeMillis();
+        String signal;
+        try {
+            signal = (String) driver.executeAsyncScript(AWAIT_SCRIPT, dropTimeout);
+        }
+        catch (WebDriverException exception) {
+            log.warning("Could not await the drop: " + exception.getClass().getSimpleName());
+            signal = null;
+        }
+        waiting += System.currentTimeMillis() - awaitStart;
+        return report(new DragDropReport(DragDropMode.actions, signal, acting, waiting));
+    }
+
+    /**
+     * Logs the timing of a drag.
+     *
+     * @param report the drag report
+     * @return the given report
+     */
+    private DragDropReport report(DragDropReport report) {
+        String message = "Drag and drop (" + report.mode().name() + ") " +
+                (report.signal() != null ? "completed on " + report.signal() : "finished without a completion signal") +
+                highlighted(GRAY, " acting: ") + highlighted(BLUE, report.actingMillis() + " ms") +
+                highlighted(GRAY, ", waiting: ") + highlighted(BLUE, report.waitingMillis() + " ms");
+        if (report.signal() == null && !isAppiumDriver(driver)) log.warning(message);
+        else log.info(message);
+        return report;
     }
 }
@@ -1,21 +1,31 @@
 package pickleib.utilities.helpers;
 
 import org.jetbrains.annotations.NotNull;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import pickleib.enums.ElementState;
 import pickleib.exceptions.PickleibException;
+import pickleib.exceptions.PickleibVerificationException;
 import pickleib.utilities.RetryPolicy;
 import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.ElementSnapshot;
 import utils.Printer;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.BooleanSupplier;
 
 import static pickleib.enums.ElementState.absent;
 import static pickleib.enums.ElementState.displayed;
+import static pickleib.utilities.DriverInspector.*;
 import static utils.StringUtilities.*;
 import static utils.StringUtilities.Color.*;
 
@@ -28,8 +38,58 @@ public class ElementStateHelper {
     private final RemoteWebDriver driver;
     private final long elementTimeout;
     private final long driverTimeout;
+    private final BusyIndicatorHelper busyIndicators;
     private final Printer log = new Printer(ElementStateHelper.class);
 
+    /**
+     * Captures text, value, the requested attributes and computed styles, state flags and the document relative
+     * bounding rect of every given element in a single call. Visibility follows {@code checkVisibility} where the
+     * browser supports it, and otherwise requires a rendered box that is not hidden by visibility or opacity.
+     * Attributes are read the way Selenium's {@code getAttribute} reads them: boolean attributes yield
+     * {@code "true"} or null, and a primitive property such as a typed {@code value} or {@code checked} wins over
+     * the markup attribute.
+     */
+    private static final String SNAPSHOT_SCRIPT =
+            "var attributeNames = arguments[1], styleNames = arguments[2];" +
+            "var booleans = ['allowfullscreen', 'async', 'autofocus', 'autoplay', 'checked', 'compact', 'complete'," +
+            "    'controls', 'declare', 'default', 'defaultchecked', 'defaultselected', 'defer', 'disabled', 'ended'," +
+            "    'formnovalidate', 'hidden', 'indeterminate', 'iscontenteditable', 'ismap', 'itemscope', 'loop'," +
+            "    'multiple', 'muted', 'nohref', 'noresize', 'noshade', 'novalidate', 'nowrap', 'open', 'paused'," +
+            "    'pubdate', 'readonly', 'required', 'reversed', 'scoped', 'seamless', 'seeking', 'selected'," +
+            "    'truespeed', 'willvalidate'];" +
+            "function readAttribute(element, name) {" +
+            "    var lower = name.toLowerCase();" +
+            "    if (lower === 'style') return element.style.cssText;" +
+            "    if (booleans.indexOf(lower) >= 0)" +
+            "        return element[name] === true || element.hasAttribute(name) ? 'true' : null;" +
+            "    var property = lower === 'class' ? element.className : element[name];" +
+            "    if (property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function')" +
+            "        return String(property);" +
+            "    return element.getAttribute(name);" +
+            "}" +
+            "return arguments[0].map(function (element) {" +
+            "    var style = window.getComputedStyle(element), box = element.getBoundingClientRect();" +
+            "    var attributes = {}, styles = {};" +
+            "    attributeNames.forEach(function (name) { attributes[name] = readAttribute(element, name); });" +
+            "    styleNames.forEach(function (name) { styles[name] = style.getPropertyValue(name); });" +
+            "    var displayed = typeof element.checkVisibility === 'function' ?" +
+            "        element.checkVisibility({ visibilityProperty: true, opacityProperty: true }) :" +
+            "        element.getClientRects().length > 0 && style.visibility !== 'hidden' && style.opacity !== '0';" +
+            "    return {" +
+            "        text: (element.innerText === undefined ? element.textContent : element.innerText).trim()," +
+            "        value: 'value' in element && element.value !== undefined ? String(element.value) : null," +
+            "        attributes: attributes," +
+            "        styles: styles," +
+            "        displayed: displayed," +
+            "        enabled: !(element.matches && element.matches(':disabled'))," +
+            "        selected: !!(element.checked || element.selected)," +
+            "        rect: {" +
+            "            x: Math.round(box.left + window.scrollX), y: Math.round(box.top + window.scrollY)," +
+            "            width: Math.round(box.width), height: Math.round(box.height)" +
+            "        }" +
+            "    };" +
+            "});";
+
     /**
      * Constructs an ElementStateHelper with the required WebDriver dependencies.
      *
@@ -38,9 +98,22 @@ public class ElementStateHelper {
      * @param driverTimeout  the default implicit wait timeout in seconds used to restore after polling
      */
     public ElementStateHelper(RemoteWebDriver driver, long elementTimeout, long driverTimeout) {
+        this(driver, elementTimeout, driverTimeout, new BusyIndicatorHelper(driver, List.of(), elementTimeout));
+    }
+
+    /**
+     * Constructs an ElementStateHelper that waits for busy indicators to disappear before verifying.
+     *
+     * @param driver         the RemoteWebDriver instance
+     * @param elementTimeout maximum time in milliseconds to poll for element state changes
+     * @param driverTimeout  the default implicit wait timeout in seconds used to restore after polling
+     * @param busyIndicators the busy indicator gate
+     */
+    public ElementStateHelper(RemoteWebDriver driver, long elementTimeout, long driverTimeout, BusyIndicatorHelper busyIndicators) {
         this.driver = driver;
         this.elementTimeout = elementTimeout;
         this.driverTimeout = driverTimeout;
+        this.busyIndicators = busyIndicators;
     }
 
     /**
@@ -51,6 +124,13 @@ public class ElementStateHelper {
      * @return returns true if an element is in the expected state
      */
     public Boolean elementIs(WebElement element, @NotNull ElementState state) {
+        if (state.equals(absent)) return withoutImplicitWait(() -> RetryPolicy.pollUntil(
+            () -> !element.isDisplayed(),
+            elementTimeout,
+            null,
+            null,
+            ElementStateHelper::isAbsence
+        ));
         return RetryPolicy.pollUntil(
             () -> checkElementState(element, state),
             elementTimeout,
@@ -60,6 +140,74 @@ public class ElementStateHelper {
         );
     }
 
+    /**
+     * Waits until the elements matching a locator are in expected state, looking them up with
+     * {@code findElements} under a zero implicit wait, so that absence is reported as soon as the element is gone.
+     * <p>
+     * {@code absent} holds when no matching element is displayed; stale matches count as absent.
+     * Any other state holds when the first matching element is in that state.
+     * </p>
+     *
+     * @param locator target locator
+     * @param state   expected state
+     * @return returns true if the located elements are in the expected state
+     */
+    public Boolean elementIs(By locator, @NotNull ElementState state) {
+        return withoutImplicitWait(() -> RetryPolicy.pollUntil(
+            () -> {
+                List<WebElement> elements = driver.findElements(locator);
+                if (state.equals(absent)) return elements.stream().noneMatch(this::isDisplayedNow);
+                return !elements.isEmpty() && checkElementState(elements.get(0), state);
+            },
+            elementTimeout,
+            null,
+            null,
+            ex -> state.equals(absent) && isAbsence(ex)
+        ));
+    }
+
+    /**
+     * Verifies the elements matching a locator are in expected state.
+     *
+     * @param locator target locator
+     * @param state   expected state
+     * @throws PickleibException if the located elements are not in the expected state
+     */
+    public void verifyElementState(By locator, ElementState state) {
+        if (!state.equals(absent)) busyIndicators.awaitIdle();
+        if (!elementIs(locator, state)) throw new PickleibException("Element is not in " + state.name() + " state!");
+        log.success("Element state is verified to be: " + state.name());
+    }
+
+    /**
+     * Runs a check with the implicit wait disabled, restoring the driver timeout afterward.
+     *
+     * @param check the check to run
+     * @return the result of the check
+     */
+    private boolean withoutImplicitWait(BooleanSupplier check) {
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return check.getAsBoolean();
+        }
+        finally {
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(driverTimeout));
+        }
+    }
+
+    private boolean isDisplayedNow(WebElement element) {
+        try {
+            return element.isDisplayed();
+        }
+        catch (StaleElementReferenceException exception) {
+            return false;
+        }
+    }
+
+    private static boolean isAbsence(WebDriverException exception) {
+        return exception instanceof NoSuchElementException || exception instanceof StaleElementReferenceException;
+    }
+
     /**
      * Evaluates whether the given element satisfies the specified state without any retry logic.
      *
@@ -88,6 +236,7 @@ public class ElementStateHelper {
      * @return returns the element if it is in expected state
      */
     public WebElement verifyElementState(WebElement element, ElementState state) {
+        if (!state.equals(absent)) busyIndicators.awaitIdle(element);
         if (!elementIs(element, state)) throw new PickleibException("Element is not in " + state.name() + " state!");
         log.success("Element state is verified to be: " + state.name());
         return element;
@@ -101,6 +250,7 @@ public class ElementStateHelper {
      */
     public void verifyElementText(WebElement element, String expectedText) {
         expectedText = contextCheck(expectedText);
+        busyIndicators.awaitIdle(element);
         if (!expectedText.equals(element.getText()))
             throw new PickleibException("Element text is not \"" + highlighted(BLUE, expectedText) + "\"!");
     }
@@ -122,6 +272,7 @@ public class ElementStateHelper {
                 highlighted(GRAY, " on ") +
                 highlighted(BLUE, pageName)
         );
+        busyIndicators.awaitIdle(element);
         elementIs(element, displayed);
         if (!element.getText().contains(expectedText))
             throw new PickleibException("Element text does not contain \"" + highlighted(BLUE, expectedText) + "\"!");
@@ -135,6 +286,7 @@ public class ElementStateHelper {
      * @param pageName specified page instance name
      */
     public void verifyListedElementText(List<ElementBundle<String>> bundles, String pageName) {
+        busyIndicators.awaitIdle();
         for (ElementBundle<String> bundle : bundles) {
             String elementName = bundle.elementName();
             String expectedText = contextCheck(bundle.data());
@@ -151,6 +303,102 @@ public class ElementStateHelper {
         }
     }
 
+    /**
+     * Captures a snapshot of the given element in a single call.
+     *
+     * @param element    target element
+     * @param attributes names of the attributes to capture
+     * @param styles     names of the computed css properties to capture
+     * @return the element snapshot
+     */
+    public ElementSnapshot snapshot(WebElement element, List<String> attributes, List<String> styles) {
+        return snapshot(List.of(element), attributes, styles).get(0);
+    }
+
+    /**
+     * Captures snapshots of all given elements in a single call.
+     * <p>
+     * Appium drivers cannot execute scripts on native elements, so their snapshots are assembled from individual
+     * commands and carry no computed styles.
+     * </p>
+     *
+     * @param elements   target elements
+     * @param attributes names of the attributes to capture
+     * @param styles     names of the computed css properties to capture
+     * @return the element snapshots, in element order
+     */
+    public List<ElementSnapshot> snapshot(List<WebElement> elements, List<String> attributes, List<String> styles) {
+        if (elements.isEmpty()) return List.of();
+        if (isAppiumDriver(driver)) return elements.stream().map(element -> nativeSnapshot(element, attributes)).toList();
+        return ElementSnapshot.fromScriptResults((List<?>) driver.executeScript(SNAPSHOT_SCRIPT, elements, attributes, styles));
+    }
+
+    /**
+     * Assembles a snapshot from individual element commands.
+     *
+     * @param element    target element
+     * @param attributes names of the attributes to capture
+     * @return the element snapshot
+     */
+    private ElementSnapshot nativeSnapshot(WebElement element, List<String> attributes) {
+        Map<String, String> attributeValues = new LinkedHashMap<>();
+        for (String attribute : attributes) attributeValues.put(attribute, element.getAttribute(attribute));
+        return new ElementSnapshot(
+                element.getText(),
+                element.getAttribute(getInputContentAttributeNameFor(getElementDriverPlatform(element))),
+                attributeValues,
+                Map.of(),
+                element.isDisplayed(),
+                element.isEnabled(),
+                element.isSelected(),
+                element.getRect()
+        );
+    }
+
+    /**
+     * Verifies the text of each element in a list of bundles from a single snapshot of the whole list,
+     * reporting every mismatching element at once.
+     *
+     * @param bundles  list of element bundles with expected text
+     * @param pageName specified page instance name
+     */
+    public void verifyListedElementTextBySnapshot(List<ElementBundle<String>> bundles, String pageName) {
+        log.info("Performing text verification for " +
+                highlighted(BLUE, String.valueOf(bundles.size())) +
+                highlighted(GRAY, " elements on the ") +
+                highlighted(BLUE, pageName)
+        );
+        busyIndicators.awaitIdle();
+        List<ElementSnapshot> snapshots = snapshot(bundles.stream().map(ElementBundle::element).toList(), List.of(), List.of());
+        StringJoiner mismatches = new StringJoiner(", ");
+        for (int index = 0; index < bundles.size(); index++) {
+            String expectedText = contextCheck(bundles.get(index).data());
+            String actualText = snapshots.get(index).text();
+            if (!expectedText.equals(actualText))
+                mismatches.add(bundles.get(index).elementName() + " (expected '" + expectedText + "' but got '" + actualText + "')");
+        }
+        if (mismatches.length() > 0)
+            throw new PickleibVerificationException("Text of the elements could not be verified: " + mismatches);
+        log.success("Text of the elements was verified!");
+    }
+
+    /**
+     * Waits until a given element is in expected state, polling with snapshots.
+     *
+     * @param element target element
+     * @param state   expected state
+     * @return returns true if an element is in the expected state
+     */
+    public Boolean elementIsBySnapshot(WebElement element, @NotNull ElementState state) {
+        return RetryPolicy.pollUntil(
+            () -> snapshot(element, List.of(), List.of()).is(state),
+            elementTimeout,
+            null,
+            null,
+            ex -> state.equals(absent) && ex instanceof StaleElementReferenceException
+        );
+    }
+
     /**
      * Verifies that a list of elements contains an element with the given text.
      *
@@ -0,0 +1,170 @@
+package pickleib.utilities.helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.Printer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Tracks the frame stack the driver is switched into, per session, so that consecutive operations in the same
+ * (nested) iframe stay inside it instead of switching in and back out around every single operation.
+ * <p>
+ * Frames are entered by locator path (e.g. the {@code "frame"} path of a {@code page-repository.json} element), or one
+ * level at a time by frame element. Only the levels that differ from the current stack are switched; the driver switches back to the
+ * top level document only when an operation needs it, or when the step ends and the driver of the current thread
+ * {@link #exit() exits} and {@link #forget() forgets} its stack. Stacks are keyed by session, so parallel scenarios
+ * never switch each other's sessions. Navigations and window switches reset the browsing context, so they must be
+ * reported through {@link #forget()}.
+ * </p>
+ */
+public class FrameContextHelper {
+
+    private static final Map<String, List<Frame>> contexts = new ConcurrentHashMap<>();
+
+    private final RemoteWebDriver driver;
+    private final Printer log = new Printer(FrameContextHelper.class);
+
+    /**
+     * A frame the driver is switched into.
+     *
+     * @param key     the locator or element the frame was entered by
+     * @param element the frame element, located in its parent frame
+     */
+    private record Frame(Object key, WebElement element) {}
+
+    /**
+     * Constructs a FrameContextHelper.
+     *
+     * @param driver the RemoteWebDriver instance
+     */
+    public FrameContextHelper(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Parses a frame path, each level being a css selector or an xpath (starting with {@code /} or {@code (}).
+     *
+     * @param selectors frame selectors from the outermost frame inwards
+     * @return the frame locators
+     */
+    public static List<By> parse(List<String> selectors) {
+        return selectors.stream()
+                .map(String::trim)
+                .map(selector -> selector.startsWith("/") || selector.startsWith("(") ? By.xpath(selector) : By.cssSelector(selector))
+                .toList();
+    }
+
+    /**
+     * Switches into the frame located by the given path, keeping the levels the driver is already in.
+     * An empty path switches to the top level document.
+     *
+     * @param path frame locators from the outermost frame inwards
+     */
+    public void enter(List<By> path) {
+        enterFrames(new ArrayList<Object>(path));
+    }
+
+    /**
+     * Switches into a frame located in the current frame, one level below the current stack. Operations that leave
+     * the frame again restore the previous context with {@link #exitTo(int)}.
+     *
+     * @param frame the frame element, located in the frame the driver is currently in
+     */
+    public void enterChild(WebElement frame) {
+        List<Frame> frames = frames();
+        driver.switchTo().frame(frame);
+        frames.add(new Frame(frame, frame));
+        log.info("Switched into frame " + highlighted(BLUE, describe(frames.stream().map(Frame::key).toList())));
+    }
+
+    /**
+     * Switches to the top level document, if the driver is in a frame.
+     */
+    public void exit() {
+        enter(List.of());
+    }
+
+    /**
+     * Switches back to the parent frames until the stack is at the given depth, e.g. the {@link #depth()} recorded
+     * before an {@link #enterChild(WebElement)}, leaving the frames the driver was in before untouched.
+     *
+     * @param depth the number of frames to stay in
+     */
+    public void exitTo(int depth) {
+        List<Frame> frames = frames();
+        while (frames.size() > depth) {
+            driver.switchTo().parentFrame();
+            frames.remove(frames.size() - 1);
+        }
+    }
+
+    /**
+     * @return the number of frames the driver is switched into
+     */
+    public int depth() {
+        return frames().size();
+    }
+
+    /**
+     * Clears the frame stack of the session without switching, after the driver left its frames on its own,
+     * e.g. by navigating or switching windows.
+     */
+    public void forget() {
+        if (driver != null && driver.getSessionId() != null) contexts.remove(driver.getSessionId().toString());
+    }
+
+    private void enterFrames(List<Object> keys) {
+        List<Frame> frames = frames();
+        int common = 0;
+        while (common < frames.size() && common < keys.size() && Objects.equals(frames.get(common).key(), keys.get(common)))
+            common++;
+        if (common == frames.size() && common == keys.size()) return;
+        try {
+            switchFrames(frames, keys, common);
+        }
+        catch (NoSuchFrameException | StaleElementReferenceException exception) {
+            log.warning("Frame context is stale, re-entering from the top level document: " + exception.getMessage());
+            driver.switchTo().defaultContent();
+            frames.clear();
+            switchFrames(frames, keys, 0);
+        }
+    }
+
+    private void switchFrames(List<Frame> frames, List<Object> keys, int common) {
+        if (common == 0 && !frames.isEmpty()) driver.switchTo().defaultContent();
+        else for (int level = frames.size(); level > common; level--) driver.switchTo().parentFrame();
+        frames.subList(common, frames.size()).clear();
+        for (Object key : keys.subList(common, keys.size())) {
+            WebElement frame = key instanceof By locator ? driver.findElement(locator) : (WebElement) key;
+            driver.switchTo().frame(frame);
+            frames.add(new Frame(key, frame));
+        }
+        if (!keys.isEmpty())
+            log.info("Switched into frame " + highlighted(BLUE, describe(keys)));
+    }
+
+    /**
+     * @return the frames of the session from the top level document down to the current frame
+     */
+    private List<Frame> frames() {
+        if (driver == null || driver.getSessionId() == null) return new ArrayList<>();
+        return contexts.computeIfAbsent(driver.getSessionId().toString(), session -> new ArrayList<>());
+    }
+
+    private static String describe(List<Object> keys) {
+        return String.join(highlighted(GRAY, " > "), keys.stream()
+                .map(key -> key instanceof By locator ? locator.toString() : "iframe")
+                .toList());
+    }
+}
@@ -2,18 +2,25 @@ package pickleib.utilities.helpers;
 
 import org.jetbrains.annotations.NotNull;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import pickleib.exceptions.PickleibException;
+import pickleib.exceptions.PickleibVerificationException;
 import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.FormFieldResult;
 import pickleib.utilities.interfaces.functions.ScrollFunction;
 import utils.Printer;
 import utils.StringUtilities;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.stream.Collectors;
 
 import static pickleib.utilities.DriverInspector.*;
 import static utils.StringUtilities.contextCheck;
@@ -29,8 +36,71 @@ public class InputHelper {
     private final FluentWait<RemoteWebDriver> wait;
     private final ScrollFunction scroller;
     private final long elementTimeout;
+    private final boolean fastFill;
+    private final BusyIndicatorHelper busyIndicators;
+    private final int pasteThreshold;
     private final Printer log = new Printer(InputHelper.class);
 
+    /**
+     * Declares {@code nativeFill(element, text, clear)}, which sets the value through the native {@code value}
+     * property setter of the element prototype, so that framework value trackers (React, Vue) register the
+     * change, then dispatches {@code input} and {@code change} events and returns the resulting value.
+     * Returns {@code null} for elements that are not text inputs or text areas.
+     */
+    private static final String NATIVE_FILL_FUNCTION =
+            "function nativeFill(element, text, clear) {" +
+            "    var prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype :" +
+            "        element instanceof HTMLInputElement ? HTMLInputElement.prototype : null;" +
+            "    if (prototype === null) return null;" +
+            "    var setter = Object.getOwnPropertyDescriptor(prototype, 'value').set;" +
+            "    element.focus();" +
+            "    setter.call(element, clear ? text : element.value + text);" +
+            "    element.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "    element.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "    return element.value;" +
+            "}";
+
+    /**
+     * Fills a single element through {@code nativeFill}.
+     */
+    private static final String NATIVE_FILL_SCRIPT = NATIVE_FILL_FUNCTION +
+            "return nativeFill(arguments[0], arguments[1], arguments[2]);";
+
+    /**
+     * Fills the given elements in order starting from the given index, blurring each one after its events so
+     * that blur bound validators run as they would when tabbing through the form. Stops at the first element
+     * that cannot be filled natively and returns its index, or returns the element count once all are filled.
+     */
+    private static final String FORM_FILL_SCRIPT = NATIVE_FILL_FUNCTION +
+            "var elements = arguments[0], texts = arguments[1], scroll = arguments[3];" +
+            "for (var i = arguments[2]; i < elements.length; i++) {" +
+            "    if (scroll && scroll[i]) elements[i].scrollIntoView({block: 'center', inline: 'center'});" +
+            "    if (nativeFill(elements[i], texts[i], true) === null) return i;" +
+            "    elements[i].blur();" +
+            "}" +
+            "return elements.length;";
+
+    /**
+     * Focuses the element and moves the caret to the end of its value, so inserted text is appended. Returns whether
+     * the element received the focus, looking through shadow roots; disabled, hidden or non-focusable elements do not.
+     */
+    private static final String FOCUS_END_SCRIPT =
+            "var element = arguments[0];" +
+            "element.focus();" +
+            "var active = document.activeElement;" +
+            "while (active && active.shadowRoot && active.shadowRoot.activeElement) active = active.shadowRoot.activeElement;" +
+            "if (active !== element) return false;" +
+            "try { element.setSelectionRange(element.value.length, element.value.length); } catch (error) {}" +
+            "return true;";
+
+    /**
+     * Reads the current value (or the text of non input elements) of every given element in one call.
+     */
+    private static final String READ_VALUES_SCRIPT =
+            "return arguments[0].map(function (element) {" +
+            "    return 'value' in element ? element.value : element.innerText;" +
+            "});";
+
     /**
      * Constructs an InputHelper with the required WebDriver dependencies.
      *
@@ -40,10 +110,68 @@ public class InputHelper {
      * @param elementTimeout maximum time in milliseconds to wait for element interactions
      */
     public InputHelper(RemoteWebDriver driver, FluentWait<RemoteWebDriver> wait, ScrollFunction scroller, long elementTimeout) {
+        this(driver, wait, scroller, elementTimeout, false);
+    }
+
+    /**
+     * Constructs an InputHelper with the required WebDriver dependencies and the fill mode.
+     *
+     * @param driver         the RemoteWebDriver instance
+     * @param wait           the FluentWait instance used for element waits
+     * @param scroller       the scroll function used to scroll to elements
+     * @param elementTimeout maximum time in milliseconds to wait for element interactions
+     * @param fastFill       if true, web inputs are filled through the native value setter instead of key events
+     */
+    public InputHelper(RemoteWebDriver driver, FluentWait<RemoteWebDriver> wait, ScrollFunction scroller, long elementTimeout, boolean fastFill) {
+        this(driver, wait, scroller, elementTimeout, fastFill, new BusyIndicatorHelper(driver, List.of(), elementTimeout));
+    }
+
+    /**
+     * Constructs an InputHelper that waits for busy indicators to disappear before filling.
+     *
+     * @param driver         the RemoteWebDriver instance
+     * @param wait           the FluentWait instance used for element waits
+     * @param scroller       the scroll function used to scroll to elements
+     * @param elementTimeout maximum time in milliseconds to wait for element interactions
+     * @param fastFill       if true, web inputs are filled through the native value setter instead of key events
+     * @param busyIndicators the busy indicator gate
+     */
+    public InputHelper(
+            RemoteWebDriver driver,
+            FluentWait<RemoteWebDriver> wait,
+            ScrollFunction scroller,
+            long elementTimeout,
+            boolean fastFill,
+            BusyIndicatorHelper busyIndicators) {
+        this(driver, wait, scroller, elementTimeout, fastFill, busyIndicators, 0);
+    }
+
+    /**
+     * Constructs an InputHelper that inserts long texts at once instead of typing them.
+     *
+     * @param driver         the RemoteWebDriver instance
+     * @param wait           the FluentWait instance used for element waits
+     * @param scroller       the scroll function used to scroll to elements
+     * @param elementTimeout maximum time in milliseconds to wait for element interactions
+     * @param fastFill       if true, web inputs are filled through the native value setter instead of key events
+     * @param busyIndicators the busy indicator gate
+     * @param pasteThreshold texts at least this long are inserted at once instead of typed key by key, 0 to disable
+     */
+    public InputHelper(
+            RemoteWebDriver driver,
+            FluentWait<RemoteWebDriver> wait,
+            ScrollFunction scroller,
+            long elementTimeout,
+            boolean fastFill,
+            BusyIndicatorHelper busyIndicators,
+            int pasteThreshold) {
         this.driver = driver;
         this.wait = wait;
         this.scroller = scroller;
         this.elementTimeout = elementTimeout;
+        this.fastFill = fastFill;
+        this.busyIndicators = busyIndicators;
+        this.pasteThreshold = pasteThreshold;
     }
 
     /**
@@ -58,16 +186,92 @@ public class InputHelper {
      * @throws PickleibException if verification fails (inputText does not match the value attribute of element).
      */
     public void fillAndVerify(WebElement element, String inputText, boolean scroll, boolean clear, boolean verify) {
+        if (fastFill && !isAppiumDriver(driver)) {
+            nativeFillAndVerify(element, inputText, scroll, clear, verify);
+            return;
+        }
+        busyIndicators.awaitIdle(element);
         wait.until(ExpectedConditions.visibilityOf(element));
         inputText = contextCheck(inputText);
         if (scroll) scroller.scroll(element);
         if (clear) clearInputField(element);
-        element.sendKeys(inputText);
+        typeText(element, inputText);
         String inputValue = element.getAttribute(getInputContentAttributeNameFor(getElementDriverPlatform(element)));
         if (verify && !inputText.equals(inputValue))
             throw new PickleibException("Input verification failed: expected '" + inputText + "' but got '" + inputValue + "'");
     }
 
+    /**
+     * Fills the specified web input by setting its value through the native property setter and
+     * dispatching {@code input}/{@code change} events, all in a single script call. The resulting value is
+     * returned by the same script, so verification costs no additional command.
+     * <p>
+     * Elements that are neither {@code input} nor {@code textarea} (e.g. content editables) fall back to
+     * the key event based {@code sendKeys} fill.
+     * </p>
+     *
+     * @param element   The WebElement representing the input field.
+     * @param inputText The text to be entered into the input field.
+     * @param scroll    If true, scrolls to the element before filling. If false, does not scroll.
+     * @param clear     If true, replaces the current value. If false, appends to it.
+     * @param verify    If true, verifies that the resulting value matches the entered text.
+     *
+     * @throws PickleibException if verification fails (inputText does not match the value of element).
+     */
+    public void nativeFillAndVerify(WebElement element, String inputText, boolean scroll, boolean clear, boolean verify) {
+        busyIndicators.awaitIdle(element);
+        wait.until(ExpectedConditions.visibilityOf(element));
+        inputText = contextCheck(inputText);
+        if (scroll) scroller.scroll(element);
+        Object inputValue = driver.executeScript(NATIVE_FILL_SCRIPT, element, inputText, clear);
+        if (inputValue == null) {
+            log.warning("Native fill is not supported by the element, falling back to key events.");
+            if (clear) clearInputField(element);
+            typeText(element, inputText);
+            inputValue = element.getAttribute("value");
+        }
+        if (verify && !inputText.equals(inputValue))
+            throw new PickleibException("Input verification failed: expected '" + inputText + "' but got '" + inputValue + "'");
+    }
+
+    /**
+     * Enters text into an element. Texts reaching the paste threshold are inserted in a single command, like a paste:
+     * through CDP {@code Input.insertText} on Chromium drivers, or through the native value setter on other web
+     * drivers. Shorter texts, Appium drivers (whose {@code sendKeys} already sets the whole value at once) and
+     * elements that do not accept inserted text are typed with key events.
+     *
+     * @param element target element
+     * @param text    text to enter, appended to the current value
+     */
+    private void typeText(WebElement element, String text) {
+        if (pasteThreshold > 0 && text.length() >= pasteThreshold && !isAppiumDriver(driver) && pasteText(element, text))
+            return;
+        element.sendKeys(text);
+    }
+
+    /**
+     * Inserts text into an element in a single command.
+     *
+     * @param element target element
+     * @param text    text to insert
+     * @return true if the text was inserted, false if key events should be used instead, e.g. because the element
+     * could not be focused and inserted text would land in another element
+     */
+    private boolean pasteText(WebElement element, String text) {
+        try {
+            if (driver instanceof HasCdp cdp) {
+                if (!Boolean.TRUE.equals(driver.executeScript(FOCUS_END_SCRIPT, element))) return false;
+                cdp.executeCdpCommand("Input.insertText", Map.of("text", text));
+                return true;
+            }
+            return driver.executeScript(NATIVE_FILL_SCRIPT, element, text, false) != null;
+        }
+        catch (WebDriverException exception) {
+            log.warning("Text could not be pasted, falling back to key events: " + exception.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Clears an input element by sending backspace characters for each existing character.
      *
@@ -186,20 +390,22 @@ public class InputHelper {
 
     /**
      * Fill form input on the given page.
+     * <p>
+     * When fast fill is enabled on a web driver, the form is filled through {@link #batchFillInputForm(List, String)},
+     * centering each web field in the viewport right before it is filled, as the key event fill does.
+     * </p>
      *
      * @param bundles  list of bundles where input element, input name and input texts are stored
      * @param pageName specified page instance name
      */
     public void fillInputForm(List<ElementBundle<String>> bundles, String pageName) {
+        if (fastFill && !isAppiumDriver(driver)) {
+            batchFillInputForm(bundles, pageName, bundles.stream().map(bundle -> !isPlatformElement(bundle.element())).toList());
+            return;
+        }
         for (ElementBundle<String> bundle : bundles) {
             String inputText = contextCheck(bundle.data());
-            log.info("Filling " +
-                    StringUtilities.highlighted(utils.StringUtilities.Color.BLUE, bundle.elementName()) +
-                    StringUtilities.highlighted(utils.StringUtilities.Color.GRAY, " on the ") +
-                    StringUtilities.highlighted(utils.StringUtilities.Color.BLUE, pageName) +
-                    StringUtilities.highlighted(utils.StringUtilities.Color.GRAY, " with the text: ") +
-                    StringUtilities.highlighted(utils.StringUtilities.Color.BLUE, inputText)
-            );
+            logFill(bundle.elementName(), pageName, inputText);
             firstLetterDeCapped(pageName);
             clearFillInput(
                     bundle.element(),
@@ -208,4 +414,130 @@ public class InputHelper {
             );
         }
     }
+
+    /**
+     * Fills the whole form on the given page, then reads every value back and reports the outcome per field
+     * instead of failing on the first mismatch.
+     * <p>
+     * On web drivers, all fields are filled in order by a single script call that sets each value through the
+     * native setter and dispatches {@code input}, {@code change} and {@code blur} events. Fields that cannot be
+     * filled natively (e.g. content editables) are filled with key events in their turn, after which the script
+     * resumes from the next field. All values are then read back with one more script call.
+     * On Appium drivers, fields are filled and read one by one.
+     * </p>
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @return the fill result of each field, in form order
+     */
+    public List<FormFieldResult> batchFillInputForm(List<ElementBundle<String>> bundles, String pageName) {
+        return batchFillInputForm(bundles, pageName, List.of());
+    }
+
+    /**
+     * Fills the whole form in one pass, scrolling the flagged fields into the center of the viewport before filling them.
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @param scroll   per field scroll flags, in form order; missing flags mean no scroll
+     * @return the fill result of each field, in form order
+     */
+    private List<FormFieldResult> batchFillInputForm(List<ElementBundle<String>> bundles, String pageName, List<Boolean> scroll) {
+        busyIndicators.awaitIdle();
+        List<WebElement> elements = new ArrayList<>();
+        List<String> inputTexts = new ArrayList<>();
+        for (ElementBundle<String> bundle : bundles) {
+            String inputText = contextCheck(bundle.data());
+            logFill(bundle.elementName(), pageName, inputText);
+            elements.add(bundle.element());
+            inputTexts.add(inputText);
+        }
+
+        List<String> values = new ArrayList<>();
+        if (isAppiumDriver(driver)) {
+            for (int index = 0; index < elements.size(); index++) {
+                WebElement element = elements.get(index);
+                fillAndVerify(element, inputTexts.get(index), index < scroll.size() && scroll.get(index), true, false);
+                values.add(element.getAttribute(getInputContentAttributeNameFor(getElementDriverPlatform(element))));
+            }
+        }
+        else if (!elements.isEmpty()) {
+            wait.until(ExpectedConditions.visibilityOf(elements.get(0)));
+            int index = 0;
+            while (index < elements.size()) {
+                index = ((Number) driver.executeScript(FORM_FILL_SCRIPT, elements, inputTexts, index, scroll)).intValue();
+                if (index < elements.size()) {
+                    log.warning("Native fill is not supported by " + bundles.get(index).elementName() + ", falling back to key events.");
+                    WebElement element = elements.get(index);
+                    scroller.scroll(element);
+                    clearInputField(element);
+                    typeText(element, inputTexts.get(index));
+                    index++;
+                }
+            }
+            for (Object value : (List<?>) driver.executeScript(READ_VALUES_SCRIPT, elements))
+                values.add(value == null ? null : value.toString());
+        }
+
+        List<FormFieldResult> results = new ArrayList<>();
+        for (int index = 0; index < bundles.size(); index++)
+            results.add(new FormFieldResult(bundles.get(index).elementName(), inputTexts.get(index), values.get(index)));
+        logFormResults(results, pageName);
+        return results;
+    }
+
+    /**
+     * Fills the whole form in batch, then fails with every mismatching field listed at once.
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @return the fill result of each field, in form order
+     * @throws PickleibVerificationException if any field does not hold its input text after the fill
+     */
+    public List<FormFieldResult> fillAndVerifyInputForm(List<ElementBundle<String>> bundles, String pageName) {
+        List<FormFieldResult> results = batchFillInputForm(bundles, pageName);
+        List<FormFieldResult> mismatches = results.stream().filter(result -> !result.matched()).toList();
+        if (!mismatches.isEmpty())
+            throw new PickleibVerificationException(
+                    mismatches.size() + " of " + results.size() + " fields could not be verified on " + pageName + ": " +
+                            mismatches.stream()
+                                    .map(result -> result.elementName() + " (expected '" + result.expected() + "' but got '" + result.actual() + "')")
+                                    .collect(Collectors.joining(", "))
+            );
+        return results;
+    }
+
+    /**
+     * Logs the fill results of a form as a table, one row per field.
+     *
+     * @param results  form field results
+     * @param pageName specified page instance name
+     */
+    private void logFormResults(List<FormFieldResult> results, String pageName) {
+        StringJoiner table = new StringJoiner("\n");
+        table.add("Form fill results on " + StringUtilities.highlighted(utils.StringUtilities.Color.BLUE, pageName) + ":");
+        for (FormFieldResult result : results)
+            table.add((result.matched() ? "  [ok]   " : "  [fail] ") + result.elementName() +
+                    " | expected: '" + result.expected() + "' | actual: '" + result.actual() + "'");
+        long mismatches = results.stream().filter(result -> !result.matched()).count();
+        if (mismatches == 0) log.info(table.toString());
+        else log.warning(table + "\n" + mismatches + " of " + results.size() + " fields do not match.");
+    }
+
+    /**
+     * Logs the fill of a single form field.
+     *
+     * @param elementName target element name
+     * @param pageName    specified page instance name
+     * @param inputText   input text
+     */
+    private void logFill(String elementName, String pageName, String inputText) {
+        log.info("Filling " +
+                StringUtilities.highlighted(utils.StringUtilities.Color.BLUE, elementName) +
+                StringUtilities.highlighted(utils.StringUtilities.Color.GRAY, " on the ") +
+                StringUtilities.highlighted(utils.StringUtilities.Color.BLUE, pageName) +
+                StringUtilities.highlighted(utils.StringUtilities.Color.GRAY, " with the text: ") +
+                StringUtilities.highlighted(utils.StringUtilities.Color.BLUE, inputText)
+        );
+    }
 }
@@ -0,0 +1,239 @@
+package pickleib.utilities.helpers;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import pickleib.enums.MobileScrollStrategy;
+import utils.Printer;
+
+import java.util.List;
+import java.util.Map;
+
+import static pickleib.utilities.DriverInspector.isAppiumDriver;
+import static pickleib.utilities.helpers.XPathHelper.literal;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Lets the device perform mobile scroll searches server side instead of swiping and looking up from the client.
+ * <p>
+ * On UiAutomator2, text searches run as a single {@code UiScrollable.scrollIntoView} lookup and page scrolls use
+ * {@code mobile: scrollGesture}, which also reports whether the end of the list is reached. On XCUITest, text
+ * searches use {@code mobile: scroll} with a predicate and page scrolls use {@code mobile: scroll} with a direction.
+ * Text searches in a given list are scoped to the innermost scrollable view containing its rows.
+ * Every method reports when it cannot help, so callers fall back to W3C swipes.
+ * </p>
+ */
+public class MobileScrollHelper {
+
+    private final RemoteWebDriver driver;
+    private final MobileScrollStrategy strategy;
+    private final int maxSwipes;
+    private final ViewportHelper viewportHelper;
+    private final Printer log = new Printer(MobileScrollHelper.class);
+
+    /** Automation backends with server side scrolling. */
+    private enum Backend {uiautomator2, xcuitest, none}
+
+    /**
+     * Constructs a MobileScrollHelper.
+     *
+     * @param driver         the RemoteWebDriver instance
+     * @param strategy       the scroll strategy
+     * @param maxSwipes      maximum number of swipes of a server side text search
+     * @param viewportHelper the viewport geometry of the session
+     */
+    public MobileScrollHelper(RemoteWebDriver driver, MobileScrollStrategy strategy, int maxSwipes, ViewportHelper viewportHelper) {
+        this.driver = driver;
+        this.strategy = strategy;
+        this.maxSwipes = maxSwipes;
+        this.viewportHelper = viewportHelper;
+    }
+
+    /**
+     * Scrolls the first scrollable view until an element with the given text is visible, in one server side command.
+     *
+     * @param text the exact text of the element
+     * @return the element, or null if the driver does not support server side searches or the text was not found
+     */
+    public WebElement scrollToText(String text) {
+        PageSourceSnapshotHelper.invalidate(driver);
+        try {
+            switch (backend()) {
+                case uiautomator2 -> {
+                    return driver.findElement(uiScrollable("new UiSelector().scrollable(true).instance(0)", text));
+                }
+                case xcuitest -> {
+                    String predicate = predicateFor(text);
+                    driver.executeScript("mobile: scroll", Map.of("predicateString", predicate, "toVisible", true));
+                    return driver.findElement(AppiumBy.iOSNsPredicateString(predicate));
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        catch (NoSuchElementException exception) {
+            log.warning("Server side scroll did not find " + highlighted(BLUE, text) + highlighted(GRAY, ", falling back to swipes"));
+            return null;
+        }
+        catch (WebDriverException exception) {
+            log.warning("Server side scroll failed, falling back to swipes: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scrolls the list containing the given row until an element with the given text is visible, in one server side
+     * command. The list is the innermost scrollable view of the screen containing an element with the identifying
+     * attribute of the row (its resource-id or text on UiAutomator2, its name or label on XCUITest), looked up from the
+     * driver since the servers do not resolve xpath axes relative to an element. On UiAutomator2 the list is addressed
+     * by its resource-id, on XCUITest by its element id. Lists without a resource-id on UiAutomator2 are left to swipes.
+     *
+     * @param text the exact text of the element
+     * @param row  an element of the list
+     * @return the element, or null if the list cannot be scrolled server side or the text was not found
+     */
+    public WebElement scrollToText(String text, WebElement row) {
+        PageSourceSnapshotHelper.invalidate(driver);
+        try {
+            switch (backend()) {
+                case uiautomator2 -> {
+                    WebElement list = listOf(row, "@scrollable='true'", "resource-id", "text");
+                    if (list == null) return null;
+                    String resourceId = list.getAttribute("resource-id");
+                    if (resourceId == null || resourceId.isBlank()) return null;
+                    return driver.findElement(uiScrollable("new UiSelector().resourceId(\"" + escapeJava(resourceId) + "\")", text));
+                }
+                case xcuitest -> {
+                    WebElement list = listOf(row, "self::XCUIElementTypeTable or self::XCUIElementTypeCollectionView or " +
+                            "self::XCUIElementTypeScrollView", "name", "label");
+                    if (!(list instanceof RemoteWebElement remoteList)) return null;
+                    String predicate = predicateFor(text);
+                    driver.executeScript("mobile: scroll", Map.of(
+                            "elementId", remoteList.getId(),
+                            "predicateString", predicate,
+                            "toVisible", true
+                    ));
+                    return list.findElement(AppiumBy.iOSNsPredicateString(predicate));
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        catch (NoSuchElementException exception) {
+            log.warning("Server side list scroll did not find " + highlighted(BLUE, text) + highlighted(GRAY, ", falling back to swipes"));
+            return null;
+        }
+        catch (WebDriverException exception) {
+            log.warning("Server side list scroll failed, falling back to swipes: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Looks up the innermost scrollable view containing an element with the first identifying attribute the row has.
+     *
+     * @param row        an element of the list
+     * @param scrollable an xpath predicate matching the scrollable views
+     * @param attributes the identifying attributes of the row, in order of preference
+     * @return the list, or null if the row has no identifying attribute or no scrollable view contains it
+     */
+    private WebElement listOf(WebElement row, String scrollable, String... attributes) {
+        for (String attribute : attributes) {
+            String value = row.getAttribute(attribute);
+            if (value == null || value.isBlank()) continue;
+            String xpath = "//*[" + scrollable + "][.//*[@" + attribute + "=" + literal(value) + "]]";
+            List<WebElement> lists = driver.findElements(By.xpath(xpath));
+            if (!lists.isEmpty()) return lists.get(lists.size() - 1);
+            log.warning("No scrollable list contains " + highlighted(BLUE, xpath) + highlighted(GRAY, ", falling back to swipes"));
+            return null;
+        }
+        log.warning("The list row has no " + highlighted(BLUE, String.join(" or ", attributes)) + highlighted(GRAY, " to find its list by, falling back to swipes"));
+        return null;
+    }
+
+    /**
+     * Scrolls the content one page down (bringing content from below into view) with a server side gesture.
+     *
+     * @return true if more content may follow, false if the end of the list is reached,
+     * or null if the driver does not support server side scrolling
+     */
+    public Boolean scrollPage() {
+        PageSourceSnapshotHelper.invalidate(driver);
+        try {
+            switch (backend()) {
+                case uiautomator2 -> {
+                    ViewportHelper.Viewport viewport = viewportHelper.viewport();
+                    Object canScrollMore = driver.executeScript("mobile: scrollGesture", Map.of(
+                            "left", viewport.left() + viewport.safeWidth() / 10,
+                            "top", viewport.top() + viewport.safeHeight() / 10,
+                            "width", viewport.safeWidth() * 8 / 10,
+                            "height", viewport.safeHeight() * 8 / 10,
+                            "direction", "down",
+                            "percent", 0.75
+                    ));
+                    return !Boolean.FALSE.equals(canScrollMore);
+                }
+                case xcuitest -> {
+                    driver.executeScript("mobile: scroll", Map.of("direction", "down"));
+                    return true;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        catch (WebDriverException exception) {
+            log.warning("Server side scroll failed, falling back to swipes: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param scrollable a UiSelector of the scrollable view
+     * @param text       the exact text of the element
+     * @return a locator scrolling the view until an element with the text is visible
+     */
+    private By uiScrollable(String scrollable, String text) {
+        return AppiumBy.androidUIAutomator(
+                "new UiScrollable(" + scrollable + ")" +
+                        ".setMaxSearchSwipes(" + maxSwipes + ")" +
+                        ".scrollIntoView(new UiSelector().text(\"" + escapeJava(text) + "\"))"
+        );
+    }
+
+    private Backend backend() {
+        if (strategy == MobileScrollStrategy.swipe || driver == null || !isAppiumDriver(driver)) return Backend.none;
+        Capabilities capabilities = driver.getCapabilities();
+        Object automationName = capabilities.getCapability("appium:automationName");
+        if (automationName == null) automationName = capabilities.getCapability("automationName");
+        String automation = automationName == null ? "" : automationName.toString();
+        Platform platform = capabilities.getPlatformName();
+        if (platform != null && platform.is(Platform.ANDROID) && automation.equalsIgnoreCase("UiAutomator2"))
+            return Backend.uiautomator2;
+        if (platform != null && platform.is(Platform.IOS) && automation.equalsIgnoreCase("XCUITest"))
+            return Backend.xcuitest;
+        return Backend.none;
+    }
+
+    /**
+     * @param text the exact text of an element
+     * @return an iOS predicate matching elements labelled, named or valued with the text
+     */
+    static String predicateFor(String text) {
+        String quoted = "'" + text.replace("\\", "\\\\").replace("'", "\\'") + "'";
+        return "label == " + quoted + " OR name == " + quoted + " OR value == " + quoted;
+    }
+
+    private static String escapeJava(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,255 @@
+package pickleib.utilities.helpers;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.Printer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Detects when a page has settled after a navigation: the document is loaded, no fetch or XHR request is in flight,
+ * no short timer (and optionally no animation frame) is pending, supported frameworks report they are stable, and
+ * the network has been quiet for the configured window.
+ * <p>
+ * A tracker script wraps {@code fetch}, {@code XMLHttpRequest}, {@code setTimeout} and {@code requestAnimationFrame}.
+ * On Chromium drivers it is registered through CDP so it runs before any page script; other drivers inject it on the
+ * first check and additionally treat newly completed resource timing entries as network activity.
+ * </p>
+ */
+public class PageSettleHelper {
+
+    private static final Set<String> trackedSessions = ConcurrentHashMap.newKeySet();
+    private static final Object metricsLock = new Object();
+    private static long waits;
+    private static long timeouts;
+    private static long totalMillis;
+    private static long maxMillis;
+
+    /**
+     * Requests in flight for longer than this many milliseconds no longer keep the page busy.
+     */
+    private static final long LONG_REQUEST_MILLIS = 5000;
+
+    private final RemoteWebDriver driver;
+    private final long timeout;
+    private final long quietWindow;
+    private final boolean trackAnimationFrames;
+    private final boolean frameworkHooks;
+    private final Printer log = new Printer(PageSettleHelper.class);
+
+    /**
+     * Installs the activity tracker once per document. Timers longer than a second are not tracked, so pollers and
+     * long timeouts do not keep the page busy; neither are recurring timers, i.e. a callback scheduled again after it
+     * has run, or any timer scheduled from within a timer callback. Requests are tracked with their start time so that
+     * long-polls and streams can be told apart from ordinary requests.
+     */
+    private static final String TRACKER_SCRIPT =
+            "(function () {" +
+            "    if (window.__pickleibSettle) return;" +
+            "    var state = window.__pickleibSettle = { requests: {}, timers: 0, frames: 0, lastActivity: Date.now()," +
+            "        setTimeout: window.setTimeout.bind(window) };" +
+            "    var nextRequest = 0;" +
+            "    function touch() { state.lastActivity = Date.now(); }" +
+            "    function begin() { var id = ++nextRequest; state.requests[id] = Date.now(); touch(); return id; }" +
+            "    function done(id) { delete state.requests[id]; touch(); }" +
+            "    if (window.fetch) {" +
+            "        var fetch = window.fetch;" +
+            "        window.fetch = function () {" +
+            "            var id = begin();" +
+            "            return fetch.apply(this, arguments).then(function (response) { done(id); return response; }," +
+            "                function (error) { done(id); throw error; });" +
+            "        };" +
+            "    }" +
+            "    var send = XMLHttpRequest.prototype.send;" +
+            "    XMLHttpRequest.prototype.send = function () {" +
+            "        var id = begin();" +
+            "        this.addEventListener('loadend', function () { done(id); }, { once: true });" +
+            "        return send.apply(this, arguments);" +
+            "    };" +
+            "    var setTimeout = window.setTimeout, clearTimeout = window.clearTimeout, timers = {};" +
+            "    var fired = new WeakSet(), inTimer = 0;" +
+            "    window.setTimeout = function (callback, delay) {" +
+            "        if (typeof callback !== 'function' || (delay || 0) > 1000) return setTimeout.apply(window, arguments);" +
+            "        var recurring = inTimer > 0 || fired.has(callback);" +
+            "        var args = Array.prototype.slice.call(arguments, 2), id;" +
+            "        id = setTimeout(function () {" +
+            "            if (timers[id]) { delete timers[id]; state.timers--; }" +
+            "            fired.add(callback); inTimer++;" +
+            "            try { return callback.apply(window, args); } finally { inTimer--; }" +
+            "        }, delay);" +
+            "        if (!recurring) { timers[id] = true; state.timers++; }" +
+            "        return id;" +
+            "    };" +
+            "    window.clearTimeout = function (id) {" +
+            "        if (timers[id]) { delete timers[id]; state.timers--; }" +
+            "        return clearTimeout.apply(window, arguments);" +
+            "    };" +
+            "    var requestFrame = window.requestAnimationFrame, cancelFrame = window.cancelAnimationFrame, frames = {};" +
+            "    if (requestFrame) {" +
+            "        window.requestAnimationFrame = function (callback) {" +
+            "            var id = requestFrame.call(window, function (time) {" +
+            "                if (frames[id]) { delete frames[id]; state.frames--; }" +
+            "                callback(time);" +
+            "            });" +
+            "            frames[id] = true; state.frames++;" +
+            "            return id;" +
+            "        };" +
+            "        window.cancelAnimationFrame = function (id) {" +
+            "            if (frames[id]) { delete frames[id]; state.frames--; }" +
+            "            return cancelFrame.call(window, id);" +
+            "        };" +
+            "    }" +
+            "})();";
+
+    /**
+     * Resolves once the page has settled, or after the timeout, with the elapsed time and the activity still pending.
+     * Requests in flight for longer than {@link #LONG_REQUEST_MILLIS} are taken for long-polls or streams and ignored.
+     */
+    private static final String SETTLE_SCRIPT = TRACKER_SCRIPT +
+            "var timeout = arguments[0], quietWindow = arguments[1], trackFrames = arguments[2], hooks = arguments[3];" +
+            "var callback = arguments[arguments.length - 1];" +
+            "var state = window.__pickleibSettle, start = Date.now();" +
+            "var resources = performance.getEntriesByType('resource').length;" +
+            "function activeRequests() {" +
+            "    var now = Date.now(), count = 0;" +
+            "    for (var id in state.requests) if (now - state.requests[id] < " + LONG_REQUEST_MILLIS + ") count++;" +
+            "    return count;" +
+            "}" +
+            "function frameworkIdle() {" +
+            "    if (!hooks) return true;" +
+            "    if (window.jQuery && window.jQuery.active > 0) return false;" +
+            "    if (window.getAllAngularTestabilities &&" +
+            "        !window.getAllAngularTestabilities().every(function (testability) { return testability.isStable(); })) return false;" +
+            "    if (typeof window.__pickleibIdle === 'function' && !window.__pickleibIdle()) return false;" +
+            "    return true;" +
+            "}" +
+            "function report(settled) {" +
+            "    callback({ settled: settled, elapsed: Date.now() - start," +
+            "        requests: activeRequests(), timers: state.timers, frames: state.frames });" +
+            "}" +
+            "(function check() {" +
+            "    var completed = performance.getEntriesByType('resource').length;" +
+            "    if (completed !== resources) { resources = completed; state.lastActivity = Date.now(); }" +
+            "    var idle = document.readyState === 'complete' && activeRequests() === 0 && state.timers === 0 &&" +
+            "        (!trackFrames || state.frames === 0) && frameworkIdle();" +
+            "    if (idle && Date.now() - state.lastActivity >= quietWindow) return report(true);" +
+            "    if (Date.now() - start >= timeout) return report(false);" +
+            "    state.setTimeout(check, 50);" +
+            "})();";
+
+    /**
+     * The outcome of a single settle wait.
+     *
+     * @param settled       true if the page settled before the timeout
+     * @param elapsedMillis time spent waiting
+     * @param requests      fetch/XHR requests still in flight
+     * @param timers        short timers still pending
+     * @param frames        animation frames still pending
+     */
+    public record SettleReport(boolean settled, long elapsedMillis, long requests, long timers, long frames) {}
+
+    /**
+     * Aggregated settle wait timings of the JVM.
+     *
+     * @param waits       number of settle waits
+     * @param timeouts    number of waits that reached the timeout
+     * @param totalMillis total time spent waiting
+     * @param maxMillis   longest single wait
+     */
+    public record SettleMetrics(long waits, long timeouts, long totalMillis, long maxMillis) {
+        /**
+         * @return the average wait in milliseconds
+         */
+        public long averageMillis() {
+            return waits == 0 ? 0 : totalMillis / waits;
+        }
+    }
+
+    /**
+     * Constructs a PageSettleHelper.
+     *
+     * @param driver               the RemoteWebDriver instance
+     * @param timeout              maximum time in milliseconds to wait for the page to settle
+     * @param quietWindow          time in milliseconds the page must stay idle to be considered settled
+     * @param trackAnimationFrames whether pending animation frames keep the page busy
+     * @param frameworkHooks       whether jQuery, Angular and {@code window.__pickleibIdle} idle hooks are consulted
+     */
+    public PageSettleHelper(RemoteWebDriver driver, long timeout, long quietWindow, boolean trackAnimationFrames, boolean frameworkHooks) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.quietWindow = quietWindow;
+        this.trackAnimationFrames = trackAnimationFrames;
+        this.frameworkHooks = frameworkHooks;
+    }
+
+    /**
+     * Registers the tracker to run before page scripts of every new document, once per Chromium session.
+     * Call before navigating so requests issued while the page loads are tracked.
+     */
+    public void prepare() {
+        if (!(driver instanceof HasCdp cdp) || driver.getSessionId() == null) return;
+        if (!trackedSessions.add(driver.getSessionId().toString())) return;
+        try {
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", TRACKER_SCRIPT));
+        }
+        catch (WebDriverException exception) {
+            log.warning("Page activity tracker could not be registered: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Waits for the page to settle. Never fails: a page that does not settle in time is logged and left as is.
+     *
+     * @return the outcome of the wait, or null if the page could not be inspected
+     */
+    @SuppressWarnings("unchecked")
+    public SettleReport awaitSettled() {
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) driver.executeAsyncScript(SETTLE_SCRIPT, timeout, quietWindow, trackAnimationFrames, frameworkHooks);
+        }
+        catch (WebDriverException exception) {
+            log.warning("Could not wait for the page to settle: " + exception.getMessage());
+            return null;
+        }
+        if (result == null) return null;
+        SettleReport report = new SettleReport(
+                Boolean.TRUE.equals(result.get("settled")),
+                ((Number) result.get("elapsed")).longValue(),
+                ((Number) result.get("requests")).longValue(),
+                ((Number) result.get("timers")).longValue(),
+                ((Number) result.get("frames")).longValue()
+        );
+        record(report);
+        if (report.settled())
+            log.info("Page settled in " + highlighted(BLUE, report.elapsedMillis() + "ms"));
+        else
+            log.warning("Page did not settle in " + timeout + "ms (" + report.requests() + " requests, " +
+                    report.timers() + " timers, " + report.frames() + " frames pending)");
+        return report;
+    }
+
+    /**
+     * @return the aggregated settle wait timings of the JVM
+     */
+    public static SettleMetrics metrics() {
+        synchronized (metricsLock) {
+            return new SettleMetrics(waits, timeouts, totalMillis, maxMillis);
+        }
+    }
+
+    private static void record(SettleReport report) {
+        synchronized (metricsLock) {
+            waits++;
+            if (!report.settled()) timeouts++;
+            totalMillis += report.elapsedMillis();
+            maxMillis = Math.max(maxMillis, report.elapsedMillis());
+        }
+    }
+}
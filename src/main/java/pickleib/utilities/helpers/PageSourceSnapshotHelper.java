@@ -0,0 +1,349 @@
+package pickleib.utilities.helpers;
+
+import context.ContextStore;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import pickleib.utilities.element.SnapshotElement;
+import utils.Printer;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static pickleib.utilities.helpers.XPathHelper.literal;
+import static utils.reflection.ReflectionUtilities.getField;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Resolves Appium locators against a local snapshot of the page source instead of the device.
+ * <p>
+ * Every XPath lookup makes the Appium server dump the whole UI hierarchy. With {@code page-source-snapshots}
+ * enabled, the hierarchy is fetched once per screen state through {@code getPageSource()} and XPath, id,
+ * accessibility id and class name locators are evaluated locally with compiled expressions that are cached per
+ * thread. The resulting {@link SnapshotElement}s answer reads (text, attributes, state, bounds) from the snapshot
+ * and fetch a real element handle only when they are interacted with.
+ * </p>
+ * <p>
+ * A snapshot is reused for {@code page-source-snapshot-ttl} milliseconds, and dropped as soon as an element is
+ * clicked, typed into or cleared, or a gesture is performed. Elements read after their snapshot was renewed are
+ * located again by their original locator, see {@link #relocate(Snapshot, By, int, Element)}. Locators that cannot be evaluated locally, or that
+ * match nothing, are left to the regular driver lookup so that its waits still apply.
+ * </p>
+ */
+public class PageSourceSnapshotHelper {
+
+    private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, XPathExpression>> compiledExpressions = ThreadLocal.withInitial(HashMap::new);
+    private static final AtomicLong pageSources = new AtomicLong();
+    private static final AtomicLong resolved = new AtomicLong();
+    private static final AtomicLong handles = new AtomicLong();
+    private static final Printer log = new Printer(PageSourceSnapshotHelper.class);
+
+    /** Attributes that tell apart nodes matched by the same locator. */
+    private static final List<String> IDENTITY = List.of("resource-id", "content-desc", "text", "name", "label");
+
+    private final RemoteWebDriver driver;
+    private final long ttl;
+
+    /**
+     * A parsed page source.
+     *
+     * @param document   the parsed UI hierarchy
+     * @param platform   the platform the hierarchy belongs to
+     * @param capturedAt capture time in epoch milliseconds
+     */
+    public record Snapshot(Document document, Platform platform, long capturedAt) {}
+
+    /**
+     * Counts of the work done by snapshot resolution in this JVM.
+     *
+     * @param pageSources page sources fetched from the device
+     * @param resolved    locators resolved locally
+     * @param handles     real element handles fetched for interactions
+     */
+    public record SnapshotMetrics(long pageSources, long resolved, long handles) {}
+
+    /**
+     * Constructs a PageSourceSnapshotHelper.
+     *
+     * @param driver the Appium driver
+     * @param ttl    maximum age of a snapshot in milliseconds
+     */
+    public PageSourceSnapshotHelper(RemoteWebDriver driver, long ttl) {
+        this.driver = driver;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Constructs a PageSourceSnapshotHelper with the configured {@code page-source-snapshot-ttl}.
+     *
+     * @param driver the Appium driver
+     */
+    public PageSourceSnapshotHelper(RemoteWebDriver driver) {
+        this(driver, ContextStore.getInt("page-source-snapshot-ttl", 1000));
+    }
+
+    /**
+     * @return true if locators of Appium sessions are resolved against page source snapshots
+     */
+    public static boolean enabled() {
+        return ContextStore.getBoolean("page-source-snapshots", false);
+    }
+
+    /**
+     * Resolves the first element matching the locator in the current snapshot.
+     *
+     * @param locator the locator, a {@link ByAll} of alternatives or a single locator
+     * @return the snapshot element, or null if the locator cannot be evaluated locally or matches nothing
+     */
+    public WebElement find(By locator) {
+        List<WebElement> elements = findAll(locator);
+        return elements == null || elements.isEmpty() ? null : elements.get(0);
+    }
+
+    /**
+     * Resolves all elements matching the first locator alternative that matches in the current snapshot.
+     *
+     * @param locator the locator, a {@link ByAll} of alternatives or a single locator
+     * @return the snapshot elements, an empty list if nothing matched, or null if no alternative can be evaluated locally
+     */
+    public List<WebElement> findAll(By locator) {
+        Snapshot snapshot = current();
+        if (snapshot == null) return null;
+        boolean evaluable = false;
+        for (By alternative : alternativesOf(locator)) {
+            String xpath = toXPath(alternative, snapshot.platform());
+            if (xpath == null) continue;
+            evaluable = true;
+            List<Element> nodes = evaluate(snapshot, xpath);
+            if (nodes == null) continue;
+            if (nodes.isEmpty()) continue;
+            resolved.incrementAndGet();
+            List<WebElement> elements = new ArrayList<>();
+            for (int index = 0; index < nodes.size(); index++)
+                elements.add(new SnapshotElement(driver, this, snapshot, alternative, index, locate(alternative, nodes, index)));
+            return elements;
+        }
+        return evaluable ? List.of() : null;
+    }
+
+    /**
+     * Returns the snapshot of the session, fetching the page source if there is none or it expired.
+     *
+     * @return the current snapshot, or null if the page source could not be fetched or parsed
+     */
+    public Snapshot current() {
+        String session = driver.getSessionId() == null ? "" : driver.getSessionId().toString();
+        Snapshot snapshot = snapshots.get(session);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.capturedAt() <= ttl) return snapshot;
+        snapshot = capture();
+        if (snapshot == null) snapshots.remove(session);
+        else snapshots.put(session, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * A match of a locator in a snapshot.
+     *
+     * @param node   the matching node
+     * @param path   the absolute path of the node
+     * @param handle the locator that fetches the real element from the device: the original locator for the first
+     *               match of a non-XPath locator, the absolute path otherwise
+     */
+    public record Match(Element node, String path, By handle) {}
+
+    /**
+     * Locates an element again in a renewed snapshot by re-running the locator it was found with.
+     * <p>
+     * Among the matches, the one at the original index is kept if it still carries the identifying attributes of the
+     * original node (resource-id, content-desc, text, name and label); otherwise the first match carrying them is
+     * taken, so that rows shifted by scrolling or insertions are followed. If no match carries them, e.g. because
+     * the text of the element changed, the match at the original index is taken.
+     * </p>
+     *
+     * @param snapshot the renewed snapshot
+     * @param locator  the locator the element was found with
+     * @param index    the index of the element among the original matches
+     * @param original the node of the element in the previous snapshot
+     * @return the match, or null if the element is no longer on the screen
+     */
+    public Match relocate(Snapshot snapshot, By locator, int index, Element original) {
+        String xpath = toXPath(locator, snapshot.platform());
+        List<Element> nodes = xpath == null ? null : evaluate(snapshot, xpath);
+        if (nodes == null || nodes.isEmpty()) return null;
+        Map<String, String> identity = identityOf(original);
+        if (index < nodes.size() && identity.equals(identityOf(nodes.get(index)))) return locate(locator, nodes, index);
+        if (!identity.isEmpty())
+            for (int match = 0; match < nodes.size(); match++)
+                if (identity.equals(identityOf(nodes.get(match)))) return locate(locator, nodes, match);
+        return index < nodes.size() ? locate(locator, nodes, index) : null;
+    }
+
+    /**
+     * Fetches the real element handle of a snapshot element.
+     *
+     * @param handle the locator of the element on the device
+     * @return the element found by the driver
+     */
+    public WebElement fetchHandle(By handle) {
+        handles.incrementAndGet();
+        return driver.findElement(handle);
+    }
+
+    /**
+     * Drops the snapshot of the session, e.g. after an interaction changed the screen.
+     */
+    public void invalidate() {
+        invalidate(driver);
+    }
+
+    /**
+     * Drops the snapshot of the driver's session, e.g. after an interaction changed the screen.
+     *
+     * @param driver the driver whose snapshot is outdated
+     */
+    public static void invalidate(RemoteWebDriver driver) {
+        if (driver != null && driver.getSessionId() != null) snapshots.remove(driver.getSessionId().toString());
+        else snapshots.remove("");
+    }
+
+    /**
+     * @return the snapshot resolution counts of this JVM
+     */
+    public static SnapshotMetrics metrics() {
+        return new SnapshotMetrics(pageSources.get(), resolved.get(), handles.get());
+    }
+
+    /**
+     * Translates a locator into an XPath over the page source of the platform.
+     *
+     * @param locator  a single locator
+     * @param platform the platform of the page source
+     * @return the XPath, or null if the locator type cannot be evaluated against the page source
+     */
+    static String toXPath(By locator, Platform platform) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) return null;
+        String type = description.substring(0, separator);
+        String value = description.substring(separator + 2);
+        boolean android = platform != null && platform.is(Platform.ANDROID);
+        return switch (type) {
+            case "By.xpath" -> value;
+            case "By.id", "AppiumBy.id" -> android ?
+                    "//*[@resource-id=" + literal(value) + " or substring-after(@resource-id, ':id/')=" + literal(value) + "]" :
+                    "//*[@name=" + literal(value) + "]";
+            case "AppiumBy.accessibilityId" -> android ?
+                    "//*[@content-desc=" + literal(value) + "]" :
+                    "//*[@name=" + literal(value) + "]";
+            case "By.className", "AppiumBy.className" -> "//*[name()=" + literal(value) + " or @class=" + literal(value) + "]";
+            default -> null;
+        };
+    }
+
+    private Snapshot capture() {
+        try {
+            String source = driver.getPageSource();
+            if (source == null) return null;
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            // Page sources may contain characters that are not allowed in XML 1.0, such as control characters in text
+            String sanitized = source.replaceAll("[^\\u0009\\u000A\\u000D\\u0020-\\uD7FF\\uE000-\\uFFFD]", "");
+            Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(sanitized)));
+            pageSources.incrementAndGet();
+            log.info("Captured page source snapshot " + highlighted(GRAY, "(" + source.length() + " characters)"));
+            return new Snapshot(document, driver.getCapabilities().getPlatformName(), System.currentTimeMillis());
+        }
+        catch (WebDriverException exception) {
+            log.warning("Page source could not be fetched: " + exception.getMessage());
+            return null;
+        }
+        catch (Exception exception) {
+            log.warning("Page source could not be parsed: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Element> evaluate(Snapshot snapshot, String xpath) {
+        try {
+            XPathExpression expression = compiledExpressions.get().get(xpath);
+            if (expression == null) {
+                expression = XPathFactory.newInstance().newXPath().compile(xpath);
+                compiledExpressions.get().put(xpath, expression);
+            }
+            NodeList nodes = (NodeList) expression.evaluate(snapshot.document(), XPathConstants.NODESET);
+            List<Element> elements = new ArrayList<>();
+            for (int index = 0; index < nodes.getLength(); index++)
+                if (nodes.item(index) instanceof Element element) elements.add(element);
+            return elements;
+        }
+        catch (XPathExpressionException exception) {
+            log.warning("XPath " + highlighted(BLUE, xpath) + highlighted(GRAY, " cannot be evaluated locally: " + exception.getMessage()));
+            return null;
+        }
+    }
+
+    private static Match locate(By locator, List<Element> nodes, int index) {
+        String path = absolutePath(nodes.get(index));
+        boolean nativeHandle = !locator.toString().startsWith("By.xpath:");
+        return new Match(nodes.get(index), path, nativeHandle && index == 0 ? locator : By.xpath(path));
+    }
+
+    /**
+     * @return the non-empty identifying attributes of a node
+     */
+    private static Map<String, String> identityOf(Element node) {
+        Map<String, String> identity = new HashMap<>();
+        for (String attribute : IDENTITY)
+            if (!node.getAttribute(attribute).isEmpty()) identity.put(attribute, node.getAttribute(attribute));
+        return identity;
+    }
+
+    /**
+     * Builds the absolute, indexed path of a node, such as
+     * {@code /hierarchy/android.widget.FrameLayout[1]/android.widget.Button[2]}, which the Appium server resolves
+     * against the same hierarchy.
+     */
+    private static String absolutePath(Element element) {
+        StringBuilder path = new StringBuilder();
+        Node node = element;
+        while (node instanceof Element current) {
+            int index = 1;
+            for (Node sibling = current.getPreviousSibling(); sibling != null; sibling = sibling.getPreviousSibling())
+                if (sibling instanceof Element && sibling.getNodeName().equals(current.getNodeName())) index++;
+            String step = current.getParentNode() instanceof Document ? current.getNodeName() : current.getNodeName() + "[" + index + "]";
+            path.insert(0, "/" + step);
+            node = current.getParentNode();
+        }
+        return path.toString();
+    }
+
+    private static List<By> alternativesOf(By locator) {
+        if (locator instanceof ByAll) {
+            Object alternatives = getField("bys", locator);
+            if (alternatives instanceof By[] bys) return List.of(bys);
+        }
+        return List.of(locator);
+    }
+}
@@ -0,0 +1,181 @@
+package pickleib.utilities.helpers;
+
+import collections.Pair;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.Select;
+import pickleib.enums.OptionMatch;
+import pickleib.exceptions.PickleibException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static pickleib.utilities.DriverInspector.isAppiumDriver;
+import static utils.StringUtilities.contextCheck;
+
+/**
+ * Encapsulates option selection on native and custom dropdowns.
+ * Extracted from {@link pickleib.utilities.Utilities} to keep the base class focused.
+ * <p>
+ * Options are matched and selected inside the browser, so the cost of a selection does not grow with the number
+ * of options.
+ * </p>
+ */
+public class SelectHelper {
+
+    private final RemoteWebDriver driver;
+    private final long elementTimeout;
+
+    /**
+     * Selects the requested options of a native {@code select} element by text, value or index and dispatches
+     * {@code input}/{@code change} events once. Multi-selects keep their current selection. Returns the texts of the
+     * selected options and the requested values without an enabled match, or {@code null} if the element is not a
+     * native {@code select}.
+     */
+    private static final String NATIVE_SELECT_SCRIPT =
+            "var select = arguments[0], match = arguments[1], values = arguments[2];" +
+            "if (!(select instanceof HTMLSelectElement)) return null;" +
+            "function normalize(text) { return text.replace(/\\s+/g, ' ').trim(); }" +
+            "var options = select.options, selected = [], missing = [];" +
+            "values.forEach(function (value) {" +
+            "    var option = null;" +
+            "    if (match === 'index') option = options[parseInt(value, 10)] || null;" +
+            "    else for (var i = 0; i < options.length && !option; i++)" +
+            "        if (match === 'value' ? options[i].value === value : normalize(options[i].text) === normalize(value))" +
+            "            option = options[i];" +
+            "    if (!option || option.disabled) { missing.push(value); return; }" +
+            "    if (select.multiple) option.selected = true; else select.selectedIndex = option.index;" +
+            "    selected.push(option.text);" +
+            "});" +
+            "if (selected.length > 0) {" +
+            "    select.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "    select.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "}" +
+            "return { selected: selected, missing: missing };";
+
+    /**
+     * Selects the requested options of a custom dropdown. For each value, opens the dropdown by pressing the trigger
+     * if no option is visible, waits (frame by frame) for the options located by the given css or xpath selector,
+     * then presses the matching option with pointer and mouse events. Resolves with the texts of the selected options
+     * and the requested values without a match.
+     */
+    private static final String CUSTOM_SELECT_SCRIPT =
+            "var trigger = arguments[0], match = arguments[1], values = arguments[2], locatorType = arguments[3]," +
+            "    locator = arguments[4], deadline = Date.now() + arguments[5], callback = arguments[arguments.length - 1];" +
+            "function normalize(text) { return (text || '').replace(/\\s+/g, ' ').trim(); }" +
+            "function press(element) {" +
+            "    ['pointerdown', 'mousedown', 'pointerup', 'mouseup', 'click'].forEach(function (type) {" +
+            "        var Type = type.indexOf('pointer') === 0 && window.PointerEvent ? PointerEvent : MouseEvent;" +
+            "        element.dispatchEvent(new Type(type, { bubbles: true, cancelable: true, view: window }));" +
+            "    });" +
+            "}" +
+            "function visibleOptions() {" +
+            "    var found = [];" +
+            "    if (locatorType === 'xpath') {" +
+            "        var result = document.evaluate(locator, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "        for (var i = 0; i < result.snapshotLength; i++) found.push(result.snapshotItem(i));" +
+            "    }" +
+            "    else found = Array.prototype.slice.call(document.querySelectorAll(locator));" +
+            "    return found.filter(function (option) { return option.getClientRects().length > 0; });" +
+            "}" +
+            "function pick(options, value) {" +
+            "    if (match === 'index') return options[parseInt(value, 10)] || null;" +
+            "    for (var i = 0; i < options.length; i++) {" +
+            "        var option = options[i];" +
+            "        var optionValue = option.getAttribute('data-value') !== null ? option.getAttribute('data-value') : option.getAttribute('value');" +
+            "        if (match === 'value' ? optionValue === value : normalize(option.textContent) === normalize(value)) return option;" +
+            "    }" +
+            "    return null;" +
+            "}" +
+            "function poll(probe, done) {" +
+            "    var result = probe();" +
+            "    if (result || Date.now() > deadline) return done(result);" +
+            "    requestAnimationFrame(function () { poll(probe, done); });" +
+            "}" +
+            "var selected = [], missing = [], index = 0;" +
+            "function next() {" +
+            "    if (index >= values.length) return callback({ selected: selected, missing: missing });" +
+            "    if (visibleOptions().length === 0) press(trigger);" +
+            "    poll(function () { var options = visibleOptions(); return options.length > 0 ? options : null; }, function (options) {" +
+            "        var value = values[index++];" +
+            "        var option = options ? pick(options, value) : null;" +
+            "        if (!option) missing.push(value);" +
+            "        else { option.scrollIntoView({ block: 'nearest' }); press(option); selected.push(normalize(option.textContent)); }" +
+            "        setTimeout(next, 0);" +
+            "    });" +
+            "}" +
+            "next();";
+
+    /**
+     * Constructs a SelectHelper with the required WebDriver dependencies.
+     *
+     * @param driver         the RemoteWebDriver instance
+     * @param elementTimeout maximum time in milliseconds to wait for custom dropdown options to render
+     */
+    public SelectHelper(RemoteWebDriver driver, long elementTimeout) {
+        this.driver = driver;
+        this.elementTimeout = elementTimeout;
+    }
+
+    /**
+     * Selects options of a dropdown in a single call.
+     * <p>
+     * Native {@code select} elements are handled directly. Any other element is treated as the trigger of a custom
+     * dropdown, whose options are located with the given option locator. Appium drivers use Selenium's {@link Select}.
+     * </p>
+     *
+     * @param dropdown      the {@code select} element, or the trigger of a custom dropdown
+     * @param match         how options are matched
+     * @param values        the texts, values or indexes of the options to select
+     * @param optionLocator the selector type ({@code css} or {@code xpath}) and expression of custom dropdown options, or {@code null}
+     * @return the texts of the selected options
+     * @throws PickleibException if any requested option could not be selected
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> selectOptions(WebElement dropdown, OptionMatch match, List<String> values, Pair<String, String> optionLocator) {
+        List<String> checkedValues = values.stream().map(value -> contextCheck(value)).toList();
+        if (isAppiumDriver(driver)) return selectWithSelect(dropdown, match, checkedValues);
+
+        Object result = driver.executeScript(NATIVE_SELECT_SCRIPT, dropdown, match.name(), checkedValues);
+        if (result == null) {
+            if (optionLocator == null)
+                throw new PickleibException("The dropdown is not a <select> element and no options locator is defined for it!");
+            result = driver.executeAsyncScript(
+                    CUSTOM_SELECT_SCRIPT,
+                    dropdown,
+                    match.name(),
+                    checkedValues,
+                    optionLocator.alpha(),
+                    optionLocator.beta(),
+                    elementTimeout
+            );
+        }
+        Map<String, Object> selection = (Map<String, Object>) result;
+        List<Object> missing = (List<Object>) selection.get("missing");
+        if (missing != null && !missing.isEmpty())
+            throw new PickleibException("Could not select the options by " + match.name() + ": " + missing);
+        List<String> selected = new ArrayList<>();
+        for (Object text : (List<Object>) selection.get("selected")) selected.add(String.valueOf(text));
+        return selected;
+    }
+
+    /**
+     * Selects options one by one with Selenium's {@link Select}.
+     *
+     * @param dropdown the {@code select} element
+     * @param match    how options are matched
+     * @param values   the texts, values or indexes of the options to select
+     * @return the requested values
+     */
+    private List<String> selectWithSelect(WebElement dropdown, OptionMatch match, List<String> values) {
+        Select select = new Select(dropdown);
+        for (String value : values)
+            switch (match) {
+                case text -> select.selectByVisibleText(value);
+                case value -> select.selectByValue(value);
+                case index -> select.selectByIndex(Integer.parseInt(value));
+            }
+        return values;
+    }
+}
@@ -0,0 +1,162 @@
+package pickleib.utilities.helpers;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.StabilitySource;
+import utils.Printer;
+
+import java.util.Arrays;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Detects when a mobile screen has stopped changing, replacing hard sleeps after transitions and animations.
+ * <p>
+ * The page source or a screenshot is sampled and hashed until the configured number of consecutive samples are
+ * identical. The interval between samples adapts: it doubles, up to eight times the base interval, while the screen
+ * keeps changing, so long animations are not polled needlessly, and drops back to the base interval once a sample
+ * matches, so a settled screen is confirmed quickly.
+ * </p>
+ */
+public class UiStabilityHelper {
+
+    private static final Object metricsLock = new Object();
+    private static long waits;
+    private static long timeouts;
+    private static long totalMillis;
+    private static long maxMillis;
+
+    private final RemoteWebDriver driver;
+    private final StabilitySource source;
+    private final int samples;
+    private final long interval;
+    private final long timeout;
+    private final Printer log = new Printer(UiStabilityHelper.class);
+
+    /**
+     * The outcome of a stability wait.
+     *
+     * @param settled       true if the screen stopped changing before the timeout
+     * @param elapsedMillis time spent waiting
+     * @param samples       number of samples taken
+     */
+    public record StabilityReport(boolean settled, long elapsedMillis, int samples) {}
+
+    /**
+     * Aggregated stability wait timings of the JVM.
+     *
+     * @param waits       number of stability waits
+     * @param timeouts    number of waits that reached the timeout
+     * @param totalMillis total time spent waiting
+     * @param maxMillis   longest single wait
+     */
+    public record StabilityMetrics(long waits, long timeouts, long totalMillis, long maxMillis) {
+        /**
+         * @return the average wait in milliseconds
+         */
+        public long averageMillis() {
+            return waits == 0 ? 0 : totalMillis / waits;
+        }
+    }
+
+    /**
+     * Constructs a UiStabilityHelper.
+     *
+     * @param driver   the Appium driver
+     * @param source   what is sampled
+     * @param samples  number of consecutive identical samples that mean the screen settled, at least 2
+     * @param interval base interval between samples in milliseconds
+     * @param timeout  maximum time in milliseconds to wait for the screen to settle
+     */
+    public UiStabilityHelper(RemoteWebDriver driver, StabilitySource source, int samples, long interval, long timeout) {
+        this.driver = driver;
+        this.source = source;
+        this.samples = Math.max(2, samples);
+        this.interval = Math.max(0, interval);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Waits for the screen to stop changing. Never fails: a screen that does not settle in time is logged and left
+     * as is.
+     *
+     * @return the outcome of the wait, or null if the screen could not be sampled
+     */
+    public StabilityReport awaitStable() {
+        long start = System.currentTimeMillis();
+        long delay = interval;
+        int matching = 1;
+        int taken = 1;
+        Integer previous = sample();
+        if (previous == null) return null;
+        while (matching < samples && System.currentTimeMillis() - start < timeout) {
+            sleep(Math.min(delay, Math.max(0, timeout - (System.currentTimeMillis() - start))));
+            Integer current = sample();
+            if (current == null) return null;
+            taken++;
+            if (current.equals(previous)) {
+                matching++;
+                delay = interval;
+            }
+            else {
+                matching = 1;
+                delay = Math.min(Math.max(delay * 2, 1), interval * 8);
+            }
+            previous = current;
+        }
+        StabilityReport report = new StabilityReport(matching >= samples, System.currentTimeMillis() - start, taken);
+        record(report);
+        if (report.settled())
+            log.info("Screen settled in " + highlighted(BLUE, report.elapsedMillis() + "ms") +
+                    highlighted(GRAY, " (" + report.samples() + " samples)"));
+        else
+            log.warning("Screen did not settle in " + timeout + "ms (" + report.samples() + " samples)");
+        return report;
+    }
+
+    /**
+     * @return the aggregated stability wait timings of the JVM
+     */
+    public static StabilityMetrics metrics() {
+        synchronized (metricsLock) {
+            return new StabilityMetrics(waits, timeouts, totalMillis, maxMillis);
+        }
+    }
+
+    private Integer sample() {
+        try {
+            return switch (source) {
+                case pageSource -> {
+                    String pageSource = driver.getPageSource();
+                    yield pageSource == null ? 0 : pageSource.hashCode();
+                }
+                case screenshot -> Arrays.hashCode(driver.getScreenshotAs(OutputType.BYTES));
+            };
+        }
+        catch (WebDriverException exception) {
+            log.warning("Could not sample the screen for stability: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void record(StabilityReport report) {
+        synchronized (metricsLock) {
+            waits++;
+            if (!report.settled()) timeouts++;
+            totalMillis += report.elapsedMillis();
+            maxMillis = Math.max(maxMillis, report.elapsedMillis());
+        }
+    }
+}
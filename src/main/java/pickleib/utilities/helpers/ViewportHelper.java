@@ -0,0 +1,253 @@
+package pickleib.utilities.helpers;
+
+import io.appium.java_client.remote.SupportsRotation;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.platform.utilities.GestureBuilder;
+import utils.Printer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static pickleib.utilities.DriverInspector.isAppiumDriver;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Caches the viewport geometry of mobile sessions and centers elements with computed gestures.
+ * <p>
+ * Window size, orientation and safe-area insets (status and navigation bars) are measured once per session and
+ * reused until the orientation reported by the driver changes, see {@link #invalidate()}. The cached geometry of a
+ * session is dropped when the session quits, see {@link #evict(RemoteWebDriver)}. Centering reads the element's rectangle once and
+ * scrolls the full distance with a single batched gesture (split into strokes within the same command when the
+ * distance exceeds one screen), so it usually completes with one gesture and at most one correction.
+ * </p>
+ */
+public class ViewportHelper {
+
+    private static final Map<String, Measurement> viewports = new ConcurrentHashMap<>();
+
+    /** Maximum number of centering gestures, including corrections. */
+    private static final int MAX_GESTURES = 3;
+
+    private final RemoteWebDriver driver;
+    private final Printer log = new Printer(ViewportHelper.class);
+
+    /**
+     * The geometry of a device screen.
+     *
+     * @param width       window width
+     * @param height      window height
+     * @param orientation screen orientation derived from the window size
+     * @param top         top inset, e.g. the status bar
+     * @param bottom      bottom inset, e.g. the navigation bar
+     * @param left        left inset
+     * @param right       right inset, e.g. the navigation bar in landscape
+     */
+    public record Viewport(int width, int height, ScreenOrientation orientation, int top, int bottom, int left, int right) {
+        /** @return the width of the area between the insets */
+        public int safeWidth() {
+            return width - left - right;
+        }
+
+        /** @return the height of the area between the insets */
+        public int safeHeight() {
+            return height - top - bottom;
+        }
+
+        /** @return the horizontal center of the area between the insets */
+        public int centerX() {
+            return left + safeWidth() / 2;
+        }
+
+        /** @return the vertical center of the area between the insets */
+        public int centerY() {
+            return top + safeHeight() / 2;
+        }
+    }
+
+    /**
+     * A measured viewport, along with the orientation the driver reported when it was measured.
+     *
+     * @param viewport the measured viewport
+     * @param reported the orientation reported by the driver, or null if the driver cannot report it
+     */
+    private record Measurement(Viewport viewport, ScreenOrientation reported) {}
+
+    /**
+     * Constructs a ViewportHelper.
+     *
+     * @param driver the RemoteWebDriver instance
+     */
+    public ViewportHelper(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Returns the cached viewport of the session, measured on first use and measured again whenever the orientation
+     * reported by the driver differs from the one it reported at the last measurement.
+     *
+     * @return the viewport of the session
+     */
+    public Viewport viewport() {
+        if (driver.getSessionId() == null) return measure();
+        String session = driver.getSessionId().toString();
+        Measurement cached = viewports.get(session);
+        ScreenOrientation reported = reportedOrientation(cached == null ? null : cached.reported());
+        if (cached != null && cached.reported() == reported) return cached.viewport();
+        Viewport viewport = measure();
+        viewports.put(session, new Measurement(viewport, reported));
+        return viewport;
+    }
+
+    /**
+     * Drops the cached viewport of the session, e.g. after the device was rotated.
+     */
+    public void invalidate() {
+        evict(driver);
+    }
+
+    /**
+     * Drops the cached viewport of the given session, e.g. when it quits.
+     *
+     * @param driver the driver of the session
+     */
+    public static void evict(RemoteWebDriver driver) {
+        if (driver != null && driver.getSessionId() != null) viewports.remove(driver.getSessionId().toString());
+    }
+
+    /**
+     * Scrolls the element to the center of the safe area. Elements already within a sixth of the safe area from
+     * the center are left as they are.
+     *
+     * @param element the element to center
+     * @return the element
+     */
+    public WebElement center(WebElement element) {
+        Viewport viewport = viewport();
+        for (int gesture = 0; gesture <= MAX_GESTURES; gesture++) {
+            Rectangle rect = element.getRect();
+            int dx = rect.getX() + rect.getWidth() / 2 - viewport.centerX();
+            int dy = rect.getY() + rect.getHeight() / 2 - viewport.centerY();
+            if (Math.abs(dx) <= viewport.safeWidth() / 6) dx = 0;
+            if (Math.abs(dy) <= viewport.safeHeight() / 6) dy = 0;
+            if (dx == 0 && dy == 0) {
+                if (gesture > 0)
+                    log.info("Centered element with " + highlighted(BLUE, String.valueOf(gesture)) + highlighted(GRAY, " gesture(s)"));
+                return element;
+            }
+            if (gesture == MAX_GESTURES) break;
+            try {
+                scrollGesture(viewport, dx, dy).perform();
+            }
+            catch (WebDriverException exception) {
+                log.warning("Centering gesture failed, measuring the viewport again: " + exception.getMessage());
+                invalidate();
+                viewport = viewport();
+            }
+        }
+        log.warning("Element could not be centered within " + MAX_GESTURES + " gestures!");
+        return element;
+    }
+
+    /**
+     * Builds a single gesture that scrolls the content by the given distance. Distances exceeding 60% of the safe
+     * area are split into equal strokes performed back to back. Strokes are precise drags, so the content stops
+     * where the finger does instead of flinging.
+     *
+     * @param viewport the viewport to scroll in
+     * @param dx       horizontal distance to scroll the content by, positive to bring content from the right
+     * @param dy       vertical distance to scroll the content by, positive to bring content from below
+     * @return the gesture, ready to perform
+     */
+    public GestureBuilder scrollGesture(Viewport viewport, int dx, int dy) {
+        int maxStrokeX = Math.max(1, viewport.safeWidth() * 3 / 5);
+        int maxStrokeY = Math.max(1, viewport.safeHeight() * 3 / 5);
+        int strokes = Math.max(1, Math.max(
+                (int) Math.ceil(Math.abs(dx) / (double) maxStrokeX),
+                (int) Math.ceil(Math.abs(dy) / (double) maxStrokeY)
+        ));
+        int strokeX = dx / strokes;
+        int strokeY = dy / strokes;
+        Point from = new Point(viewport.centerX() + strokeX / 2, viewport.centerY() + strokeY / 2);
+        Point to = new Point(viewport.centerX() - strokeX / 2, viewport.centerY() - strokeY / 2);
+
+        GestureBuilder gesture = new GestureBuilder(driver)
+                .velocity(GestureBuilder.VelocityProfile.PRECISE)
+                .retryTimeout(2000);
+        for (int stroke = 0; stroke < strokes; stroke++) gesture.swipe(from, to);
+        return gesture;
+    }
+
+    /**
+     * @param fallback the orientation to assume if the driver cannot be asked
+     * @return the screen orientation reported by the driver, or the fallback for drivers that do not support rotation
+     */
+    private ScreenOrientation reportedOrientation(ScreenOrientation fallback) {
+        if (!(driver instanceof SupportsRotation rotation)) return fallback;
+        try {
+            return rotation.getOrientation();
+        }
+        catch (WebDriverException exception) {
+            return fallback;
+        }
+    }
+
+    private Viewport measure() {
+        Dimension size = driver.manage().window().getSize();
+        ScreenOrientation orientation = size.getWidth() > size.getHeight() ? ScreenOrientation.LANDSCAPE : ScreenOrientation.PORTRAIT;
+        int[] insets = insets(size);
+        Viewport viewport = new Viewport(size.getWidth(), size.getHeight(), orientation, insets[0], insets[1], insets[2], insets[3]);
+        log.info("Measured viewport " + highlighted(BLUE, viewport.width() + "x" + viewport.height()) +
+                highlighted(GRAY, " (" + orientation.name().toLowerCase() + ", safe area " + viewport.safeWidth() + "x" + viewport.safeHeight() + ")"));
+        return viewport;
+    }
+
+    /**
+     * Reads the system bar insets through {@code mobile: getSystemBars} on Android and the status bar height through
+     * {@code mobile: deviceScreenInfo} on iOS. Unsupported drivers report no insets.
+     *
+     * @return top, bottom, left and right insets
+     */
+    @SuppressWarnings("unchecked")
+    private int[] insets(Dimension size) {
+        int[] insets = new int[4];
+        if (!isAppiumDriver(driver)) return insets;
+        try {
+            Platform platform = driver.getCapabilities().getPlatformName();
+            if (platform != null && platform.is(Platform.ANDROID)) {
+                Map<String, Object> bars = (Map<String, Object>) driver.executeScript("mobile: getSystemBars");
+                if (bars == null) return insets;
+                Map<String, Object> statusBar = (Map<String, Object>) bars.get("statusBar");
+                Map<String, Object> navigationBar = (Map<String, Object>) bars.get("navigationBar");
+                if (statusBar != null && Boolean.TRUE.equals(statusBar.get("visible")))
+                    insets[0] = number(statusBar.get("height"));
+                if (navigationBar != null && Boolean.TRUE.equals(navigationBar.get("visible"))) {
+                    if (number(navigationBar.get("width")) >= size.getWidth()) insets[1] = number(navigationBar.get("height"));
+                    else if (number(navigationBar.get("x")) > 0) insets[3] = number(navigationBar.get("width"));
+                    else insets[2] = number(navigationBar.get("width"));
+                }
+            }
+            else if (platform != null && platform.is(Platform.IOS)) {
+                Map<String, Object> info = (Map<String, Object>) driver.executeScript("mobile: deviceScreenInfo");
+                if (info == null) return insets;
+                Map<String, Object> statusBar = (Map<String, Object>) info.get("statusBarSize");
+                if (statusBar != null) insets[0] = number(statusBar.get("height"));
+            }
+        }
+        catch (WebDriverException | ClassCastException exception) {
+            log.warning("Safe area insets could not be read: " + exception.getMessage());
+        }
+        return insets;
+    }
+
+    private static int number(Object value) {
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+}
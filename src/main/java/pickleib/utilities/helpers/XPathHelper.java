@@ -0,0 +1,133 @@
+package pickleib.utilities.helpers;
+
+import org.jetbrains.annotations.NotNull;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.List;
+
+import static pickleib.utilities.DriverInspector.isAppiumDriver;
+
+/**
+ * Encapsulates absolute XPath generation and ancestor lookups for WebElements.
+ * Extracted from {@link pickleib.utilities.Utilities} to keep the base class focused.
+ * <p>
+ * On web drivers both operations run as a single script. Paths are not cached: an element reference survives rows
+ * being inserted or moved around it, and checking a cached path would cost the same round trip as walking the
+ * ancestors again in the browser.
+ * Appium drivers cannot execute scripts on native elements, so they walk the hierarchy with element commands.
+ * </p>
+ */
+public class XPathHelper {
+
+    /**
+     * Builds the absolute, index qualified XPath of the given element by walking up its ancestors.
+     */
+    private static final String XPATH_SCRIPT =
+            "var path = '';" +
+            "for (var element = arguments[0]; element && element.nodeType === 1; element = element.parentNode) {" +
+            "    var index = 1;" +
+            "    for (var sibling = element.previousElementSibling; sibling; sibling = sibling.previousElementSibling)" +
+            "        if (sibling.tagName === element.tagName) index++;" +
+            "    path = '/' + element.tagName.toLowerCase() + '[' + index + ']' + path;" +
+            "}" +
+            "return path;";
+
+    /**
+     * Returns the given element or its closest ancestor whose class attribute contains the given text.
+     */
+    private static final String ANCESTOR_BY_CLASS_SCRIPT =
+            "for (var element = arguments[0]; element && element.nodeType === 1; element = element.parentNode) {" +
+            "    var classes = element.getAttribute('class');" +
+            "    if (classes !== null && classes.indexOf(arguments[1]) !== -1) return element;" +
+            "}" +
+            "return null;";
+
+    private final RemoteWebDriver driver;
+
+    /**
+     * Constructs an XPathHelper with the given WebDriver instance.
+     *
+     * @param driver the RemoteWebDriver instance
+     */
+    public XPathHelper(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Generate a xPath for a given element
+     *
+     * @param childElement web element gets generated a xPath from
+     * @param current      path suffix appended to the generated xPath (empty string at the beginning)
+     * @return returns generated xPath
+     */
+    public String generateXPath(@NotNull WebElement childElement, String current) {
+        if (current == null) current = "";
+        if (isAppiumDriver(driver)) return walkXPath(childElement, current);
+        String xPath = (String) driver.executeScript(XPATH_SCRIPT, childElement);
+        return xPath == null ? null : xPath + current;
+    }
+
+    /**
+     * Gets the parent class from a child element using a selector class
+     *
+     * @param childElement        element that generates the parent class
+     * @param current             empty string (at the beginning)
+     * @param parentSelectorClass selector class for selecting the parent elements
+     * @return returns the targeted parent element
+     */
+    public WebElement getParentByClass(WebElement childElement, String current, String parentSelectorClass) {
+        if (isAppiumDriver(driver)) return walkParentByClass(childElement, current == null ? "" : current, parentSelectorClass);
+        return (WebElement) driver.executeScript(ANCESTOR_BY_CLASS_SCRIPT, childElement, parentSelectorClass);
+    }
+
+    /**
+     * Quotes a value as an XPath string literal, falling back to {@code concat()} for values containing both quote kinds.
+     *
+     * @param value the value to quote
+     * @return the XPath literal of the value
+     */
+    public static String literal(String value) {
+        if (!value.contains("'")) return "'" + value + "'";
+        if (!value.contains("\"")) return "\"" + value + "\"";
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    private String walkXPath(WebElement childElement, String current) {
+        String childTag = childElement.getTagName();
+        if (childTag.equals("html")) {
+            return "/html[1]" + current;
+        }
+        WebElement parentElement = childElement.findElement(By.xpath(".."));
+        List<WebElement> childrenElements = parentElement.findElements(By.xpath("*"));
+        int count = 0;
+        for (WebElement childrenElement : childrenElements) {
+            String childrenElementTag = childrenElement.getTagName();
+            if (childTag.equals(childrenElementTag)) count++;
+            if (childElement.equals(childrenElement)) {
+                return walkXPath(parentElement, "/" + childTag + "[" + count + "]" + current);
+            }
+        }
+        return null;
+    }
+
+    private WebElement walkParentByClass(WebElement childElement, String current, String parentSelectorClass) {
+        String childTag = childElement.getTagName();
+
+        if (childElement.getAttribute("class").contains(parentSelectorClass)) return childElement;
+
+        WebElement parentElement = childElement.findElement(By.xpath(".."));
+        List<WebElement> childrenElements = parentElement.findElements(By.xpath("*"));
+
+        int count = 0;
+        for (WebElement childrenElement : childrenElements) {
+            String childrenElementTag = childrenElement.getTagName();
+            if (childTag.equals(childrenElementTag)) count++;
+            if (childElement.equals(childrenElement)) {
+                return walkParentByClass(parentElement, "/" + childTag + "[" + count + "]" + current, parentSelectorClass);
+            }
+        }
+        return null;
+    }
+}
@@ -1,15 +1,19 @@
 package pickleib.utilities.interfaces;
 
 import collections.Bundle;
+import collections.Pair;
 import org.jetbrains.annotations.NotNull;
+import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import pickleib.enums.Direction;
 import pickleib.enums.ElementState;
+import pickleib.enums.OptionMatch;
 import pickleib.utilities.Utilities;
 import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.FormFieldResult;
 import pickleib.utilities.interfaces.functions.LocateElement;
 import pickleib.web.interactions.WebInteractions;
 import pickleib.platform.interactions.PlatformInteractions;
@@ -197,6 +201,16 @@ public interface PolymorphicUtilities {
      */
     WebElement verifyElementState(WebElement element, String elementName, String pageName, ElementState state);
 
+    /**
+     * Verifies the elements matching a locator are in expected state, looking them up without implicit waits
+     *
+     * @param locator     target locator
+     * @param elementName target element name
+     * @param pageName    specified page instance name
+     * @param state       expected state
+     */
+    void verifyElementState(By locator, String elementName, String pageName, ElementState state);
+
     /**
      * Waits until a given element is in expected state
      *
@@ -505,6 +519,15 @@ public interface PolymorphicUtilities {
      */
     void fillForm(List<ElementBundle<String>> bundles, String pageName);
 
+    /**
+     * Fills input form in batch, then verifies every field and reports all mismatches at once
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @return the fill result of each field, in form order
+     */
+    List<FormFieldResult> fillAndVerifyForm(List<ElementBundle<String>> bundles, String pageName);
+
     /**
      * Verifies the text of {element name} on the {page name} to be: {expected text}
      *
@@ -566,6 +589,15 @@ public interface PolymorphicUtilities {
      */
     void waitUntilAbsence(WebElement element, String elementName, String pageName);
 
+    /**
+     * Waits for absence of the elements matching a locator, looking them up without implicit waits
+     *
+     * @param locator     target locator
+     * @param elementName target element name
+     * @param pageName    specified page instance name
+     */
+    void waitUntilAbsence(By locator, String elementName, String pageName);
+
     /**
      * Waits for element {element name} on the {page name} to be visible
      *
@@ -747,4 +779,23 @@ public interface PolymorphicUtilities {
      * @param direction The direction in which to scroll or swipe the viewport.
      */
     void scrollInDirection(Direction direction);
+
+    /**
+     * Selects options of the given dropdown {element} with the {element name} on the {page name}
+     *
+     * @param dropdown      the {@code select} element, or the trigger of a custom dropdown
+     * @param elementName   target element name
+     * @param pageName      specified page instance name
+     * @param match         how options are matched
+     * @param values        the texts, values or indexes of the options to select
+     * @param optionLocator the selector type and expression of custom dropdown options, or null
+     */
+    void selectOptions(
+            WebElement dropdown,
+            String elementName,
+            String pageName,
+            OptionMatch match,
+            List<String> values,
+            Pair<String, String> optionLocator
+    );
 }
@@ -1,8 +1,10 @@
 package pickleib.web.interactions;
 
 import collections.Bundle;
+import collections.Pair;
 import context.ContextStore;
 import org.jetbrains.annotations.NotNull;
+import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
@@ -11,10 +13,14 @@ import org.openqa.selenium.support.ui.FluentWait;
 import pickleib.enums.ElementState;
 import pickleib.enums.InteractionType;
 import pickleib.enums.Navigation;
+import pickleib.enums.OptionMatch;
 import pickleib.exceptions.PickleibException;
 import pickleib.exceptions.PickleibVerificationException;
 import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.ElementSnapshot;
+import pickleib.utilities.element.FormFieldResult;
 import pickleib.utilities.element.acquisition.ElementAcquisition;
+import pickleib.utilities.element.interactions.ActionPlan;
 import pickleib.utilities.interfaces.PolymorphicUtilities;
 import pickleib.web.driver.PickleibWebDriver;
 import pickleib.web.utilities.WebUtilities;
@@ -97,6 +103,42 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         super.deleteAllCookies();
     }
 
+    /**
+     * Saves the browser state of the current origin as a named snapshot
+     *
+     * @param name     the snapshot name
+     * @param inMemory if true the snapshot is kept in memory, otherwise it is written to disk
+     */
+    public void saveBrowserState(String name, boolean inMemory) {
+        log.info("Saving browser state as " + highlighted(BLUE, name) + highlighted(GRAY, inMemory ? " in memory" : " on disk"));
+        super.captureBrowserState(name, inMemory);
+        log.success("Browser state " + name + " was saved!");
+    }
+
+    /**
+     * Restores a named browser state snapshot
+     *
+     * @param name the snapshot name
+     * @throws PickleibException if the snapshot does not exist or has expired
+     */
+    public void restoreBrowserState(String name) {
+        log.info("Restoring browser state " + highlighted(BLUE, name));
+        if (!super.applyBrowserState(name))
+            throw new PickleibException("Browser state " + name + " does not exist or has expired!");
+        log.success("Browser state " + name + " was restored!");
+    }
+
+    /**
+     * Deletes a named browser state snapshot from memory and disk
+     *
+     * @param name the snapshot name
+     */
+    public void deleteBrowserState(String name) {
+        log.info("Deleting browser state " + highlighted(BLUE, name));
+        super.discardBrowserState(name);
+        log.success("Browser state " + name + " was deleted!");
+    }
+
     /**
      * Clicks a button by its {text} text
      *
@@ -193,6 +235,66 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         log.success("Attribute " + attributeName + " of " + elementName + " from " + pageName + " was saved to context!");
     }
 
+    /**
+     * Saves several element attributes to context, reading them all from a single element snapshot
+     *
+     * @param element        target element
+     * @param attributeNames attribute names
+     * @param elementName    target element name
+     * @param pageName       specified page instance name
+     */
+    public void saveAttributeValuesBySnapshot(WebElement element, List<String> attributeNames, String elementName, String pageName) {
+        log.info("Saving attributes " +
+                highlighted(BLUE, String.join(", ", attributeNames)) +
+                highlighted(GRAY, " of ") +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " on ") +
+                highlighted(BLUE, pageName) +
+                highlighted(GRAY, " to context")
+        );
+        ElementSnapshot snapshot = super.snapshot(element, attributeNames, List.of());
+        for (String attributeName : attributeNames) {
+            ContextStore.put(elementName + "-" + attributeName, snapshot.attribute(attributeName));
+            log.info("Element attribute saved to the ContextStore as -> '" +
+                    highlighted(BLUE, elementName + "-" + attributeName) +
+                    highlighted(GRAY, "' : '") +
+                    highlighted(BLUE, snapshot.attribute(attributeName)) +
+                    highlighted(GRAY, "'")
+            );
+        }
+        log.success("Attributes of " + elementName + " from " + pageName + " were saved to context!");
+    }
+
+    /**
+     * Selects options of the given dropdown {element} with the {element name} on the {page name}
+     *
+     * @param dropdown      the {@code select} element, or the trigger of a custom dropdown
+     * @param elementName   target element name
+     * @param pageName      specified page instance name
+     * @param match         how options are matched
+     * @param values        the texts, values or indexes of the options to select
+     * @param optionLocator the selector type and expression of custom dropdown options, or null
+     */
+    public void selectOptions(
+            WebElement dropdown,
+            String elementName,
+            String pageName,
+            OptionMatch match,
+            List<String> values,
+            Pair<String, String> optionLocator) {
+        log.info("Selecting options by " +
+                highlighted(BLUE, match.name()) +
+                highlighted(GRAY, " -> ") +
+                highlighted(BLUE, String.join(", ", values)) +
+                highlighted(GRAY, " from ") +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " on ") +
+                highlighted(BLUE, pageName)
+        );
+        List<String> selected = super.selectOptions(dropdown, match, values, optionLocator);
+        log.success("Selected " + String.join(", ", selected) + " from " + elementName + " on " + pageName);
+    }
+
     /**
      * Clicks coordinates specified by the given offsets from the center of a given {element}
      * with the {element name} on the {page name}.
@@ -275,6 +377,20 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         log.success("Form was filled on " + highlighted(BLUE, pageName));
     }
 
+    /**
+     * Fills input form in batch, then verifies every field and reports all mismatches at once
+     *
+     * @param bundles  list of bundles where input element, input name and input texts are stored
+     * @param pageName specified page instance name
+     * @return the fill result of each field, in form order
+     */
+    public List<FormFieldResult> fillAndVerifyForm(List<ElementBundle<String>> bundles, String pageName) {
+        log.info("Filling form on " + highlighted(BLUE, pageName));
+        List<FormFieldResult> results = super.fillAndVerifyInputForm(bundles, pageName);
+        log.success("Form was filled and verified on " + highlighted(BLUE, pageName));
+        return results;
+    }
+
     /**
      * Verifies the text of {element name} on the {page name} to be: {expected text}
      *
@@ -305,6 +421,19 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         log.success("Text of the elements was verified on " + pageName);
     }
 
+    /**
+     * Verifies the text of elements from the list on the {page name} using a single snapshot of the whole list,
+     * reporting every mismatching element at once.
+     *
+     * @param bundles  list of bundles where element text, element name and expected text are stored
+     * @param pageName specified page instance name
+     */
+    public void verifyListedTextBySnapshot(List<ElementBundle<String>> bundles, String pageName) {
+        log.info("Verifying the text of elements on " + highlighted(BLUE, pageName));
+        super.verifyListedElementTextBySnapshot(bundles, pageName);
+        log.success("Text of the elements was verified on " + pageName);
+    }
+
     /**
      * Verifies the presence of an element {element name} on the {page name}
      *
@@ -342,6 +471,25 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         return super.verifyElementState(element, state);
     }
 
+    /**
+     * Verifies the elements matching a locator are in expected state, looking them up without implicit waits
+     *
+     * @param locator     target locator
+     * @param elementName target element name
+     * @param pageName    specified page instance name
+     * @param state       expected state
+     */
+    public void verifyElementState(By locator, String elementName, String pageName, ElementState state) {
+        log.info("Verifying that the state of " +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " is ") +
+                highlighted(BLUE, state.name()) +
+                highlighted(GRAY, " on the ") +
+                highlighted(BLUE, pageName)
+        );
+        super.verifyElementState(locator, state);
+    }
+
     /**
      * Waits until a given element is in expected state
      *
@@ -553,6 +701,23 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         log.info("Element is absent ? " + highlighted(BLUE, String.valueOf(absent)));
     }
 
+    /**
+     * Waits for absence of the elements matching a locator, looking them up without implicit waits
+     *
+     * @param locator     target locator
+     * @param elementName target element name
+     * @param pageName    specified page instance name
+     */
+    public void waitUntilAbsence(By locator, String elementName, String pageName) {
+        log.info("Waiting for absence of " +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " on the ") +
+                highlighted(BLUE, pageName)
+        );
+        boolean absent = super.elementIs(locator, ElementState.absent);
+        log.info("Element is absent ? " + highlighted(BLUE, String.valueOf(absent)));
+    }
+
     /**
      * Waits for element {element name} on the {page name} to be visible
      *
@@ -678,6 +843,33 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         log.success("Value of '" + attributeName + "' attribute is verified to be '" + attributeValue + "'!");
     }
 
+    /**
+     * Verifies {attribute name} css attribute of an element {element name} on the {page name} is {attribute value},
+     * reading the computed style from a single element snapshot
+     *
+     * @param element        target element
+     * @param attributeName  target css property name
+     * @param elementName    target element name
+     * @param pageName       specified page instance name
+     * @param attributeValue expected attribute value
+     */
+    public void verifyElementColorBySnapshot(WebElement element, String attributeName, String elementName, String pageName, String attributeValue) {
+        log.info("Verifying " +
+                highlighted(BLUE, attributeName) +
+                highlighted(GRAY, " attribute of ") +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " on the ") +
+                highlighted(BLUE, pageName)
+        );
+        String actualValue = super.snapshot(element, List.of(), List.of(attributeName)).style(attributeName);
+        if (!attributeValue.equals(actualValue))
+            throw new PickleibException(
+                    "The " + attributeName + " attribute of element " + elementName + " could not be verified." +
+                            "\nExpected value: " + attributeValue + "\nActual value: " + actualValue
+            );
+        log.success("Value of '" + attributeName + "' attribute is verified to be '" + attributeValue + "'!");
+    }
+
     /**
      * Verifies the presence of listed element from a list on the {page name}
      *
@@ -703,6 +895,33 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         }
     }
 
+    /**
+     * Verifies the presence of listed element from a list on the {page name}, reading the element text
+     * from a single snapshot instead of once per bundle
+     *
+     * @param bundles  list that contains element, elementName, elementText
+     * @param element  element whose text is expected to contain each listed text
+     * @param pageName specified page instance name
+     */
+    public void verifyPresenceOfListedElementsBySnapshot(List<Bundle<WebElement, String, String>> bundles, WebElement element, String pageName) {
+        String elementText = super.snapshot(element, List.of(), List.of()).text();
+        for (Bundle<WebElement, String, String> bundle : bundles) {
+            String elementName = bundle.beta();
+            String expectedText = contextCheck(bundle.theta());
+
+            log.info("Performing text verification for " +
+                    highlighted(BLUE, elementName) +
+                    highlighted(GRAY, " on the ") +
+                    highlighted(BLUE, pageName) +
+                    highlighted(GRAY, " with the text: ") +
+                    highlighted(BLUE, expectedText)
+            );
+            if (!elementText.contains(expectedText))
+                throw new PickleibException("The " + elementName + " does not contain text '" + expectedText + "' ");
+            log.success("Text of '" + elementName + "' verified as '" + expectedText + "'!");
+        }
+    }
+
     /**
      * Updates context {key} -> {value}
      *
@@ -808,6 +1027,27 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         super.fillInputElement(inputElement, inputText, false, clear, verify);
     }
 
+    /**
+     * Fills the specified input WebElement through the native value setter, dispatching input and change events
+     * and verifying the value in the same script call.
+     *
+     * @param inputElement The WebElement representing the input field.
+     * @param elementName  The target element name.
+     * @param pageName     The specified page instance name.
+     * @param inputText    The text to be entered into the input field.
+     * @param verify       If true, verifies that the resulting value matches the entered text.
+     */
+    public void nativeFillInput(WebElement inputElement, String elementName, String pageName, String inputText, boolean verify) {
+        log.info("Filling " +
+                highlighted(BLUE, elementName) +
+                highlighted(GRAY, " on the ") +
+                highlighted(BLUE, pageName) +
+                highlighted(GRAY, " with the text: ") +
+                highlighted(BLUE, inputText)
+        );
+        super.nativeFillAndVerify(inputElement, inputText, true, true, verify);
+    }
+
     /**
      * Executes interactions on a list of element bundles, based on the specified interaction type.
      * <p>
@@ -843,12 +1083,21 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
      * For 'fill' interactions, an additional boolean parameter is added to specify whether to clear the input field before filling.
      * </p>
      *
+     * <p>
+     * If {@code compile-bundle-interactions} is enabled, the bundles are compiled into an {@link ActionPlan} and
+     * executed through {@link #executePlan(ActionPlan, String)} instead.
+     * </p>
+     *
      * @param bundles  The list of bundles, where each bundle contains information for a specific interaction.
      * @param pageName The name of the page where the interactions are performed.
      * @param scroll   Scrolls if true
      * @throws EnumConstantNotPresentException If an unsupported interaction type is encountered in the bundle.
      */
     public void bundleInteraction(List<ElementBundle<Map<String, String>>> bundles, String pageName, boolean scroll) {
+        if (compileBundleInteractions) {
+            executePlan(compileBundleInteraction(bundles, scroll), pageName);
+            return;
+        }
         for (ElementBundle<Map<String, String>> bundle : bundles) {
             InteractionType interactionType = InteractionType.valueOf(bundle.data().get("Interaction Type"));
             switch (interactionType) {
@@ -894,7 +1143,10 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
     public void getUrl(String url) {
         url = contextCheck(url);
         log.info("Navigating to " + highlighted(BLUE, url));
+        if (pageSettle) pageSettleHelper.prepare();
         driver.get(url);
+        frameContextHelper.forget();
+        waitUntilSettled();
     }
 
     /**
@@ -960,6 +1212,7 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         htmlPath = contextCheck(htmlPath);
         log.info("Navigating to the email @" + highlighted(BLUE, htmlPath));
         driver.get(htmlPath);
+        frameContextHelper.forget();
     }
 
     /**
@@ -1058,6 +1311,14 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         super.waitUntilLoads(waitingTime);
     }
 
+    /**
+     * Waits for in-flight requests and short timers of the current page to finish, even if {@code page-settle} is off
+     */
+    public void waitForPageToSettle() {
+        log.info("Waiting for the page to settle -> " + highlighted(BLUE, driver.getCurrentUrl()));
+        pageSettleHelper.awaitSettled();
+    }
+
     /**
      * Perform a JS click on an element {element name} on the {page name}
      *
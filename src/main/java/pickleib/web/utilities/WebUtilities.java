@@ -19,6 +19,7 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import pickleib.annotations.ContextValue;
 import pickleib.enums.Direction;
 import pickleib.enums.ElementState;
 import pickleib.enums.Navigation;
@@ -26,6 +27,9 @@ import pickleib.exceptions.PickleibException;
 import pickleib.utilities.RetryPolicy;
 import pickleib.utilities.Utilities;
 import pickleib.utilities.element.acquisition.ElementAcquisition;
+import pickleib.utilities.helpers.BrowserStateHelper;
+import pickleib.utilities.helpers.FrameContextHelper;
+import pickleib.utilities.helpers.PageSettleHelper;
 import pickleib.utilities.interfaces.functions.LocateElement;
 import pickleib.web.driver.PickleibWebDriver;
 import utils.StringUtilities;
@@ -34,6 +38,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static pickleib.utilities.DriverInspector.getDriverPlatform;
+import static pickleib.utilities.DriverInspector.getTextAttributeNameFor;
+import static pickleib.utilities.helpers.XPathHelper.literal;
 import static utils.StringUtilities.Color.*;
 import static utils.StringUtilities.*;
 
@@ -52,6 +59,120 @@ import static utils.StringUtilities.*;
  */
 public abstract class WebUtilities extends Utilities {
 
+    /**
+     * Upper bound in milliseconds for a single in-page search, kept below the default script timeout.
+     */
+    private static final long IN_PAGE_SEARCH_BUDGET = 20000;
+
+    /**
+     * Declares {@code incrementalSearch(search, scroller, timeout, callback)}, which runs {@code search} and, until it
+     * returns a node, scrolls {@code scroller} by 90% of its height, first downwards and, once the bottom is reached,
+     * upwards from where it started. Each step is driven by an {@code IntersectionObserver} callback, which arrives
+     * once the scrolled content is laid out, instead of a fixed polling interval. Resolves with the centered node,
+     * {@code 'end'} once the scroller cannot move further in either direction, {@code 'timeout'} when the budget
+     * elapses, or {@code 'error'} if {@code search} throws.
+     */
+    private static final String INCREMENTAL_SEARCH_FUNCTION =
+            "function incrementalSearch(search, scroller, timeout, callback) {" +
+            "    var deadline = Date.now() + timeout;" +
+            "    var origin = scroller.scrollTop, step = 1;" +
+            "    var target = scroller === document.scrollingElement ? document.body : scroller;" +
+            "    function advance() {" +
+            "        var before = scroller.scrollTop;" +
+            "        scroller.scrollTop = before + step * Math.max(scroller.clientHeight * 0.9, 1);" +
+            "        return scroller.scrollTop !== before;" +
+            "    }" +
+            "    var observer = new IntersectionObserver(function () {" +
+            "        observer.unobserve(target);" +
+            "        var node;" +
+            "        try { node = search(); }" +
+            "        catch (error) { observer.disconnect(); return callback('error'); }" +
+            "        if (node) { observer.disconnect(); node.scrollIntoView({ block: 'center' }); return callback(node); }" +
+            "        if (Date.now() > deadline) { observer.disconnect(); return callback('timeout'); }" +
+            "        if (!advance()) {" +
+            "            if (step === 1 && origin > 0) { step = -1; scroller.scrollTop = origin; }" +
+            "            if (step === 1 || !advance()) { observer.disconnect(); return callback('end'); }" +
+            "        }" +
+            "        observer.observe(target);" +
+            "    });" +
+            "    observer.observe(target);" +
+            "}";
+
+    /**
+     * Searches the document for the first node matching the given XPath, scrolling the page incrementally
+     * for content that is only rendered on scroll.
+     */
+    private static final String XPATH_SEARCH_SCRIPT = INCREMENTAL_SEARCH_FUNCTION +
+            "var xpath = arguments[0], callback = arguments[arguments.length - 1];" +
+            "incrementalSearch(function () {" +
+            "    return document.evaluate(xpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "}, document.scrollingElement || document.documentElement, arguments[1], callback);";
+
+    /**
+     * Searches the given list elements for one containing the given text. If none of them does (e.g. in virtualized
+     * lists that recycle rows), scrolls the nearest scrollable ancestor of the list incrementally, matching rows by the
+     * parent and tag of the first list element so that rows carrying state classes (selected, active) are included.
+     */
+    private static final String LIST_SEARCH_SCRIPT = INCREMENTAL_SEARCH_FUNCTION +
+            "var elements = arguments[0], text = arguments[1], callback = arguments[arguments.length - 1];" +
+            "function matches(element) { return (element.innerText || element.textContent || '').indexOf(text) !== -1; }" +
+            "for (var i = 0; i < elements.length; i++)" +
+            "    if (matches(elements[i])) { elements[i].scrollIntoView({ block: 'center' }); return callback(elements[i]); }" +
+            "var first = elements[0], list = first.parentElement, tag = first.tagName;" +
+            "var scroller = list;" +
+            "while (scroller && scroller !== document.body && !(scroller.scrollHeight > scroller.clientHeight &&" +
+            "    /(auto|scroll)/.test(getComputedStyle(scroller).overflowY))) scroller = scroller.parentElement;" +
+            "if (!scroller || scroller === document.body) scroller = document.scrollingElement || document.documentElement;" +
+            "incrementalSearch(function () {" +
+            "    var rows = list.children;" +
+            "    for (var j = 0; j < rows.length; j++) if (rows[j].tagName === tag && matches(rows[j])) return rows[j];" +
+            "    return null;" +
+            "}, scroller, arguments[2], callback);";
+
+    /**
+     * Scrolls the given element to the vertical center of its scroll containers.
+     */
+    private static final String REVEAL_SCRIPT = "arguments[0].scrollIntoView({ block: 'center' });";
+
+    /** Time to live of browser state snapshots in milliseconds, non-positive values never expire. */
+    @ContextValue(value = "browser-state-ttl", defaultValue = "1800000")
+    public long browserStateTtl;
+
+    /** Directory of browser state snapshots saved on disk. */
+    @ContextValue(value = "browser-state-directory", defaultValue = "target/browser-states")
+    public String browserStateDirectory;
+
+    /** Whether browser state snapshots include the IndexedDB databases of the origin. */
+    @ContextValue(value = "browser-state-indexeddb", defaultValue = "false")
+    public boolean browserStateIndexedDb;
+
+    /** Whether navigations wait for the page to settle (network idle, no pending short timers). Opt-in. */
+    @ContextValue(value = "page-settle", defaultValue = "false")
+    public boolean pageSettle;
+
+    /** Maximum time in milliseconds to wait for the page to settle after a navigation. */
+    @ContextValue(value = "page-settle-timeout", defaultValue = "10000")
+    public long pageSettleTimeout;
+
+    /** Time in milliseconds the page must stay idle to be considered settled. */
+    @ContextValue(value = "page-settle-quiet-window", defaultValue = "500")
+    public long pageSettleQuietWindow;
+
+    /** Whether pending animation frames keep the page from settling. */
+    @ContextValue(value = "page-settle-animation-frames", defaultValue = "false")
+    public boolean pageSettleAnimationFrames;
+
+    /** Whether jQuery, Angular and custom idle hooks are consulted when waiting for the page to settle. */
+    @ContextValue(value = "page-settle-framework-hooks", defaultValue = "true")
+    public boolean pageSettleFrameworkHooks;
+
+    /** Helper for browser state snapshots. */
+    protected BrowserStateHelper browserStateHelper;
+    /** Helper for page settle detection. */
+    protected PageSettleHelper pageSettleHelper;
+    /** Helper tracking the frame stack of the session. */
+    protected FrameContextHelper frameContextHelper;
+
     /**
      * Constructor for frameworks that rely on the Singleton {@link PickleibWebDriver}.
      * <p>
@@ -60,6 +181,9 @@ public abstract class WebUtilities extends Utilities {
      */
     public WebUtilities() {
         super(PickleibWebDriver.get(), (element) -> centerElement(element, PickleibWebDriver.get()));
+        this.browserStateHelper = new BrowserStateHelper(driver, browserStateTtl, browserStateDirectory, browserStateIndexedDb);
+        this.pageSettleHelper = new PageSettleHelper(driver, pageSettleTimeout, pageSettleQuietWindow, pageSettleAnimationFrames, pageSettleFrameworkHooks);
+        this.frameContextHelper = new FrameContextHelper(driver);
     }
 
     /**
@@ -69,6 +193,9 @@ public abstract class WebUtilities extends Utilities {
      */
     public WebUtilities(RemoteWebDriver driver) {
         super(driver, (element) -> centerElement(element, driver));
+        this.browserStateHelper = new BrowserStateHelper(driver, browserStateTtl, browserStateDirectory, browserStateIndexedDb);
+        this.pageSettleHelper = new PageSettleHelper(driver, pageSettleTimeout, pageSettleQuietWindow, pageSettleAnimationFrames, pageSettleFrameworkHooks);
+        this.frameContextHelper = new FrameContextHelper(driver);
     }
 
     /**
@@ -94,11 +221,14 @@ public abstract class WebUtilities extends Utilities {
 
             if (!url.contains("http")) url = "https://" + url;
 
+            if (pageSettle) pageSettleHelper.prepare();
             driver.get(url);
+            frameContextHelper.forget();
         } catch (Exception gamma) {
             driver.quit();
             throw new PickleibException("Unable to navigate to the \"" + StringUtilities.highlighted(YELLOW, url) + "\"");
         }
+        waitUntilSettled();
         return url;
     }
 
@@ -126,13 +256,43 @@ public abstract class WebUtilities extends Utilities {
                 case backwards -> driver.navigate().back();
                 default -> throw new EnumConstantNotPresentException(Navigation.class, direction.name());
             }
+            frameContextHelper.forget();
         } catch (Exception e) {
             throw new PickleibException("Unable to navigate browser \"" + StringUtilities.highlighted(YELLOW, direction.name()) + "\" due to: " + e);
         }
+        waitUntilSettled();
+    }
+
+    /**
+     * Refreshes the current page and waits for it to settle
+     */
+    @Override
+    public void refreshThePage() {
+        if (pageSettle) pageSettleHelper.prepare();
+        super.refreshThePage();
+        frameContextHelper.forget();
+        waitUntilSettled();
     }
 
     /**
-     * Iterates through a list of elements, centering each one, until an element containing the text is found.
+     * Waits for the page to settle if {@code page-settle} is enabled: the document is loaded, no fetch/XHR is in
+     * flight, no short timer is pending and the network has been quiet for {@code page-settle-quiet-window}.
+     * A page that does not settle within {@code page-settle-timeout} is logged, not failed.
+     *
+     * @return the outcome of the wait, or null if waiting is disabled or the page could not be inspected
+     */
+    public PageSettleHelper.SettleReport waitUntilSettled() {
+        if (!pageSettle) return null;
+        return pageSettleHelper.awaitSettled();
+    }
+
+    /**
+     * Finds the element containing the text in a list and scrolls it into view.
+     * <p>
+     * The list is searched in the page with a single script. If none of the given elements contains the text, the
+     * list is treated as virtualized and its scroll container is scrolled incrementally until a row with the text is
+     * rendered. If the in-page search cannot complete, each element is centered in turn until the text is found.
+     * </p>
      *
      * @param elementText The text to search for.
      * @param elements    The list of elements to check.
@@ -141,6 +301,11 @@ public abstract class WebUtilities extends Utilities {
      */
     public WebElement scrollInList(String elementText, List<WebElement> elements) {
         log.info("Scrolling the list to element with text: " + highlighted(BLUE, elementText));
+        if (elements.isEmpty()) throw new RuntimeException("Element '" + elementText + "' could not be located!");
+        Object result = searchInPage(LIST_SEARCH_SCRIPT, elements, elementText, inPageSearchBudget());
+        if (result instanceof WebElement element) return element;
+        if ("end".equals(result)) throw new RuntimeException("Element '" + elementText + "' could not be located!");
+        log.warning("In-page list search did not complete, centering the list elements in turn.");
         for (WebElement element : elements) {
             centerElement(element);
             wait.ignoring(StaleElementReferenceException.class)
@@ -156,6 +321,7 @@ public abstract class WebUtilities extends Utilities {
     /**
      * Scrolls the view downwards repeatedly until the locator finds a visible element.
      * <p>
+     * If the located element exists but is not displayed, it is first scrolled into view directly.
      * <b>Timeout:</b> This method waits up to 5x the standard {@code elementTimeout}.
      * </p>
      *
@@ -165,20 +331,61 @@ public abstract class WebUtilities extends Utilities {
      */
     public WebElement scrollUntilFound(LocateElement locator) {
         log.info("Scrolling until an element is found");
-        long initialTime = System.currentTimeMillis();
+        return scrollUntilFound(locator, System.currentTimeMillis() + elementTimeout * 5);
+    }
+
+    /**
+     * Scrolls the view downwards repeatedly until the locator finds a visible element or the deadline passes.
+     *
+     * @param locator  attempts to find the element
+     * @param deadline the time in epoch milliseconds after which the search gives up
+     * @return The located element.
+     * @throws RuntimeException If the element is not found before the deadline.
+     */
+    private WebElement scrollUntilFound(LocateElement locator, long deadline) {
+        boolean revealed = false;
         do {
             try {
                 WebElement element = locator.locate();
                 if (element.isDisplayed()) return element;
-                else throw new WebDriverException("Element is not displayed (yet)!");
+                if (!revealed) {
+                    revealed = true;
+                    driver.executeScript(REVEAL_SCRIPT, element);
+                    if (element.isDisplayed()) return element;
+                }
+                throw new WebDriverException("Element is not displayed (yet)!");
             } catch (WebDriverException ignored) {
                 scrollInDirection(Direction.down);
             }
         }
-        while (System.currentTimeMillis() - initialTime < elementTimeout * 5);
+        while (System.currentTimeMillis() < deadline);
         throw new RuntimeException("Element could not be located!");
     }
 
+    /**
+     * Runs an asynchronous in-page search script.
+     *
+     * @param script the search script
+     * @param args   the script arguments
+     * @return the found element, {@code 'end'} or {@code 'timeout'} as resolved by the script, or {@code null} if the script failed
+     */
+    private Object searchInPage(String script, Object... args) {
+        try {
+            return driver.executeAsyncScript(script, args);
+        }
+        catch (WebDriverException exception) {
+            log.warning("In-page search failed: " + exception.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    /**
+     * @return the time budget in milliseconds for a single in-page search
+     */
+    private long inPageSearchBudget() {
+        return Math.min(elementTimeout * 5, IN_PAGE_SEARCH_BUDGET);
+    }
+
     /**
      * Scrolls the browser viewport using JavaScript.
      *
@@ -202,6 +409,11 @@ public abstract class WebUtilities extends Utilities {
      * If the element is found, it is returned. If the element is not found within the specified timeout,
      * a RuntimeException is thrown.
      * </p>
+     * <p>
+     * The page is first searched with a single script that scrolls the match into view, stepping through content
+     * rendered on scroll. The scroll-and-locate loop only runs if that search finds nothing, and both share one
+     * overall budget of 5x the standard {@code elementTimeout}.
+     * </p>
      *
      * @param elementText The text of WebElement to be located.
      * @return The located WebElement.
@@ -215,7 +427,11 @@ public abstract class WebUtilities extends Utilities {
                     highlighted(BLUE, elementText) +
                     highlighted(GRAY, " is found.")
             );
-            return scrollUntilFound(() -> waitAndGetElementByText(elementText));
+            long deadline = System.currentTimeMillis() + elementTimeout * 5;
+            String xpath = "//*[" + getTextAttributeNameFor(getDriverPlatform(driver)) + "=" + literal(elementText) + "]";
+            Object result = searchInPage(XPATH_SEARCH_SCRIPT, xpath, inPageSearchBudget());
+            if (result instanceof WebElement element) return element;
+            return scrollUntilFound(() -> waitAndGetElementByText(elementText), deadline);
         }
 
     /**
@@ -248,6 +464,7 @@ public abstract class WebUtilities extends Utilities {
                     driver = (RemoteWebDriver) driver.switchTo().window((windowHandle));
             }
         else driver = (RemoteWebDriver) driver.switchTo().window(handle);
+        frameContextHelper.forget();
         return parentWindowHandle;
     }
 
@@ -263,6 +480,7 @@ public abstract class WebUtilities extends Utilities {
         List<String> handles = new ArrayList<>(driver.getWindowHandles());
         String handle = handles.get(tabIndex);
         driver = (RemoteWebDriver) driver.switchTo().window(handle);
+        frameContextHelper.forget();
         return parentWindowHandle;
     }
 
@@ -424,19 +642,23 @@ public abstract class WebUtilities extends Utilities {
     /**
      * Clicks an element located inside an iframe.
      * <p>
-     * Handles the context switch to the frame and back to parent.
+     * Handles the context switch to the frame and back to the frame the driver was in before. Elements that declare a
+     * {@code "frame"} path in {@code page-repository.json} stay inside their frame across consecutive operations instead.
      * </p>
      *
-     *
-     *
      * @param iframe  The iframe WebElement.
      * @param element The element inside the iframe.
      */
     public void clickIframeButton(WebElement iframe, WebElement element) {
-        driver.switchTo().frame(iframe);
-        centerElement(element);
-        clickElement(element);
-        driver.switchTo().parentFrame();
+        int depth = frameContextHelper.depth();
+        frameContextHelper.enterChild(iframe);
+        try {
+            centerElement(element);
+            clickElement(element);
+        }
+        finally {
+            frameContextHelper.exitTo(depth);
+        }
     }
 
     /**
@@ -453,9 +675,14 @@ public abstract class WebUtilities extends Utilities {
         log.info("Filling " + highlighted(BLUE, inputText));
         inputText = StringUtilities.contextCheck(inputText);
         elementIs(iframe, ElementState.displayed);
-        driver.switchTo().frame(iframe);
-        clearFillInput(element, inputText, true);
-        driver.switchTo().parentFrame();
+        int depth = frameContextHelper.depth();
+        frameContextHelper.enterChild(iframe);
+        try {
+            clearFillInput(element, inputText, true);
+        }
+        finally {
+            frameContextHelper.exitTo(depth);
+        }
     }
 
     /**
@@ -469,24 +696,46 @@ public abstract class WebUtilities extends Utilities {
             List<Bundle<WebElement, String, String>> bundles,
             WebElement iFrame,
             String pageName) {
-        for (Bundle<WebElement, String, String> bundle : bundles) {
-            log.info("Filling " +
-                    highlighted(BLUE, bundle.theta()) +
-                    highlighted(GRAY, " on the ") +
-                    highlighted(BLUE, pageName) +
-                    highlighted(GRAY, " with the text: ") +
-                    highlighted(BLUE, bundle.beta())
-            );
-            pageName = StringUtilities.firstLetterDeCapped(pageName);
-            driver.switchTo().frame(iFrame);
-
-            clearFillInput(
-                    bundle.alpha(),
-                    bundle.beta(),
-                    true
-            );
+        int depth = frameContextHelper.depth();
+        frameContextHelper.enterChild(iFrame);
+        try {
+            for (Bundle<WebElement, String, String> bundle : bundles) {
+                log.info("Filling " +
+                        highlighted(BLUE, bundle.theta()) +
+                        highlighted(GRAY, " on the ") +
+                        highlighted(BLUE, pageName) +
+                        highlighted(GRAY, " with the text: ") +
+                        highlighted(BLUE, bundle.beta())
+                );
+                pageName = StringUtilities.firstLetterDeCapped(pageName);
+
+                clearFillInput(
+                        bundle.alpha(),
+                        bundle.beta(),
+                        true
+                );
+            }
+        }
+        finally {
+            frameContextHelper.exitTo(depth);
         }
-        driver.switchTo().parentFrame();
+    }
+
+    /**
+     * Switches into the frame located by the given path, keeping the frame levels the driver is already in.
+     * An empty path switches to the top level document.
+     *
+     * @param framePath frame locators from the outermost frame inwards
+     */
+    public void enterFrame(List<By> framePath) {
+        frameContextHelper.enter(framePath);
+    }
+
+    /**
+     * Switches back to the top level document, if the driver is in a frame.
+     */
+    public void exitFrames() {
+        frameContextHelper.exit();
     }
 
     /**
@@ -515,6 +764,7 @@ public abstract class WebUtilities extends Utilities {
     public void getUrl(String url) {
         url = contextCheck(url);
         driver.get(url);
+        frameContextHelper.forget();
     }
 
     /**
@@ -626,6 +876,36 @@ public abstract class WebUtilities extends Utilities {
         driver.manage().deleteAllCookies();
     }
 
+    /**
+     * Saves the cookies, local and session storage (and optionally IndexedDB) of the current origin as a named snapshot
+     *
+     * @param name     the snapshot name
+     * @param inMemory if true the snapshot is kept in memory, otherwise it is written to the snapshot directory
+     * @return the captured snapshot
+     */
+    public BrowserStateHelper.BrowserState captureBrowserState(String name, boolean inMemory) {
+        return browserStateHelper.capture(name, inMemory);
+    }
+
+    /**
+     * Restores a named browser state snapshot into the current session
+     *
+     * @param name the snapshot name
+     * @return true if the snapshot was restored, false if it does not exist or has expired
+     */
+    public boolean applyBrowserState(String name) {
+        return browserStateHelper.restore(name);
+    }
+
+    /**
+     * Deletes a named browser state snapshot from memory and disk
+     *
+     * @param name the snapshot name
+     */
+    public void discardBrowserState(String name) {
+        browserStateHelper.invalidate(name);
+    }
+
     /**
      * Switches to present alert
      *
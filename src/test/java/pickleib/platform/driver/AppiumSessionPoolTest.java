@@ -0,0 +1,83 @@
+package pickleib.platform.driver;
+
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.SessionId;
+import pickleib.enums.AppResetPolicy;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppiumSessionPoolTest {
+
+    @Mock AppiumDriver driver;
+    @Mock Capabilities capabilities;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(driver.getCapabilities()).thenReturn(capabilities);
+        lenient().when(driver.getSessionId()).thenReturn(new SessionId("pooled-session"));
+        lenient().when(capabilities.getPlatformName()).thenReturn(Platform.ANDROID);
+        lenient().when(capabilities.getCapability("appium:appPackage")).thenReturn("com.example.app");
+    }
+
+    @Test
+    void no_reset_sessions_are_reused_with_an_app_relaunch() {
+        lenient().when(capabilities.getCapability("appium:noReset")).thenReturn(true);
+        AppiumSessionPool.park("relaunch-device", new AppiumSessionPool.Session(driver, null));
+        long reused = AppiumSessionPool.metrics().reused();
+
+        AppiumSessionPool.Session session = AppiumSessionPool.claim("relaunch-device", AppResetPolicy.auto);
+
+        assertSame(driver, session.driver());
+        assertFalse(AppiumSessionPool.hasIdle("relaunch-device"));
+        assertEquals(reused + 1, AppiumSessionPool.metrics().reused());
+        verify(driver).executeScript("mobile: terminateApp", Map.of("appId", "com.example.app"));
+        verify(driver).executeScript("mobile: activateApp", Map.of("appId", "com.example.app"));
+        verify(driver, never()).quit();
+    }
+
+    @Test
+    void clear_policy_clears_app_data() {
+        AppiumSessionPool.park("clear-device", new AppiumSessionPool.Session(driver, null));
+
+        assertNotNull(AppiumSessionPool.claim("clear-device", AppResetPolicy.auto));
+        verify(driver).executeScript("mobile: clearApp", Map.of("appId", "com.example.app"));
+    }
+
+    @Test
+    void full_reset_sessions_are_quit_instead_of_reused() {
+        AppiumSessionPool.park("full-device", new AppiumSessionPool.Session(driver, null));
+
+        assertNull(AppiumSessionPool.claim("full-device", AppResetPolicy.full));
+        verify(driver).quit();
+    }
+
+    @Test
+    void dead_sessions_are_quit_and_skipped() {
+        when(driver.executeScript(anyString(), any(Object[].class))).thenThrow(new WebDriverException("session is gone"));
+        AppiumSessionPool.park("dead-device", new AppiumSessionPool.Session(driver, null));
+
+        assertNull(AppiumSessionPool.claim("dead-device", AppResetPolicy.relaunch));
+        verify(driver).quit();
+    }
+
+    @Test
+    void session_creation_time_is_counted() {
+        AppiumSessionPool.SessionMetrics before = AppiumSessionPool.metrics();
+
+        assertSame(driver, AppiumSessionPool.create(() -> driver));
+        assertEquals(before.created() + 1, AppiumSessionPool.metrics().created());
+    }
+}
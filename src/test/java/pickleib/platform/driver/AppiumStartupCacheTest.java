@@ -0,0 +1,75 @@
+package pickleib.platform.driver;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.ImmutableCapabilities;
+import pickleib.exceptions.PickleibException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppiumStartupCacheTest {
+
+    @Mock AppiumDriver driver;
+    @Mock AppiumDriver otherDriver;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void device_config_is_converted_into_capabilities_once() {
+        JSONObject json = new JSONObject();
+        json.put("platformName", "Android");
+        json.put("appium:automationName", "UiAutomator2");
+        json.put("app", "apps/demo.apk");
+
+        AppiumStartupCache.DeviceConfig config = AppiumStartupCache.DeviceConfig.of("pixel", json);
+
+        assertEquals("pixel", config.device());
+        assertEquals("UiAutomator2", config.capabilities().getCapability("appium:automationName"));
+        assertNotNull(config.localApp());
+        assertThrows(UnsupportedOperationException.class, () -> config.capabilities().asMap().put("app", "other.apk"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void device_config_without_platform_is_rejected() {
+        JSONObject json = new JSONObject();
+        json.put("appium:deviceName", "Pixel");
+
+        assertThrows(PickleibException.class, () -> AppiumStartupCache.DeviceConfig.of("pixel", json));
+        assertThrows(PickleibException.class, () -> AppiumStartupCache.DeviceConfig.of("pixel", null));
+    }
+
+    @Test
+    void field_decorators_are_shared_per_driver() {
+        ImmutableCapabilities capabilities = new ImmutableCapabilities("platformName", "Android", "appium:automationName", "UiAutomator2");
+        lenient().when(driver.getCapabilities()).thenReturn(capabilities);
+        lenient().when(otherDriver.getCapabilities()).thenReturn(capabilities);
+        long created = AppiumStartupCache.metrics().decoratorsCreated();
+
+        AppiumFieldDecorator first = AppiumStartupCache.fieldDecorator(driver);
+
+        assertSame(first, AppiumStartupCache.fieldDecorator(driver));
+        assertNotSame(first, AppiumStartupCache.fieldDecorator(otherDriver));
+        assertEquals(created + 2, AppiumStartupCache.metrics().decoratorsCreated());
+    }
+
+    @Test
+    void quitting_a_session_evicts_its_field_decorator() {
+        lenient().when(driver.getCapabilities()).thenReturn(
+                new ImmutableCapabilities("platformName", "Android", "appium:automationName", "UiAutomator2")
+        );
+        AppiumFieldDecorator first = AppiumStartupCache.fieldDecorator(driver);
+
+        PickleibAppiumDriver.quit(driver);
+
+        verify(driver).quit();
+        assertNotSame(first, AppiumStartupCache.fieldDecorator(driver));
+        AppiumStartupCache.evict(driver);
+    }
+}
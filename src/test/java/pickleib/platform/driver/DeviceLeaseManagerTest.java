@@ -0,0 +1,152 @@
+package pickleib.platform.driver;
+
+import com.sun.net.httpserver.HttpServer;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import pickleib.exceptions.PickleibException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceLeaseManagerTest {
+
+    private static DeviceLeaseManager pool(long timeout, String... devices) {
+        return new DeviceLeaseManager(List.of(devices), DeviceLeaseManager.PortBases.DEFAULT, timeout, 2);
+    }
+
+    @Test
+    void every_device_gets_its_own_driver_ports() {
+        DeviceLeaseManager manager = pool(1000, "pixel", "iphone");
+
+        DeviceLeaseManager.Lease pixel = manager.acquire();
+        DeviceLeaseManager.Lease iphone = manager.acquire();
+
+        assertEquals("pixel", pixel.device());
+        assertEquals("iphone", iphone.device());
+        assertNotEquals(pixel.systemPort(), iphone.systemPort());
+        assertNotEquals(pixel.wdaLocalPort(), iphone.wdaLocalPort());
+        assertNotEquals(pixel.mjpegServerPort(), iphone.mjpegServerPort());
+        for (DeviceLeaseManager.Lease lease : List.of(pixel, iphone)) {
+            assertFalse(List.of(8200, 8100).contains(lease.systemPort()), "systemPort collides with the driver defaults");
+            assertFalse(List.of(8200, 8100).contains(lease.wdaLocalPort()), "wdaLocalPort collides with the driver defaults");
+        }
+
+        Capabilities android = pixel.apply(new ImmutableCapabilities("platformName", "Android", "appium:mjpegServerPort", 7000));
+        assertEquals(pixel.systemPort(), android.getCapability("appium:systemPort"));
+        assertNull(android.getCapability("appium:wdaLocalPort"));
+        assertEquals(7000, android.getCapability("appium:mjpegServerPort"));
+        Capabilities ios = iphone.apply(new ImmutableCapabilities("platformName", "iOS"));
+        assertEquals(iphone.wdaLocalPort(), ios.getCapability("appium:wdaLocalPort"));
+        assertNull(ios.getCapability("appium:systemPort"));
+    }
+
+    @Test
+    void waiting_workers_are_served_in_arrival_order() throws InterruptedException {
+        DeviceLeaseManager manager = pool(5000, "pixel");
+        DeviceLeaseManager.Lease held = manager.acquire();
+        List<String> order = new CopyOnWriteArrayList<>();
+        Thread first = worker(manager, "first", order);
+        first.start();
+        awaitWaiting(first);
+        Thread second = worker(manager, "second", order);
+        second.start();
+        awaitWaiting(second);
+
+        manager.release(held);
+        first.join(5000);
+        second.join(5000);
+
+        assertEquals(List.of("first", "second"), order);
+        assertEquals(3, manager.metrics().leases());
+    }
+
+    @Test
+    void workers_give_up_after_the_lease_timeout() {
+        DeviceLeaseManager manager = pool(50, "pixel");
+        manager.acquire();
+
+        assertThrows(PickleibException.class, manager::acquire);
+        assertEquals(1, manager.metrics().timeouts());
+    }
+
+    @Test
+    void failing_devices_are_taken_out_of_the_pool() {
+        DeviceLeaseManager manager = pool(1000, "broken", "pixel");
+        DeviceLeaseManager.Lease broken = manager.acquire();
+        manager.failed(broken);
+        manager.release(broken);
+        broken = manager.acquire();
+        manager.failed(broken);
+        manager.release(broken);
+
+        assertEquals("pixel", manager.acquire().device());
+        assertFalse(manager.metrics().devices().get(0).healthy());
+    }
+
+    @Test
+    void leased_ports_reach_a_local_appium_endpoint() throws IOException {
+        AtomicReference<String> newSession = new AtomicReference<>();
+        HttpServer appium = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        appium.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String response = "{\"value\": null}";
+            if (exchange.getRequestMethod().equals("POST") && exchange.getRequestURI().getPath().equals("/session")) {
+                newSession.set(body);
+                response = "{\"value\": {\"sessionId\": \"fake-session\", \"capabilities\": {\"platformName\": \"ANDROID\"," +
+                        " \"appium:automationName\": \"UiAutomator2\"}}}";
+            }
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        appium.start();
+        try {
+            DeviceLeaseManager.Lease lease = pool(1000, "pixel").acquire();
+            Capabilities capabilities = lease.apply(new ImmutableCapabilities(
+                    "platformName", "Android",
+                    "appium:automationName", "UiAutomator2"
+            ));
+
+            AppiumDriver driver = AppiumDriverFactory.getDriver(
+                    new DesiredCapabilities(capabilities),
+                    "http://127.0.0.1:" + appium.getAddress().getPort()
+            );
+            assertEquals("fake-session", driver.getSessionId().toString());
+            driver.quit();
+
+            String requested = newSession.get().replace(" ", "");
+            assertTrue(requested.contains("\"appium:systemPort\":" + lease.systemPort()));
+            assertTrue(requested.contains("\"appium:mjpegServerPort\":" + lease.mjpegServerPort()));
+        }
+        finally {
+            appium.stop(0);
+        }
+    }
+
+    private static Thread worker(DeviceLeaseManager manager, String name, List<String> order) {
+        Thread worker = new Thread(() -> {
+            DeviceLeaseManager.Lease lease = manager.acquire();
+            order.add(Thread.currentThread().getName());
+            manager.release(lease);
+        }, name);
+        worker.setDaemon(true);
+        return worker;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline)
+            Thread.sleep(5);
+    }
+}
@@ -0,0 +1,105 @@
+package pickleib.platform.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GestureBuilderTest {
+
+    @Mock RemoteWebDriver driver;
+
+    @Test
+    void segments_are_performed_in_a_single_call() {
+        GestureBuilder gesture = new GestureBuilder(driver)
+                .swipe(new Point(500, 1500), new Point(500, 500))
+                .swipe(new Point(500, 1500), new Point(500, 500))
+                .pause(300)
+                .tap(new Point(200, 200));
+
+        gesture.perform();
+
+        assertEquals(4, gesture.size());
+        verify(driver, times(1)).perform(anyCollection());
+    }
+
+    @Test
+    void rejected_batch_replays_each_segment_once() {
+        doThrow(new InvalidArgumentException("batch rejected"))  // batched gesture
+                .doNothing()                                      // first swipe
+                .doNothing()                                      // second swipe
+                .when(driver).perform(anyCollection());
+
+        new GestureBuilder(driver)
+                .swipe(new Point(500, 1500), new Point(500, 500))
+                .swipe(new Point(500, 1500), new Point(500, 500))
+                .perform();
+
+        verify(driver, times(3)).perform(anyCollection());
+    }
+
+    @Test
+    void replay_stops_at_the_first_failing_segment() {
+        doThrow(new InvalidArgumentException("batch rejected"))  // batched gesture
+                .doThrow(new WebDriverException("flaky"))         // first swipe
+                .when(driver).perform(anyCollection());
+
+        GestureBuilder gesture = new GestureBuilder(driver)
+                .swipe(new Point(500, 1500), new Point(500, 500))
+                .pause(100)
+                .tap(new Point(10, 10));
+
+        WebDriverException exception = assertThrows(WebDriverException.class, gesture::perform);
+        assertTrue(exception.getMessage().contains("flaky"));
+        verify(driver, times(2)).perform(anyCollection());
+    }
+
+    @Test
+    void single_segment_gesture_is_retried() {
+        doThrow(new WebDriverException("flaky"))
+                .doNothing()
+                .when(driver).perform(anyCollection());
+
+        new GestureBuilder(driver)
+                .retryTimeout(2000)
+                .tap(new Point(10, 10))
+                .perform();
+
+        verify(driver, times(2)).perform(anyCollection());
+    }
+
+    @Test
+    void batch_failing_after_validation_is_not_replayed() {
+        doThrow(new WebDriverException("session crashed")).when(driver).perform(anyCollection());
+
+        GestureBuilder gesture = new GestureBuilder(driver)
+                .swipe(new Point(500, 1500), new Point(500, 500))
+                .swipe(new Point(500, 1500), new Point(500, 500));
+
+        assertThrows(WebDriverException.class, gesture::perform);
+        verify(driver, times(1)).perform(anyCollection());
+    }
+
+    @Test
+    void empty_gesture_performs_nothing() {
+        new GestureBuilder(driver).perform();
+        verifyNoInteractions(driver);
+    }
+
+    @Test
+    void velocity_profiles_scale_move_duration_with_distance() {
+        assertEquals(750, GestureBuilder.VelocityProfile.STANDARD.moveMillis(3000));
+        assertEquals(300, GestureBuilder.VelocityProfile.PRECISE.moveMillis(100));
+        assertEquals(1000, GestureBuilder.VelocityProfile.PRECISE.moveMillis(1500));
+        assertEquals(100, GestureBuilder.VelocityProfile.FLING.moveMillis(400));
+    }
+}
@@ -0,0 +1,143 @@
+package pickleib.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pickleib.enums.Platform;
+import pickleib.runner.PageIndex;
+import pickleib.runner.PickleibRunner;
+import utils.Printer;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageIndexProcessorTest {
+
+    @TempDir Path workspace;
+
+    @Test
+    void annotated_pages_are_indexed_at_compile_time() throws IOException {
+        Path classes = compile();
+
+        List<String> lines = Files.readAllLines(classes.resolve(PageIndex.RESOURCE));
+        List<PageIndex.Entry> entries = lines.stream().map(PageIndex.Entry::parse).toList();
+
+        assertEquals(2, entries.size());
+        PageIndex.Entry login = entries.stream().filter(entry -> entry.name().equals("Login")).findFirst().orElseThrow();
+        assertEquals("PageObject", login.annotation());
+        assertEquals("indexed.pages.LoginPage", login.className());
+        assertEquals(Platform.web, login.platform());
+        assertEquals(Map.of("username", "indexed.pages.LoginPage", "title", "indexed.pages.BasePage"), login.fields());
+        PageIndex.Entry home = entries.stream().filter(entry -> entry.name().equals("HomeScreen")).findFirst().orElseThrow();
+        assertEquals("ScreenObject", home.annotation());
+        assertEquals("indexed.pages.HomeScreen", home.className());
+        assertEquals(Platform.android, home.platform());
+        assertEquals(lines, entries.stream().map(PageIndex.Entry::format).toList());
+    }
+
+    @Test
+    void indexed_pages_are_registered_without_initializing_them() throws IOException {
+        Path classes = compile();
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+
+            PickleibRunner.registerPageObjects("indexed.pages");
+
+            assertTrue(PickleibRunner.getRegistry().isRegistered("Login"));
+            assertEquals("android", PickleibRunner.getRegistry().getPlatform("HomeScreen"));
+            assertNull(System.getProperty("indexed.pages.initialized"));
+        }
+        finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    @Test
+    void incremental_compilations_merge_with_the_previous_index() throws IOException {
+        Path classes = compile();
+        Path sources = workspace.resolve("src/indexed/pages");
+        Files.writeString(sources.resolve("SettingsPage.java"), """
+                package indexed.pages;
+                @pickleib.annotations.PageObject
+                public class SettingsPage {}
+                """);
+
+        compile(classes, sources.resolve("SettingsPage.java"));
+        assertEquals(List.of("HomeScreen", "Login", "SettingsPage"), indexedNames(classes));
+
+        Files.delete(classes.resolve("indexed/pages/HomeScreen.class"));
+        compile(classes, sources.resolve("SettingsPage.java"));
+        assertEquals(List.of("Login", "SettingsPage"), indexedNames(classes));
+    }
+
+    @Test
+    void malformed_index_lines_are_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageIndex.Entry.parse("PageObject\tpages.Broken"));
+    }
+
+    private Path compile() throws IOException {
+        Path sources = Files.createDirectories(workspace.resolve("src/indexed/pages"));
+        Path classes = Files.createDirectories(workspace.resolve("classes"));
+        Files.writeString(sources.resolve("BasePage.java"), """
+                package indexed.pages;
+                public abstract class BasePage {
+                    protected String title;
+                    static String shared;
+                }
+                """);
+        Files.writeString(sources.resolve("LoginPage.java"), """
+                package indexed.pages;
+                @pickleib.annotations.PageObject(name = "Login")
+                public class LoginPage extends BasePage {
+                    static { System.setProperty("indexed.pages.initialized", "true"); }
+                    private String username;
+                }
+                """);
+        Files.writeString(sources.resolve("HomeScreen.java"), """
+                package indexed.pages;
+                @pickleib.annotations.ScreenObject(platform = pickleib.enums.Platform.android)
+                public class HomeScreen {}
+                """);
+
+        return compile(classes, sources.resolve("BasePage.java"), sources.resolve("LoginPage.java"), sources.resolve("HomeScreen.java"));
+    }
+
+    private Path compile(Path classes, Path... sources) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "-d", classes.toString(),
+                "-classpath", classes + File.pathSeparator + locationOf(PageIndexProcessor.class) + File.pathSeparator + locationOf(Printer.class),
+                "-processor", PageIndexProcessor.class.getName()
+        ));
+        for (Path source : sources) arguments.add(source.toString());
+        int status = ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(String[]::new));
+        assertEquals(0, status);
+        return classes;
+    }
+
+    private static List<String> indexedNames(Path classes) throws IOException {
+        return Files.readAllLines(classes.resolve(PageIndex.RESOURCE)).stream()
+                .map(line -> PageIndex.Entry.parse(line).name())
+                .sorted()
+                .toList();
+    }
+
+    private static String locationOf(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        }
+        catch (URISyntaxException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -1,12 +1,38 @@
 package pickleib.runner;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import pickleib.annotations.PageObject;
+import pickleib.annotations.ScreenObject;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ClasspathScannerTest {
 
+    @TempDir Path workspace;
+
+    @PageObject(name = "Scanned")
+    static class ScannedPage {
+        static { System.setProperty("scanned.page.initialized", "true"); }
+    }
+
     @Test
     void scanForAnnotatedClasses_returns_empty_for_nonexistent_package() {
         List<Class<?>> results = ClasspathScanner.scanForAnnotatedClasses(
@@ -30,4 +56,118 @@ class ClasspathScannerTest {
         assertNotNull(results);
         assertTrue(results.isEmpty());
     }
+
+    @Test
+    void scanForAnnotatedClasses_does_not_initialize_classes() {
+        List<Class<?>> results = ClasspathScanner.scanForAnnotatedClasses(PageObject.class, "pickleib.runner");
+
+        assertTrue(results.contains(ScannedPage.class));
+        assertNull(System.getProperty("scanned.page.initialized"));
+    }
+
+    @Test
+    void class_file_headers_list_class_level_annotations() throws IOException {
+        Set<String> descriptors = Set.of("Lpickleib/annotations/PageObject;", "Lpickleib/annotations/ScreenObject;");
+
+        try (InputStream page = getClass().getResourceAsStream("ClasspathScannerTest$ScannedPage.class")) {
+            ClassFileAnnotations.Header header = ClassFileAnnotations.read(page, descriptors);
+            assertEquals("pickleib.runner.ClasspathScannerTest$ScannedPage", header.className());
+            assertEquals(Set.of("Lpickleib/annotations/PageObject;"), header.annotations());
+        }
+        try (InputStream test = getClass().getResourceAsStream("ClasspathScannerTest.class")) {
+            assertNull(ClassFileAnnotations.read(test, descriptors));
+        }
+    }
+
+    @Test
+    void packages_inside_jars_are_scanned_once_for_all_annotations() throws IOException {
+        Path jar = jar();
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+
+            Map<Class<? extends Annotation>, List<Class<?>>> results =
+                    ClasspathScanner.scan(List.of(PageObject.class, ScreenObject.class), "scanned.jar");
+
+            assertEquals(List.of("scanned.jar.LoginPage"), results.get(PageObject.class).stream().map(Class::getName).toList());
+            assertEquals(List.of("scanned.jar.HomeScreen"), results.get(ScreenObject.class).stream().map(Class::getName).toList());
+            assertNull(System.getProperty("scanned.jar.initialized"));
+            assertTrue(cacheMentions("scanned.jar.HomeScreen"));
+            assertEquals(results.get(ScreenObject.class),
+                    ClasspathScanner.scan(List.of(PageObject.class, ScreenObject.class), "scanned.jar").get(ScreenObject.class));
+        }
+        finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private static boolean cacheMentions(String className) throws IOException {
+        try (Stream<Path> caches = Files.list(ClasspathScanner.CACHE_DIRECTORY)) {
+            return caches.anyMatch(cache -> {
+                try {
+                    return Files.readString(cache).contains(className);
+                }
+                catch (IOException exception) {
+                    return false;
+                }
+            });
+        }
+    }
+
+    private Path jar() throws IOException {
+        Path sources = Files.createDirectories(workspace.resolve("src/scanned/jar"));
+        Path classes = Files.createDirectories(workspace.resolve("classes"));
+        Files.writeString(sources.resolve("LoginPage.java"), """
+                package scanned.jar;
+                @pickleib.annotations.PageObject
+                public class LoginPage {
+                    static { System.setProperty("scanned.jar.initialized", "true"); }
+                    @Deprecated(since = "1", forRemoval = true) String username;
+                }
+                """);
+        Files.writeString(sources.resolve("HomeScreen.java"), """
+                package scanned.jar;
+                @SuppressWarnings({"unused", "rawtypes"})
+                @pickleib.annotations.ScreenObject(platform = pickleib.enums.Platform.ios, name = "Home")
+                public class HomeScreen {
+                    static final long TIMEOUT = 15000L;
+                    static final double RATIO = 0.5;
+                }
+                """);
+        Files.writeString(sources.resolve("Helper.java"), """
+                package scanned.jar;
+                public class Helper {}
+                """);
+        int status = ToolProvider.getSystemJavaCompiler().run(null, null, null,
+                "-proc:none",
+                "-d", classes.toString(),
+                "-classpath", locationOf(PageObject.class),
+                sources.resolve("LoginPage.java").toString(),
+                sources.resolve("HomeScreen.java").toString(),
+                sources.resolve("Helper.java").toString()
+        );
+        assertEquals(0, status);
+
+        Path jar = workspace.resolve("pages.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(classes)) {
+            for (Path file : files.filter(file -> !file.equals(classes)).toList()) {
+                String name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+                boolean directory = Files.isDirectory(file);
+                out.putNextEntry(new JarEntry(directory ? name + "/" : name));
+                if (!directory) Files.copy(file, out);
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static String locationOf(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        }
+        catch (URISyntaxException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
 }
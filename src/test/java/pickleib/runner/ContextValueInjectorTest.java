@@ -4,6 +4,7 @@ import context.ContextStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pickleib.annotations.ContextValue;
+import pickleib.enums.Platform;
 
 import java.util.List;
 
@@ -202,4 +203,70 @@ class ContextValueInjectorTest {
         assertEquals("parent-val", target.getParentField());
         assertEquals("gc-val", target.grandchildField);
     }
+
+    // --- Typed fields: primitives, wrappers and enums are converted directly ---
+
+    static class TypedTarget {
+        @ContextValue(value = "typed-int", defaultValue = "15000")
+        int timeout;
+
+        @ContextValue(value = "typed-long", defaultValue = "42")
+        Long retries;
+
+        @ContextValue(value = "typed-boolean", defaultValue = "true")
+        boolean headless;
+
+        @ContextValue(value = "typed-double", defaultValue = "0.5")
+        double ratio;
+
+        @ContextValue(value = "typed-platform", defaultValue = "ios")
+        Platform platform;
+    }
+
+    @Test
+    void injectFields_converts_primitives_and_enums() {
+        TypedTarget target = new TypedTarget();
+        ContextValueInjector.injectFields(target);
+        assertEquals(15000, target.timeout);
+        assertEquals(42L, target.retries);
+        assertTrue(target.headless);
+        assertEquals(0.5, target.ratio);
+        assertEquals(Platform.ios, target.platform);
+    }
+
+    @Test
+    void injectFields_follows_context_changes_between_instances() {
+        ContextStore.put("typed-int", "100");
+        ContextStore.put("typed-platform", "android");
+        TypedTarget first = new TypedTarget();
+        ContextValueInjector.injectFields(first);
+
+        ContextStore.put("typed-int", "200");
+        ContextStore.put("typed-platform", "web");
+        TypedTarget second = new TypedTarget();
+        ContextValueInjector.injectFields(second);
+
+        ContextStore.remove("typed-int");
+        ContextStore.remove("typed-platform");
+        assertEquals(100, first.timeout);
+        assertEquals(Platform.android, first.platform);
+        assertEquals(200, second.timeout);
+        assertEquals(Platform.web, second.platform);
+    }
+
+    static class InvalidNumberTarget {
+        @ContextValue(value = "typed-invalid", defaultValue = "not-a-number")
+        int number = 7;
+
+        @ContextValue("test-key")
+        String normalField;
+    }
+
+    @Test
+    void injectFields_skips_values_that_cannot_be_converted() {
+        InvalidNumberTarget target = new InvalidNumberTarget();
+        assertDoesNotThrow(() -> ContextValueInjector.injectFields(target));
+        assertEquals(7, target.number);
+        assertEquals("hello", target.normalField);
+    }
 }
@@ -0,0 +1,156 @@
+package pickleib.utilities.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import pickleib.exceptions.PickleibVerificationException;
+import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.interactions.ActionPlan;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActionPlanHelperTest {
+
+    @Mock RemoteWebDriver driver;
+    @Mock RemoteWebElement username;
+    @Mock RemoteWebElement password;
+    @Mock RemoteWebElement submit;
+    @Mock RemoteWebElement banner;
+
+    ActionPlanHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        helper = new ActionPlanHelper(driver, new ElementStateHelper(driver, 200, 15), 200);
+    }
+
+    @Test
+    void compile_coalesces_actions_and_keeps_verifications_in_place() {
+        ActionPlan plan = ActionPlan.compile(List.of(
+                bundle(banner, "banner", Map.of("Interaction Type", "verify", "Attribute Name", "class", "Attribute Value", "shown")),
+                bundle(username, "username", Map.of("Interaction Type", "fill", "Input", "admin")),
+                bundle(password, "password", Map.of("Interaction Type", "fill", "Input", "secret")),
+                bundle(submit, "submit", Map.of("Interaction Type", "center")),
+                bundle(submit, "submit", Map.of("Interaction Type", "click"))
+        ), true);
+
+        assertEquals(List.of(ActionPlan.SegmentType.snapshot, ActionPlan.SegmentType.actions,
+                        ActionPlan.SegmentType.script, ActionPlan.SegmentType.actions),
+                plan.segments().stream().map(ActionPlan.Segment::type).toList());
+        assertEquals(2, plan.segments().get(1).bundles().size());
+        assertEquals(8, plan.plannedCommands());
+        assertEquals(16, plan.estimatedCommandsWithoutPlan());
+        assertEquals(8, plan.commandsSaved());
+        assertTrue(plan.describe().contains("fill username, fill password"));
+    }
+
+    @Test
+    void compile_ends_snapshots_at_mutating_steps() {
+        ActionPlan plan = ActionPlan.compile(List.of(
+                bundle(username, "username", Map.of("Interaction Type", "verify", "Attribute Name", "value", "Attribute Value", "")),
+                bundle(password, "password", Map.of("Interaction Type", "verify", "Attribute Name", "value", "Attribute Value", "")),
+                bundle(submit, "submit", Map.of("Interaction Type", "click")),
+                bundle(banner, "banner", Map.of("Interaction Type", "verify", "Attribute Name", "class", "Attribute Value", "shown"))
+        ), false);
+
+        assertEquals(List.of(ActionPlan.SegmentType.snapshot, ActionPlan.SegmentType.actions, ActionPlan.SegmentType.snapshot),
+                plan.segments().stream().map(ActionPlan.Segment::type).toList());
+        assertEquals(2, plan.segments().get(0).bundles().size());
+        assertEquals("banner", plan.segments().get(2).bundles().get(0).elementName());
+    }
+
+    @Test
+    void compile_ends_actions_at_clicks() {
+        ActionPlan plan = ActionPlan.compile(List.of(
+                bundle(submit, "menu", Map.of("Interaction Type", "click")),
+                bundle(username, "username", Map.of("Interaction Type", "fill", "Input", "admin")),
+                bundle(password, "password", Map.of("Interaction Type", "fill", "Input", "secret")),
+                bundle(submit, "submit", Map.of("Interaction Type", "click")),
+                bundle(banner, "banner", Map.of("Interaction Type", "click"))
+        ), false);
+
+        assertEquals(List.of(1, 2, 1, 1), plan.segments().stream().map(segment -> segment.bundles().size()).toList());
+    }
+
+    @Test
+    void executePlan_waits_for_elements_and_verifies_filled_values() {
+        ActionPlan plan = ActionPlan.compile(List.of(
+                bundle(username, "username", Map.of("Interaction Type", "fill", "Input", "admin")),
+                bundle(password, "password", Map.of("Interaction Type", "fill", "Input", "secret")),
+                bundle(submit, "submit", Map.of("Interaction Type", "click"))
+        ), true);
+        for (RemoteWebElement element : List.of(username, password, submit)) when(element.isDisplayed()).thenReturn(true);
+        when(submit.isEnabled()).thenReturn(true);
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn(
+                List.of(scriptResult("admin"), scriptResult("secret"))
+        );
+
+        helper.executePlan(plan, "loginPage");
+
+        verify(driver, times(2)).perform(anyCollection());
+        verify(submit).isEnabled();
+        verify(username, never()).click();
+        verify(submit, never()).click();
+        verify(username, never()).sendKeys(any(CharSequence[].class));
+    }
+
+    @Test
+    void executePlan_fails_on_fills_the_page_rejected() {
+        ActionPlan plan = ActionPlan.compile(List.of(
+                bundle(username, "username", Map.of("Interaction Type", "fill", "Input", "admin"))
+        ), false);
+        when(username.isDisplayed()).thenReturn(true);
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn(List.of(scriptResult("")));
+
+        PickleibVerificationException exception = assertThrows(PickleibVerificationException.class, () ->
+                helper.executePlan(plan, "loginPage")
+        );
+        assertTrue(exception.getMessage().contains("username"));
+    }
+
+    @Test
+    void executePlan_reports_all_failed_verifications() {
+        ActionPlan plan = ActionPlan.compile(List.of(
+                bundle(username, "username", Map.of("Interaction Type", "verify", "Attribute Name", "value", "Attribute Value", "admin")),
+                bundle(password, "password", Map.of("Interaction Type", "verify", "Attribute Name", "value", "Attribute Value", "secret")),
+                bundle(banner, "banner", Map.of("Interaction Type", "verify", "Attribute Name", "value", "Attribute Value", "ok"))
+        ), false);
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn(
+                List.of(scriptResult("admin"), scriptResult("wrong"), scriptResult("nope"))
+        );
+
+        PickleibVerificationException exception = assertThrows(PickleibVerificationException.class, () ->
+                helper.executePlan(plan, "loginPage")
+        );
+        assertFalse(exception.getMessage().contains("username"));
+        assertTrue(exception.getMessage().contains("password"));
+        assertTrue(exception.getMessage().contains("banner"));
+    }
+
+    private static ElementBundle<Map<String, String>> bundle(RemoteWebElement element, String name, Map<String, String> data) {
+        return new ElementBundle<>(element, name, "web", data);
+    }
+
+    private static Map<String, Object> scriptResult(String value) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("text", "");
+        result.put("value", value);
+        result.put("attributes", Map.of("value", value));
+        result.put("styles", Map.of());
+        result.put("displayed", true);
+        result.put("enabled", true);
+        result.put("selected", false);
+        result.put("rect", Map.of("x", 0L, "y", 0L, "width", 10L, "height", 10L));
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package pickleib.utilities.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BrowserStateHelperTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) RemoteWebDriver driver;
+    @TempDir Path directory;
+
+    @BeforeEach
+    void setUp() {
+        when(driver.manage().getCookies()).thenReturn(Set.of(new Cookie("session", "abc", "example.com", "/", null)));
+        when(driver.executeAsyncScript(anyString(), eq(false))).thenReturn(Map.of(
+                "url", "https://example.com/home",
+                "origin", "https://example.com",
+                "localStorage", Map.of("token", "xyz"),
+                "sessionStorage", Map.of(),
+                "indexedDb", List.of()
+        ));
+    }
+
+    @Test
+    void capture_writes_snapshot_that_restores_in_another_worker() {
+        new BrowserStateHelper(driver, 60000, directory.toString(), false).capture("admin", false);
+        assertTrue(Files.exists(directory.resolve("admin.json")));
+
+        BrowserStateHelper worker = new BrowserStateHelper(driver, 60000, directory.toString(), false);
+        when(driver.getCurrentUrl()).thenReturn("about:blank");
+        assertTrue(worker.restore("admin"));
+        verify(driver).get("https://example.com/home");
+        verify(driver.manage()).addCookie(argThat(cookie -> cookie.getName().equals("session") && cookie.getValue().equals("abc")));
+        verify(driver.navigate()).refresh();
+    }
+
+    @Test
+    void restore_skips_navigation_on_the_same_origin() {
+        BrowserStateHelper helper = new BrowserStateHelper(driver, 60000, directory.toString(), false);
+        helper.capture("same-origin", true);
+        when(driver.getCurrentUrl()).thenReturn("https://example.com/other");
+        assertTrue(helper.restore("same-origin"));
+        verify(driver, never()).get(anyString());
+        helper.invalidate("same-origin");
+        assertFalse(helper.restore("same-origin"));
+    }
+
+    @Test
+    void expired_snapshots_are_not_restored() throws InterruptedException {
+        BrowserStateHelper helper = new BrowserStateHelper(driver, 1, directory.toString(), false);
+        helper.capture("stale", true);
+        Thread.sleep(5);
+        assertTrue(helper.find("stale").isEmpty());
+        assertFalse(helper.restore("stale"));
+        verify(driver.navigate(), never()).refresh();
+    }
+}
@@ -0,0 +1,96 @@
+package pickleib.utilities.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BusyIndicatorHelperTest {
+
+    @Mock RemoteWebDriver driver;
+    @Mock WebElement element;
+
+    @Test
+    void parse_splits_comma_separated_selectors() {
+        assertEquals(List.of(".spinner", "#overlay"), BusyIndicatorHelper.parse(" .spinner, ,#overlay "));
+        assertEquals(List.of(), BusyIndicatorHelper.parse(""));
+    }
+
+    @Test
+    void awaitIdle_probes_all_indicators_in_a_single_script() {
+        when(driver.executeAsyncScript(anyString(), any(), eq(element), eq(5000L)))
+                .thenReturn(Map.of("busy", List.of(), "waited", 120L));
+        new BusyIndicatorHelper(driver, List.of(".spinner", "#overlay"), 5000).awaitIdle(element);
+        verify(driver, times(1)).executeAsyncScript(
+                anyString(),
+                argThat(selectors -> ((List<?>) selectors).containsAll(List.of(".spinner", "#overlay"))),
+                eq(element),
+                eq(5000L)
+        );
+    }
+
+    @Test
+    void awaitIdle_never_fails_the_interaction() {
+        when(driver.executeAsyncScript(anyString(), any(), any(), anyLong())).thenThrow(new WebDriverException("stale"));
+        assertDoesNotThrow(() -> new BusyIndicatorHelper(driver, List.of(".spinner"), 5000).awaitIdle(element));
+    }
+
+    @Test
+    void awaitIdle_waits_without_targets_that_cannot_be_located_yet() {
+        WebElement proxy = (WebElement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class},
+                (instance, method, arguments) -> {
+                    throw new NoSuchElementException("Unable to locate #save");
+                }
+        );
+        // Like the driver's argument conversion, unwrap the element before running the script
+        when(driver.executeAsyncScript(anyString(), any(), any(), anyLong())).thenAnswer(invocation -> {
+            if (invocation.getArgument(2) instanceof WrapsElement wrapper) wrapper.getWrappedElement();
+            return Map.of("busy", List.of(), "waited", 800L);
+        });
+
+        new BusyIndicatorHelper(driver, List.of(".spinner"), 5000).awaitIdle(proxy);
+
+        verify(driver).executeAsyncScript(anyString(), any(), same(proxy), eq(5000L));
+        verify(driver).executeAsyncScript(anyString(), any(), isNull(), eq(5000L));
+    }
+
+    @Test
+    void unregistered_repositories_stop_gating() {
+        Object repository = new Object();
+        BusyIndicatorHelper gate = new BusyIndicatorHelper(driver, List.of(".spinner"), 5000);
+
+        BusyIndicatorHelper.register(repository, List.of(".loading-overlay"));
+        assertEquals(List.of(".spinner", ".loading-overlay"), gate.selectors());
+
+        BusyIndicatorHelper.unregister(repository);
+        assertEquals(List.of(".spinner"), gate.selectors());
+    }
+
+    @Test
+    void click_is_gated_on_busy_indicators() {
+        BusyIndicatorHelper gate = mock(BusyIndicatorHelper.class);
+        @SuppressWarnings("unchecked")
+        FluentWait<RemoteWebDriver> wait = mock(FluentWait.class);
+        when(wait.until(any())).thenReturn(element);
+        new ClickHelper(driver, wait, e -> e, 1000, gate).clickElement(element);
+        var order = inOrder(gate, element);
+        order.verify(gate).awaitIdle(element);
+        order.verify(element).click();
+    }
+}
@@ -7,8 +7,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.DragDropMode;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DragDropHelperTest {
@@ -40,4 +43,36 @@ class DragDropHelperTest {
     void dragDropAction_does_not_throw() {
         assertDoesNotThrow(() -> helper.dragDropAction(source, 10, 20));
     }
+
+    @Test
+    void dragDropToAction_completes_on_drop_signal_without_sleeping() {
+        when(driver.executeAsyncScript(anyString(), any())).thenReturn("drop");
+        long start = System.currentTimeMillis();
+        DragDropHelper.DragDropReport report = helper.dragDropToAction(source, target);
+        assertTrue(System.currentTimeMillis() - start < 500);
+        assertEquals("drop", report.signal());
+        assertEquals(DragDropMode.actions, report.mode());
+        verify(driver).perform(anyCollection());
+    }
+
+    @Test
+    void html5_mode_simulates_data_transfer_instead_of_pointer_actions() {
+        DragDropHelper html5Helper = new DragDropHelper(driver, 2000, DragDropMode.html5);
+        when(driver.executeScript(contains("DataTransfer"), any(), any(), any(), any())).thenReturn("drop");
+        DragDropHelper.DragDropReport report = html5Helper.dragDropToAction(source, target);
+        assertEquals(DragDropMode.html5, report.mode());
+        assertEquals("drop", report.signal());
+        verify(driver, never()).perform(anyCollection());
+        verify(driver, never()).executeAsyncScript(anyString(), any());
+    }
+
+    @Test
+    void auto_mode_uses_html5_simulation_for_draggable_sources() {
+        DragDropHelper autoHelper = new DragDropHelper(driver, 2000, DragDropMode.auto);
+        when(driver.executeScript(contains("MutationObserver"), any(), any())).thenReturn(true);
+        when(driver.executeScript(contains("DataTransfer"), any(), any(), any(), any())).thenReturn("dragend");
+        DragDropHelper.DragDropReport report = autoHelper.dragDropByAction(source, 10, 20);
+        assertEquals(DragDropMode.html5, report.mode());
+        verify(driver, never()).perform(anyCollection());
+    }
 }
@@ -5,17 +5,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.InOrder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import pickleib.enums.ElementState;
 import pickleib.exceptions.PickleibException;
+import pickleib.exceptions.PickleibVerificationException;
+import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.ElementSnapshot;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.mockito.AdditionalMatchers.and;
 
 @ExtendWith(MockitoExtension.class)
 class ElementStateHelperTest {
@@ -65,6 +75,41 @@ class ElementStateHelperTest {
         assertTrue(helper.elementIs(element, ElementState.absent));
     }
 
+    @Test
+    void elementIs_absent_returns_as_soon_as_element_cannot_be_located() {
+        when(driver.manage()).thenReturn(options);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(element.isDisplayed()).thenThrow(new NoSuchElementException("gone"));
+        assertTrue(helper.elementIs(element, ElementState.absent));
+        verify(element, times(1)).isDisplayed();
+        InOrder order = inOrder(timeouts);
+        order.verify(timeouts).implicitlyWait(Duration.ZERO);
+        order.verify(timeouts).implicitlyWait(Duration.ofSeconds(15));
+    }
+
+    @Test
+    void elementIs_locator_absent_uses_find_elements_without_implicit_wait() {
+        By locator = By.cssSelector(".spinner");
+        when(driver.manage()).thenReturn(options);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(driver.findElements(locator)).thenReturn(List.of(element), List.of());
+        when(element.isDisplayed()).thenReturn(true);
+        assertTrue(helper.elementIs(locator, ElementState.absent));
+        verify(driver, times(2)).findElements(locator);
+        verify(driver, never()).findElement(any(By.class));
+        verify(timeouts).implicitlyWait(Duration.ZERO);
+    }
+
+    @Test
+    void elementIs_locator_treats_stale_matches_as_absent() {
+        By locator = By.id("toast");
+        when(driver.manage()).thenReturn(options);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(driver.findElements(locator)).thenReturn(List.of(element));
+        when(element.isDisplayed()).thenThrow(new StaleElementReferenceException("detached"));
+        assertTrue(helper.elementIs(locator, ElementState.absent));
+    }
+
     @Test
     void verifyElementState_throws_when_state_incorrect() {
         lenient().when(driver.manage()).thenReturn(options);
@@ -102,4 +147,64 @@ class ElementStateHelperTest {
         when(element.getAttribute("class")).thenReturn("btn active primary");
         assertTrue(helper.elementAttributeContainsValue(element, "class", "active"));
     }
+
+    @Test
+    void snapshot_reads_element_state_in_single_script() {
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn(List.of(scriptResult("Save", true)));
+        ElementSnapshot snapshot = helper.snapshot(element, List.of("class"), List.of("color"));
+
+        verify(driver, times(1)).executeScript(anyString(), any(Object[].class));
+        verifyNoInteractions(element);
+        assertEquals("Save", snapshot.text());
+        assertEquals("btn", snapshot.attribute("class"));
+        assertEquals("rgba(0, 0, 0, 1)", snapshot.style("color"));
+        assertEquals("block", snapshot.style("display"));
+        assertTrue(snapshot.is(ElementState.displayed));
+        assertTrue(snapshot.is(ElementState.disabled));
+        assertEquals(40, snapshot.rect().getWidth());
+    }
+
+    @Test
+    void snapshot_reads_properties_before_attributes() {
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn(List.of(scriptResult("Save", true)));
+        helper.snapshot(element, List.of("value", "checked"), List.of());
+
+        verify(driver).executeScript(
+                and(contains("element[name] === true || element.hasAttribute(name)"), contains("typeof property !== 'object'")),
+                any(), eq(List.of("value", "checked")), any()
+        );
+    }
+
+    @Test
+    void verifyListedElementTextBySnapshot_reports_all_mismatches() {
+        WebElement second = mock(WebElement.class);
+        WebElement third = mock(WebElement.class);
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn(
+                List.of(scriptResult("Home", true), scriptResult("Profile", true), scriptResult("Logout", true))
+        );
+        List<ElementBundle<String>> bundles = List.of(
+                new ElementBundle<>(element, "home", "web", "Home"),
+                new ElementBundle<>(second, "profile", "web", "Settings"),
+                new ElementBundle<>(third, "logout", "web", "Exit")
+        );
+        PickleibVerificationException exception = assertThrows(PickleibVerificationException.class, () ->
+                helper.verifyListedElementTextBySnapshot(bundles, "menu")
+        );
+        assertTrue(exception.getMessage().contains("profile"));
+        assertTrue(exception.getMessage().contains("logout"));
+        assertFalse(exception.getMessage().contains("home"));
+    }
+
+    private static Map<String, Object> scriptResult(String text, boolean displayed) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("text", text);
+        result.put("value", null);
+        result.put("attributes", Map.of("class", "btn"));
+        result.put("styles", Map.of("color", "rgb(0, 0, 0)", "display", "block"));
+        result.put("displayed", displayed);
+        result.put("enabled", false);
+        result.put("selected", false);
+        result.put("rect", Map.of("x", 10L, "y", 20L, "width", 40L, "height", 16L));
+        return result;
+    }
 }
@@ -0,0 +1,120 @@
+package pickleib.utilities.helpers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FrameContextHelperTest {
+
+    @Mock RemoteWebDriver driver;
+    @Mock WebDriver.TargetLocator targetLocator;
+    @Mock RemoteWebElement outerFrame;
+    @Mock RemoteWebElement innerFrame;
+    @Mock RemoteWebElement siblingFrame;
+
+    FrameContextHelper frames;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(driver.getSessionId()).thenReturn(new SessionId(UUID.randomUUID().toString()));
+        lenient().when(driver.switchTo()).thenReturn(targetLocator);
+        lenient().when(driver.findElement(By.cssSelector("iframe#outer"))).thenReturn(outerFrame);
+        lenient().when(driver.findElement(By.cssSelector("iframe#inner"))).thenReturn(innerFrame);
+        lenient().when(driver.findElement(By.xpath("//iframe[@id='sibling']"))).thenReturn(siblingFrame);
+        frames = new FrameContextHelper(driver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        frames.forget();
+    }
+
+    @Test
+    void consecutive_operations_in_the_same_frame_switch_once() {
+        List<By> path = FrameContextHelper.parse(List.of("iframe#outer", "iframe#inner"));
+
+        frames.enter(path);
+        frames.enter(path);
+        frames.enter(path);
+
+        verify(targetLocator).frame(outerFrame);
+        verify(targetLocator).frame(innerFrame);
+        verify(targetLocator, never()).defaultContent();
+        verify(targetLocator, never()).parentFrame();
+        assertEquals(2, frames.depth());
+    }
+
+    @Test
+    void sibling_frame_switches_only_the_diverging_level() {
+        frames.enter(FrameContextHelper.parse(List.of("iframe#outer", "iframe#inner")));
+        frames.enter(FrameContextHelper.parse(List.of("iframe#outer", "//iframe[@id='sibling']")));
+
+        verify(targetLocator, times(1)).frame(outerFrame);
+        verify(targetLocator).parentFrame();
+        verify(targetLocator).frame(siblingFrame);
+        verify(targetLocator, never()).defaultContent();
+    }
+
+    @Test
+    void exit_switches_to_top_level_only_when_in_a_frame() {
+        frames.exit();
+        verify(targetLocator, never()).defaultContent();
+
+        frames.enter(FrameContextHelper.parse(List.of("iframe#outer", "iframe#inner")));
+        frames.exit();
+
+        verify(targetLocator, times(1)).defaultContent();
+        verify(targetLocator, never()).parentFrame();
+        assertEquals(0, frames.depth());
+    }
+
+    @Test
+    void exit_to_depth_returns_to_the_frame_entered_before() {
+        frames.enter(FrameContextHelper.parse(List.of("iframe#outer")));
+        int depth = frames.depth();
+
+        frames.enterChild(innerFrame);
+        assertEquals(2, frames.depth());
+        frames.exitTo(depth);
+
+        verify(targetLocator).frame(innerFrame);
+        verify(targetLocator).parentFrame();
+        verify(targetLocator, never()).defaultContent();
+        assertEquals(1, frames.depth());
+    }
+
+    @Test
+    void leaving_frames_of_one_session_does_not_switch_other_sessions() {
+        RemoteWebDriver otherDriver = mock(RemoteWebDriver.class);
+        WebDriver.TargetLocator otherLocator = mock(WebDriver.TargetLocator.class);
+        when(otherDriver.getSessionId()).thenReturn(new SessionId(UUID.randomUUID().toString()));
+        when(otherDriver.switchTo()).thenReturn(otherLocator);
+        FrameContextHelper otherFrames = new FrameContextHelper(otherDriver);
+        frames.enterChild(outerFrame);
+        otherFrames.enterChild(innerFrame);
+
+        frames.exit();
+        frames.forget();
+
+        verify(targetLocator).defaultContent();
+        verify(otherLocator, never()).defaultContent();
+        assertEquals(0, frames.depth());
+        assertEquals(1, otherFrames.depth());
+        otherFrames.forget();
+    }
+}
@@ -7,11 +7,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.Platform;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ui.FluentWait;
+import pickleib.exceptions.PickleibVerificationException;
+import pickleib.utilities.element.ElementBundle;
+import pickleib.utilities.element.FormFieldResult;
 import pickleib.utilities.interfaces.functions.ScrollFunction;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -76,4 +83,164 @@ class InputHelperTest {
         inputHelper.clearInputField(element);
         verify(element).sendKeys(anyString()); // sends backspace sequence
     }
+
+    @Test
+    void nativeFillAndVerify_sets_value_in_single_script() {
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(anyString(), eq(element), eq("hello"), eq(true))).thenReturn("hello");
+        inputHelper.nativeFillAndVerify(element, "hello", false, true, true);
+        verify(element, never()).sendKeys(any(CharSequence[].class));
+        verify(element, never()).getAttribute(anyString());
+    }
+
+    @Test
+    void nativeFillAndVerify_throws_on_verification_failure() {
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn("hel");
+        assertThrows(RuntimeException.class, () ->
+            inputHelper.nativeFillAndVerify(element, "hello", false, true, true)
+        );
+    }
+
+    @Test
+    void nativeFillAndVerify_falls_back_to_send_keys_for_unsupported_elements() {
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn(null);
+        when(element.getAttribute("value")).thenReturn("hello");
+        inputHelper.nativeFillAndVerify(element, "hello", false, false, true);
+        verify(element).sendKeys("hello");
+    }
+
+    @Test
+    void fillAndVerify_uses_native_setter_when_fast_fill_enabled() {
+        InputHelper fastHelper = new InputHelper(driver, wait, scroller, 2000, true);
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(anyString(), any(), any(), any())).thenReturn("hello");
+        fastHelper.fillAndVerify(element, "hello", false, true, true);
+        verify(element, never()).sendKeys(any(CharSequence[].class));
+    }
+
+    @Test
+    void batchFillInputForm_fills_and_reads_whole_form_in_two_scripts() {
+        RemoteWebElement second = mock(RemoteWebElement.class);
+        List<ElementBundle<String>> bundles = List.of(
+                new ElementBundle<>(element, "username", "web", "admin"),
+                new ElementBundle<>(second, "email", "web", "admin@mail.com")
+        );
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(contains("nativeFill(elements[i]"), any(), any(), any(), any())).thenReturn(2L);
+        when(driver.executeScript(contains("map("), any())).thenReturn(List.of("admin", "admin@mail"));
+
+        List<FormFieldResult> results = inputHelper.batchFillInputForm(bundles, "signUpPage");
+
+        verify(driver, times(2)).executeScript(anyString(), any(Object[].class));
+        verify(element, never()).sendKeys(any(CharSequence[].class));
+        verify(second, never()).sendKeys(any(CharSequence[].class));
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).matched());
+        assertFalse(results.get(1).matched());
+        assertEquals("admin@mail", results.get(1).actual());
+    }
+
+    @Test
+    void fillAndVerifyInputForm_lists_every_mismatching_field() {
+        RemoteWebElement second = mock(RemoteWebElement.class);
+        List<ElementBundle<String>> bundles = List.of(
+                new ElementBundle<>(element, "username", "web", "admin"),
+                new ElementBundle<>(second, "email", "web", "admin@mail.com")
+        );
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(contains("nativeFill(elements[i]"), any(), any(), any(), any())).thenReturn(2L);
+        when(driver.executeScript(contains("map("), any())).thenReturn(List.of("admin", "admin@mail"));
+
+        PickleibVerificationException exception = assertThrows(PickleibVerificationException.class,
+                () -> inputHelper.fillAndVerifyInputForm(bundles, "signUpPage"));
+
+        assertTrue(exception.getMessage().startsWith("1 of 2 fields"));
+        assertTrue(exception.getMessage().contains("email (expected 'admin@mail.com' but got 'admin@mail')"));
+    }
+
+    @Test
+    void batchFillInputForm_falls_back_to_key_events_and_resumes() {
+        RemoteWebElement editor = mock(RemoteWebElement.class);
+        RemoteWebElement last = mock(RemoteWebElement.class);
+        List<ElementBundle<String>> bundles = List.of(
+                new ElementBundle<>(element, "title", "web", "Hello"),
+                new ElementBundle<>(editor, "body", "web", "World"),
+                new ElementBundle<>(last, "tags", "web", "news")
+        );
+        lenient().when(editor.getWrappedDriver()).thenReturn(driver);
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(contains("nativeFill(elements[i]"), any(), any(), eq(0), any())).thenReturn(1L);
+        when(driver.executeScript(contains("nativeFill(elements[i]"), any(), any(), eq(2), any())).thenReturn(3L);
+        when(driver.executeScript(contains("map("), any())).thenReturn(List.of("Hello", "World", "news"));
+
+        List<FormFieldResult> results = inputHelper.batchFillInputForm(bundles, "editorPage");
+
+        verify(editor).sendKeys("World");
+        verify(element, never()).sendKeys(any(CharSequence[].class));
+        verify(last, never()).sendKeys(any(CharSequence[].class));
+        assertTrue(results.stream().allMatch(FormFieldResult::matched));
+    }
+
+    @Test
+    void fillInputForm_uses_batch_engine_when_fast_fill_enabled() {
+        InputHelper fastHelper = new InputHelper(driver, wait, scroller, 2000, true);
+        List<ElementBundle<String>> bundles = List.of(new ElementBundle<>(element, "username", "web", "admin"));
+        when(wait.until(any())).thenReturn(element);
+        when(driver.executeScript(contains("nativeFill(elements[i]"), any(), any(), any(), any())).thenReturn(1L);
+        when(driver.executeScript(contains("map("), any())).thenReturn(List.of("admin"));
+
+        fastHelper.fillInputForm(bundles, "loginPage");
+
+        verify(element, never()).sendKeys(any(CharSequence[].class));
+        verify(driver).executeScript(contains("scrollIntoView"), any(), any(), eq(0), eq(List.of(true)));
+    }
+
+    @Test
+    void fillAndVerify_inserts_long_text_through_cdp() {
+        RemoteWebDriver cdpDriver = mock(RemoteWebDriver.class, withSettings().extraInterfaces(HasCdp.class));
+        InputHelper pasteHelper = new InputHelper(cdpDriver, wait, scroller, 2000, false, new BusyIndicatorHelper(cdpDriver, List.of(), 2000), 5);
+        when(element.getWrappedDriver()).thenReturn(cdpDriver);
+        when(cdpDriver.getCapabilities()).thenReturn(capabilities);
+        when(wait.until(any())).thenReturn(element);
+        when(element.getAttribute(anyString())).thenReturn("long text");
+        when(cdpDriver.executeScript(contains("activeElement"), any())).thenReturn(true);
+
+        pasteHelper.fillAndVerify(element, "long text", false, false, true);
+
+        verify((HasCdp) cdpDriver).executeCdpCommand("Input.insertText", Map.of("text", "long text"));
+        verify(element, never()).sendKeys(any(CharSequence[].class));
+    }
+
+    @Test
+    void fillAndVerify_types_long_text_into_elements_that_cannot_be_focused() {
+        RemoteWebDriver cdpDriver = mock(RemoteWebDriver.class, withSettings().extraInterfaces(HasCdp.class));
+        InputHelper pasteHelper = new InputHelper(cdpDriver, wait, scroller, 2000, false, new BusyIndicatorHelper(cdpDriver, List.of(), 2000), 5);
+        when(element.getWrappedDriver()).thenReturn(cdpDriver);
+        when(cdpDriver.getCapabilities()).thenReturn(capabilities);
+        when(wait.until(any())).thenReturn(element);
+        when(element.getAttribute(anyString())).thenReturn("long text");
+        when(cdpDriver.executeScript(contains("activeElement"), any())).thenReturn(false);
+
+        pasteHelper.fillAndVerify(element, "long text", false, false, true);
+
+        verify(element).sendKeys("long text");
+        verify((HasCdp) cdpDriver, never()).executeCdpCommand(anyString(), any());
+    }
+
+    @Test
+    void fillAndVerify_types_text_below_paste_threshold() {
+        RemoteWebDriver cdpDriver = mock(RemoteWebDriver.class, withSettings().extraInterfaces(HasCdp.class));
+        InputHelper pasteHelper = new InputHelper(cdpDriver, wait, scroller, 2000, false, new BusyIndicatorHelper(cdpDriver, List.of(), 2000), 50);
+        when(element.getWrappedDriver()).thenReturn(cdpDriver);
+        when(cdpDriver.getCapabilities()).thenReturn(capabilities);
+        when(wait.until(any())).thenReturn(element);
+        when(element.getAttribute(anyString())).thenReturn("short");
+
+        pasteHelper.fillAndVerify(element, "short", false, false, true);
+
+        verify(element).sendKeys("short");
+        verify((HasCdp) cdpDriver, never()).executeCdpCommand(anyString(), any());
+    }
 }
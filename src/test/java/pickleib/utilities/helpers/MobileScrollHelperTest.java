@@ -0,0 +1,177 @@
+package pickleib.utilities.helpers;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+import pickleib.enums.MobileScrollStrategy;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MobileScrollHelperTest {
+
+    @Mock AppiumDriver driver;
+    @Mock Capabilities capabilities;
+    @Mock ViewportHelper viewportHelper;
+    @Mock RemoteWebElement element;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(driver.getCapabilities()).thenReturn(capabilities);
+    }
+
+    private void automation(Platform platform, String automationName) {
+        when(capabilities.getPlatformName()).thenReturn(platform);
+        when(capabilities.getCapability("appium:automationName")).thenReturn(automationName);
+    }
+
+    @Test
+    void uiautomator2_searches_text_with_a_single_ui_scrollable_lookup() {
+        automation(Platform.ANDROID, "UiAutomator2");
+        when(driver.findElement(any())).thenReturn(element);
+
+        WebElement found = new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Checkout \"now\"");
+
+        assertSame(element, found);
+        verify(driver).findElement(AppiumBy.androidUIAutomator(
+                "new UiScrollable(new UiSelector().scrollable(true).instance(0)).setMaxSearchSwipes(20)" +
+                        ".scrollIntoView(new UiSelector().text(\"Checkout \\\"now\\\"\"))"
+        ));
+    }
+
+    @Test
+    void xcuitest_scrolls_to_predicate_then_finds_element() {
+        automation(Platform.IOS, "XCUITest");
+        when(driver.findElement(any())).thenReturn(element);
+
+        WebElement found = new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Settings");
+
+        assertSame(element, found);
+        String predicate = "label == 'Settings' OR name == 'Settings' OR value == 'Settings'";
+        verify(driver).executeScript("mobile: scroll", Map.of("predicateString", predicate, "toVisible", true));
+        verify(driver).findElement(AppiumBy.iOSNsPredicateString(predicate));
+    }
+
+    @Test
+    void uiautomator2_list_search_is_scoped_to_the_list_of_the_row() {
+        automation(Platform.ANDROID, "UiAutomator2");
+        RemoteWebElement row = mock(RemoteWebElement.class);
+        RemoteWebElement outerList = mock(RemoteWebElement.class);
+        RemoteWebElement list = mock(RemoteWebElement.class);
+        when(row.getAttribute("resource-id")).thenReturn("com.app:id/result");
+        when(driver.findElements(By.xpath("//*[@scrollable='true'][.//*[@resource-id='com.app:id/result']]")))
+                .thenReturn(List.of(outerList, list));
+        when(list.getAttribute("resource-id")).thenReturn("com.app:id/results");
+        when(driver.findElement(any())).thenReturn(element);
+
+        assertSame(element, new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Row 40", row));
+        verify(driver).findElement(AppiumBy.androidUIAutomator(
+                "new UiScrollable(new UiSelector().resourceId(\"com.app:id/results\")).setMaxSearchSwipes(20)" +
+                        ".scrollIntoView(new UiSelector().text(\"Row 40\"))"
+        ));
+        verify(row, never()).findElement(any());
+    }
+
+    @Test
+    void uiautomator2_list_of_rows_without_resource_id_is_found_by_text() {
+        automation(Platform.ANDROID, "UiAutomator2");
+        RemoteWebElement row = mock(RemoteWebElement.class);
+        RemoteWebElement list = mock(RemoteWebElement.class);
+        when(row.getAttribute("resource-id")).thenReturn("");
+        when(row.getAttribute("text")).thenReturn("It's row 1");
+        when(driver.findElements(By.xpath("//*[@scrollable='true'][.//*[@text=\"It's row 1\"]]"))).thenReturn(List.of(list));
+        when(list.getAttribute("resource-id")).thenReturn("com.app:id/results");
+        when(driver.findElement(any())).thenReturn(element);
+
+        assertSame(element, new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Row 40", row));
+    }
+
+    @Test
+    void uiautomator2_list_without_resource_id_is_left_to_swipes() {
+        automation(Platform.ANDROID, "UiAutomator2");
+        RemoteWebElement row = mock(RemoteWebElement.class);
+        RemoteWebElement list = mock(RemoteWebElement.class);
+        when(row.getAttribute("resource-id")).thenReturn("com.app:id/result");
+        when(driver.findElements(any())).thenReturn(List.of(list));
+
+        assertNull(new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Row 40", row));
+        verify(driver, never()).findElement(any());
+    }
+
+    @Test
+    void list_that_cannot_be_found_is_left_to_swipes() {
+        automation(Platform.ANDROID, "UiAutomator2");
+        RemoteWebElement row = mock(RemoteWebElement.class);
+        when(row.getAttribute("resource-id")).thenReturn("com.app:id/result");
+        when(driver.findElements(any())).thenReturn(List.of());
+
+        assertNull(new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Row 40", row));
+        verify(driver, never()).findElement(any());
+    }
+
+    @Test
+    void xcuitest_list_search_scrolls_the_list_element() {
+        automation(Platform.IOS, "XCUITest");
+        RemoteWebElement row = mock(RemoteWebElement.class);
+        RemoteWebElement list = mock(RemoteWebElement.class);
+        when(row.getAttribute("name")).thenReturn("General");
+        when(driver.findElements(By.xpath("//*[self::XCUIElementTypeTable or self::XCUIElementTypeCollectionView or " +
+                "self::XCUIElementTypeScrollView][.//*[@name='General']]"))).thenReturn(List.of(list));
+        when(list.getId()).thenReturn("table-1");
+        when(list.findElement(any())).thenReturn(element);
+
+        assertSame(element, new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Settings", row));
+        String predicate = "label == 'Settings' OR name == 'Settings' OR value == 'Settings'";
+        verify(driver).executeScript("mobile: scroll", Map.of("elementId", "table-1", "predicateString", predicate, "toVisible", true));
+    }
+
+    @Test
+    void missing_text_falls_back_to_swipes() {
+        automation(Platform.ANDROID, "UiAutomator2");
+        when(driver.findElement(any())).thenThrow(new NoSuchElementException("not found"));
+
+        assertNull(new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollToText("Missing"));
+    }
+
+    @Test
+    void swipe_strategy_never_scrolls_server_side() {
+        MobileScrollHelper helper = new MobileScrollHelper(driver, MobileScrollStrategy.swipe, 20, viewportHelper);
+
+        assertNull(helper.scrollToText("Settings"));
+        assertNull(helper.scrollPage());
+        verifyNoInteractions(capabilities);
+        verify(driver, never()).executeScript(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void uiautomator2_page_scroll_reports_end_of_list() {
+        automation(Platform.ANDROID, "UiAutomator2");
+        when(viewportHelper.viewport()).thenReturn(new ViewportHelper.Viewport(1000, 2000, null, 100, 100, 0, 0));
+        when(driver.executeScript(eq("mobile: scrollGesture"), any(Object[].class))).thenReturn(false);
+
+        assertEquals(Boolean.FALSE, new MobileScrollHelper(driver, MobileScrollStrategy.auto, 20, viewportHelper).scrollPage());
+    }
+
+    @Test
+    void predicate_escapes_quotes() {
+        assertEquals(
+                "label == 'It\\'s' OR name == 'It\\'s' OR value == 'It\\'s'",
+                MobileScrollHelper.predicateFor("It's")
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package pickleib.utilities.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PageSettleHelperTest {
+
+    @Mock RemoteWebDriver driver;
+
+    @Test
+    void awaitSettled_reports_and_records_metrics() {
+        when(driver.executeAsyncScript(anyString(), eq(10000L), eq(500L), eq(false), eq(true))).thenReturn(Map.of(
+                "settled", false, "elapsed", 10000L, "requests", 2L, "timers", 0L, "frames", 0L
+        ));
+        long timeouts = PageSettleHelper.metrics().timeouts();
+
+        PageSettleHelper.SettleReport report = new PageSettleHelper(driver, 10000, 500, false, true).awaitSettled();
+
+        assertFalse(report.settled());
+        assertEquals(2, report.requests());
+        assertEquals(timeouts + 1, PageSettleHelper.metrics().timeouts());
+        assertTrue(PageSettleHelper.metrics().maxMillis() >= 10000);
+    }
+
+    @Test
+    void awaitSettled_never_fails_the_navigation() {
+        when(driver.executeAsyncScript(anyString(), any(), any(), any(), any())).thenThrow(new WebDriverException("alert open"));
+        assertNull(new PageSettleHelper(driver, 10000, 500, false, true).awaitSettled());
+    }
+
+    @Test
+    void prepare_registers_tracker_once_per_chromium_session() {
+        RemoteWebDriver chromium = mock(RemoteWebDriver.class, withSettings().extraInterfaces(HasCdp.class));
+        when(chromium.getSessionId()).thenReturn(new SessionId("settle-session"));
+
+        new PageSettleHelper(chromium, 10000, 500, false, true).prepare();
+        new PageSettleHelper(chromium, 10000, 500, false, true).prepare();
+
+        verify((HasCdp) chromium, times(1)).executeCdpCommand(eq("Page.addScriptToEvaluateOnNewDocument"), anyMap());
+    }
+}
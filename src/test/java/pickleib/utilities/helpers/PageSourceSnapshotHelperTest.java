@@ -0,0 +1,118 @@
+package pickleib.utilities.helpers;
+
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import pickleib.utilities.element.SnapshotElement;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PageSourceSnapshotHelperTest {
+
+    private static final String SOURCE = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <hierarchy rotation="0">
+              <android.widget.FrameLayout class="android.widget.FrameLayout" bounds="[0,0][1080,2400]" displayed="true">
+                <android.widget.TextView class="android.widget.TextView" text="Welcome" resource-id="com.app:id/title" bounds="[40,100][1040,200]" displayed="true" enabled="true"/>
+                <android.widget.Button class="android.widget.Button" text="Sign in" content-desc="sign-in" bounds="[40,300][540,400]" displayed="true" enabled="true"/>
+                <android.widget.Button class="android.widget.Button" text="Register" bounds="[540,300][1040,400]" displayed="true" enabled="false"/>
+              </android.widget.FrameLayout>
+            </hierarchy>
+            """;
+
+    @Mock RemoteWebDriver driver;
+    @Mock Capabilities capabilities;
+    @Mock RemoteWebElement button;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(driver.getSessionId()).thenReturn(new SessionId("snapshot-session"));
+        lenient().when(driver.getCapabilities()).thenReturn(capabilities);
+        lenient().when(capabilities.getPlatformName()).thenReturn(Platform.ANDROID);
+        lenient().when(driver.getPageSource()).thenReturn(SOURCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PageSourceSnapshotHelper.invalidate(driver);
+    }
+
+    @Test
+    void locators_resolve_from_a_single_page_source() {
+        PageSourceSnapshotHelper helper = new PageSourceSnapshotHelper(driver, 60000);
+
+        WebElement title = helper.find(By.id("title"));
+        WebElement signIn = helper.find(new ByAll(By.cssSelector("#sign-in"), AppiumBy.accessibilityId("sign-in")));
+        List<WebElement> buttons = helper.findAll(By.xpath("//android.widget.Button"));
+
+        assertEquals("Welcome", title.getText());
+        assertEquals(new Rectangle(40, 300, 100, 500), signIn.getRect());
+        assertEquals(2, buttons.size());
+        assertFalse(buttons.get(1).isEnabled());
+        verify(driver, times(1)).getPageSource();
+        verify(driver, never()).findElement(any());
+    }
+
+    @Test
+    void interaction_fetches_the_handle_once_and_invalidates_the_snapshot() {
+        when(driver.findElement(AppiumBy.accessibilityId("sign-in"))).thenReturn(button);
+        PageSourceSnapshotHelper helper = new PageSourceSnapshotHelper(driver, 60000);
+
+        SnapshotElement signIn = (SnapshotElement) helper.find(AppiumBy.accessibilityId("sign-in"));
+        signIn.click();
+        signIn.click();
+        assertEquals("Sign in", signIn.getText());
+
+        verify(driver, times(1)).findElement(any());
+        verify(button, times(2)).click();
+        verify(driver, times(2)).getPageSource();
+    }
+
+    @Test
+    void renewed_snapshots_follow_the_element_when_rows_shift() {
+        String shifted = SOURCE.replace(
+                "<android.widget.Button class=\"android.widget.Button\" text=\"Sign in\"",
+                "<android.widget.Button class=\"android.widget.Button\" text=\"Skip\" bounds=\"[40,200][540,300]\"/>\n" +
+                        "<android.widget.Button class=\"android.widget.Button\" text=\"Sign in\""
+        );
+        when(driver.getPageSource()).thenReturn(SOURCE, shifted);
+        By path = By.xpath("/hierarchy/android.widget.FrameLayout[1]/android.widget.Button[3]");
+        when(driver.findElement(path)).thenReturn(button);
+        PageSourceSnapshotHelper helper = new PageSourceSnapshotHelper(driver, -1);
+
+        SnapshotElement register = (SnapshotElement) helper.findAll(By.xpath("//android.widget.Button")).get(1);
+        assertEquals("Register", register.getText());
+        assertEquals(new Rectangle(540, 300, 100, 500), register.getRect());
+        register.click();
+
+        assertEquals(path.toString(), "By.xpath: " + register.getPath());
+        verify(button).click();
+    }
+
+    @Test
+    void unsupported_or_missing_locators_fall_back_to_the_driver() {
+        PageSourceSnapshotHelper helper = new PageSourceSnapshotHelper(driver, 60000);
+
+        assertNull(helper.find(By.cssSelector(".title")));
+        assertNull(helper.find(By.id("missing")));
+        assertEquals(List.of(), helper.findAll(By.id("missing")));
+    }
+}
@@ -0,0 +1,66 @@
+package pickleib.utilities.helpers;
+
+import collections.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.OptionMatch;
+import pickleib.exceptions.PickleibException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SelectHelperTest {
+
+    @Mock RemoteWebDriver driver;
+    @Mock WebElement dropdown;
+
+    SelectHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        helper = new SelectHelper(driver, 1000);
+    }
+
+    @Test
+    void selectOptions_selects_native_options_in_a_single_script() {
+        when(driver.executeScript(anyString(), eq(dropdown), eq("value"), eq(List.of("TR", "US"))))
+                .thenReturn(Map.of("selected", List.of("Turkey", "United States"), "missing", List.of()));
+        assertEquals(List.of("Turkey", "United States"), helper.selectOptions(dropdown, OptionMatch.value, List.of("TR", "US"), null));
+        verify(driver, never()).executeAsyncScript(anyString(), any(Object[].class));
+        verify(dropdown, never()).findElements(any());
+    }
+
+    @Test
+    void selectOptions_reports_missing_options() {
+        when(driver.executeScript(anyString(), eq(dropdown), eq("text"), eq(List.of("Atlantis"))))
+                .thenReturn(Map.of("selected", List.of(), "missing", List.of("Atlantis")));
+        PickleibException exception = assertThrows(
+                PickleibException.class,
+                () -> helper.selectOptions(dropdown, OptionMatch.text, List.of("Atlantis"), null)
+        );
+        assertTrue(exception.getMessage().contains("Atlantis"));
+    }
+
+    @Test
+    void selectOptions_uses_option_locator_for_custom_dropdowns() {
+        when(driver.executeScript(anyString(), eq(dropdown), eq("text"), eq(List.of("Turkey")))).thenReturn(null);
+        when(driver.executeAsyncScript(anyString(), eq(dropdown), eq("text"), eq(List.of("Turkey")), eq("css"), eq("li.option"), eq(1000L)))
+                .thenReturn(Map.of("selected", List.of("Turkey"), "missing", List.of()));
+        assertEquals(List.of("Turkey"), helper.selectOptions(dropdown, OptionMatch.text, List.of("Turkey"), new Pair<>("css", "li.option")));
+    }
+
+    @Test
+    void selectOptions_requires_option_locator_for_custom_dropdowns() {
+        when(driver.executeScript(anyString(), eq(dropdown), eq("text"), eq(List.of("Turkey")))).thenReturn(null);
+        assertThrows(PickleibException.class, () -> helper.selectOptions(dropdown, OptionMatch.text, List.of("Turkey"), null));
+    }
+}
@@ -0,0 +1,63 @@
+package pickleib.utilities.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.StabilitySource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UiStabilityHelperTest {
+
+    @Mock RemoteWebDriver driver;
+
+    @Test
+    void settles_after_consecutive_identical_page_sources() {
+        when(driver.getPageSource()).thenReturn("<a/>", "<b/>", "<c/>", "<c/>", "<c/>");
+
+        UiStabilityHelper.StabilityReport report =
+                new UiStabilityHelper(driver, StabilitySource.pageSource, 3, 1, 5000).awaitStable();
+
+        assertTrue(report.settled());
+        assertEquals(5, report.samples());
+        verify(driver, times(5)).getPageSource();
+    }
+
+    @Test
+    void constantly_changing_screen_times_out_without_failing() {
+        AtomicInteger frame = new AtomicInteger();
+        when(driver.getPageSource()).thenAnswer(invocation -> "<frame index='" + frame.incrementAndGet() + "'/>");
+
+        UiStabilityHelper.StabilityReport report =
+                new UiStabilityHelper(driver, StabilitySource.pageSource, 2, 5, 100).awaitStable();
+
+        assertFalse(report.settled());
+        assertTrue(report.elapsedMillis() >= 100);
+    }
+
+    @Test
+    void screenshots_can_be_sampled_instead() {
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(new byte[]{1}, new byte[]{2}, new byte[]{2});
+
+        UiStabilityHelper.StabilityReport report =
+                new UiStabilityHelper(driver, StabilitySource.screenshot, 2, 1, 5000).awaitStable();
+
+        assertTrue(report.settled());
+        verify(driver, never()).getPageSource();
+    }
+
+    @Test
+    void unsampleable_screen_is_reported_as_unknown() {
+        when(driver.getPageSource()).thenThrow(new WebDriverException("session is gone"));
+
+        assertNull(new UiStabilityHelper(driver, StabilitySource.pageSource, 3, 1, 5000).awaitStable());
+    }
+}
@@ -0,0 +1,120 @@
+package pickleib.utilities.helpers;
+
+import io.appium.java_client.remote.SupportsRotation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewportHelperTest {
+
+    @Mock RemoteWebDriver driver;
+    @Mock WebDriver.Options options;
+    @Mock WebDriver.Window window;
+    @Mock RemoteWebElement element;
+
+    ViewportHelper viewportHelper;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(driver.getSessionId()).thenReturn(new SessionId(UUID.randomUUID().toString()));
+        lenient().when(driver.manage()).thenReturn(options);
+        lenient().when(options.window()).thenReturn(window);
+        lenient().when(window.getSize()).thenReturn(new Dimension(1000, 2000));
+        viewportHelper = new ViewportHelper(driver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        viewportHelper.invalidate();
+    }
+
+    @Test
+    void viewport_is_measured_once_per_session() {
+        ViewportHelper.Viewport viewport = viewportHelper.viewport();
+        viewportHelper.viewport();
+        new ViewportHelper(driver).viewport();
+
+        verify(window, times(1)).getSize();
+        assertEquals(ScreenOrientation.PORTRAIT, viewport.orientation());
+        assertEquals(500, viewport.centerX());
+        assertEquals(1000, viewport.centerY());
+    }
+
+    @Test
+    void invalidate_measures_the_viewport_again() {
+        viewportHelper.viewport();
+        when(window.getSize()).thenReturn(new Dimension(2000, 1000));
+
+        viewportHelper.invalidate();
+
+        assertEquals(ScreenOrientation.LANDSCAPE, viewportHelper.viewport().orientation());
+    }
+
+    @Test
+    void viewport_is_measured_again_when_the_reported_orientation_changes() {
+        RemoteWebDriver rotatingDriver = mock(RemoteWebDriver.class, withSettings().extraInterfaces(SupportsRotation.class));
+        when(rotatingDriver.getSessionId()).thenReturn(new SessionId(UUID.randomUUID().toString()));
+        when(rotatingDriver.manage()).thenReturn(options);
+        when(((SupportsRotation) rotatingDriver).getOrientation())
+                .thenReturn(ScreenOrientation.PORTRAIT, ScreenOrientation.PORTRAIT, ScreenOrientation.LANDSCAPE);
+        ViewportHelper rotatingHelper = new ViewportHelper(rotatingDriver);
+
+        rotatingHelper.viewport();
+        rotatingHelper.viewport();
+        when(window.getSize()).thenReturn(new Dimension(2000, 1000));
+
+        assertEquals(ScreenOrientation.LANDSCAPE, rotatingHelper.viewport().orientation());
+        verify(window, times(2)).getSize();
+        ViewportHelper.evict(rotatingDriver);
+    }
+
+    @Test
+    void evicted_sessions_are_measured_again() {
+        viewportHelper.viewport();
+
+        ViewportHelper.evict(driver);
+        viewportHelper.viewport();
+
+        verify(window, times(2)).getSize();
+    }
+
+    @Test
+    void centered_element_needs_no_gesture() {
+        when(element.getRect()).thenReturn(new Rectangle(400, 950, 100, 200));
+
+        viewportHelper.center(element);
+
+        verify(element, times(1)).getRect();
+        verify(driver, never()).perform(anyCollection());
+    }
+
+    @Test
+    void distant_element_is_centered_with_a_single_gesture() {
+        when(element.getRect())
+                .thenReturn(new Rectangle(400, 5000, 100, 100))
+                .thenReturn(new Rectangle(400, 980, 100, 100));
+
+        viewportHelper.center(element);
+
+        verify(driver, times(1)).perform(anyCollection());
+        verify(element, times(2)).getRect();
+        verify(window, times(1)).getSize();
+    }
+}
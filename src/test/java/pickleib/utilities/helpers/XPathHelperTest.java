@@ -0,0 +1,60 @@
+package pickleib.utilities.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.By;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class XPathHelperTest {
+
+    @Mock RemoteWebDriver driver;
+    @Mock RemoteWebElement element;
+    @Mock RemoteWebElement parent;
+
+    XPathHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        helper = new XPathHelper(driver);
+    }
+
+    @Test
+    void generateXPath_uses_single_script_and_appends_current() {
+        when(driver.executeScript(anyString(), eq(element))).thenReturn("/html[1]/body[1]/table[1]/tbody[1]/tr[12]/td[3]");
+        assertEquals("/html[1]/body[1]/table[1]/tbody[1]/tr[12]/td[3]/span[1]", helper.generateXPath(element, "/span[1]"));
+        verify(element, never()).findElement(any(By.class));
+        verify(element, never()).getTagName();
+    }
+
+    @Test
+    void generateXPath_walks_the_current_dom_on_every_call() {
+        when(driver.executeScript(anyString(), eq(element)))
+                .thenReturn("/html[1]/body[1]/ul[1]/li[3]")
+                .thenReturn("/html[1]/body[1]/ul[1]/li[4]");
+        assertEquals("/html[1]/body[1]/ul[1]/li[3]", helper.generateXPath(element, ""));
+        assertEquals("/html[1]/body[1]/ul[1]/li[4]", helper.generateXPath(element, ""));
+        verify(driver, times(2)).executeScript(anyString(), eq(element));
+    }
+
+    @Test
+    void getParentByClass_returns_ancestor_from_single_script() {
+        when(driver.executeScript(anyString(), eq(element), eq("card"))).thenReturn(parent);
+        assertSame(parent, helper.getParentByClass(element, "", "card"));
+        verify(element, never()).findElement(any(By.class));
+    }
+
+    @Test
+    void literal_quotes_values_with_apostrophes() {
+        assertEquals("'Sign in'", XPathHelper.literal("Sign in"));
+        assertEquals("\"Don't panic\"", XPathHelper.literal("Don't panic"));
+        assertEquals("concat('Say \"don', \"'\", 't\"')", XPathHelper.literal("Say \"don't\""));
+    }
+}
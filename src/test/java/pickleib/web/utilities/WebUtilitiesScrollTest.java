@@ -0,0 +1,59 @@
+package pickleib.web.utilities;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebUtilitiesScrollTest {
+
+    @Mock RemoteWebDriver driver;
+    @Mock RemoteWebElement first;
+    @Mock RemoteWebElement second;
+    @Mock RemoteWebElement rendered;
+    @Mock Capabilities capabilities;
+
+    WebUtilities utilities;
+
+    @BeforeEach
+    void setUp() {
+        utilities = new WebUtilities(driver) {};
+        lenient().when(driver.getCapabilities()).thenReturn(capabilities);
+        lenient().when(capabilities.getPlatformName()).thenReturn(Platform.ANY);
+    }
+
+    @Test
+    void scrollInList_finds_virtualized_row_with_single_script() {
+        when(driver.executeAsyncScript(contains("incrementalSearch"), any(), any(), any())).thenReturn(rendered);
+        assertSame(rendered, utilities.scrollInList("Row 240", List.of(first, second)));
+        verify(driver, times(1)).executeAsyncScript(anyString(), any(Object[].class));
+        verify(first, never()).getText();
+        verify(second, never()).getText();
+    }
+
+    @Test
+    void scrollInList_throws_when_search_reaches_end_of_list() {
+        when(driver.executeAsyncScript(anyString(), any(), any(), any())).thenReturn("end");
+        assertThrows(RuntimeException.class, () -> utilities.scrollInList("Missing", List.of(first, second)));
+        verify(first, never()).getText();
+    }
+
+    @Test
+    void scrollUntilFound_by_text_uses_in_page_search_first() {
+        when(driver.executeAsyncScript(contains("document.evaluate"), eq("//*[text()='Checkout']"), any())).thenReturn(rendered);
+        assertSame(rendered, utilities.scrollUntilFound("Checkout"));
+        verify(driver, never()).findElement(any());
+    }
+}